@@ -0,0 +1,200 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.DynSurround.client.handlers.scanners;
+
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.lib.Headless;
+import org.blockartistry.lib.chunk.IBlockAccessEx;
+import org.blockartistry.lib.chunk.SyntheticBlockAccess;
+import org.blockartistry.lib.chunk.SyntheticTerrain;
+import org.blockartistry.lib.random.XorShiftRandom;
+import org.blockartistry.lib.scanner.ScanLocus;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Pins the behavior of CeilingCoverage against a straightforward reference
+ * that asks the world for the top solid block of every cell on every survey,
+ * the way the coverage used to be computed. The player wanders over a seeded
+ * synthetic world while blocks overhead are placed and removed; any survey
+ * where the cached result differs from the reference fails the run. Runs on a
+ * plain JVM:
+ *
+ * <pre>
+ * gradlew ceilingHarness -Pharness.args="FOREST 1234 2000"
+ * </pre>
+ *
+ * Arguments are terrain pattern (or ALL), seed and number of ticks.
+ */
+public final class CeilingCoverageHarness {
+
+	private static final int WORLD_SIZE = 160;
+	private static final int[] RANGES = { CeilingCoverage.DEFAULT_RANGE, 5, 8 };
+	private static final float INSIDE_THRESHOLD = 1.0F - 65.0F / 176.0F;
+
+	private CeilingCoverageHarness() {
+
+	}
+
+	private static final class Locus extends ScanLocus {
+
+		private final IBlockAccessEx world;
+		private BlockPos center = BlockPos.ORIGIN;
+
+		Locus(@Nonnull final IBlockAccessEx world) {
+			this.world = world;
+		}
+
+		@Override
+		public IBlockAccessEx getWorld() {
+			return this.world;
+		}
+
+		@Override
+		public BlockPos getCenter() {
+			return this.center;
+		}
+	}
+
+	/**
+	 * The original uncached computation.
+	 */
+	private static float referenceRatio(@Nonnull final IBlockAccessEx world, @Nonnull final BlockPos pos,
+			final int range) {
+		float score = 0.0F;
+		float total = 0.0F;
+		for (int x = -range; x <= range; x++)
+			for (int z = -range; z <= range; z++) {
+				final float v = Math.min(range - Math.abs(x) + 1, range - Math.abs(z) + 1);
+				final float points = v * v;
+				total += points;
+				final BlockPos cell = new BlockPos(pos.getX() + x, pos.getY(), pos.getZ() + z);
+				final int y = world.isAvailable(cell) ? world.getTopSolidOrLiquidBlock(cell).getY() : -1;
+				if ((y - pos.getY()) < 3)
+					score += points;
+			}
+		return 1.0F - score / total;
+	}
+
+	private static BlockPos standingPos(@Nonnull final SyntheticBlockAccess world, final int x, final int z) {
+		for (int y = SyntheticTerrain.SEA_LEVEL - 8; y < 255; y++) {
+			final BlockPos pos = new BlockPos(x, y, z);
+			if (world.isAirBlock(pos) && !world.isAirBlock(pos.down()))
+				return pos;
+		}
+		return new BlockPos(x, SyntheticTerrain.SEA_LEVEL, z);
+	}
+
+	private static boolean run(@Nonnull final SyntheticTerrain terrain, final long seed, final int ticks,
+			final int range) {
+		final SyntheticBlockAccess world = terrain.create(WORLD_SIZE, seed);
+		final Random rand = new XorShiftRandom(seed);
+		final Locus locus = new Locus(world);
+		final CeilingCoverage coverage = new CeilingCoverage(locus, range);
+		final IBlockState stone = Blocks.STONE.getDefaultState();
+		final IBlockState air = Blocks.AIR.getDefaultState();
+
+		int surveys = 0;
+		int mismatches = 0;
+		int inside = 0;
+		long cachedReads = 0;
+		long referenceReads = 0;
+		long cachedNanos = 0;
+
+		int x = -WORLD_SIZE / 3;
+		int z = 0;
+		for (int tick = 0; tick < ticks; tick++) {
+			// Amble east with some sideways drift, pausing now and then
+			if (tick % 4 == 0 && rand.nextInt(5) != 0) {
+				x++;
+				z += rand.nextInt(3) - 1;
+				if (x > WORLD_SIZE / 3)
+					x = -WORLD_SIZE / 3;
+				z = Math.max(-WORLD_SIZE / 3, Math.min(WORLD_SIZE / 3, z));
+			}
+			locus.center = standingPos(world, x, z);
+
+			// Build and tear down bits of roof in the footprint
+			if (rand.nextInt(3) == 0) {
+				final BlockPos edit = locus.center.add(rand.nextInt(range * 2 + 1) - range, 3 + rand.nextInt(4),
+						rand.nextInt(range * 2 + 1) - range);
+				world.setBlockState(edit, rand.nextBoolean() ? stone : air);
+				coverage.invalidate(edit);
+			}
+
+			// Same cadence as the live client
+			if ((tick & 1) != 0)
+				continue;
+
+			world.resetCounters();
+			final long start = System.nanoTime();
+			coverage.survey();
+			cachedNanos += System.nanoTime() - start;
+			cachedReads += world.getBlockReads() + world.getColumnQueries();
+
+			world.resetCounters();
+			final float expected = referenceRatio(world, locus.center, range);
+			referenceReads += world.getBlockReads() + world.getColumnQueries();
+
+			surveys++;
+			if (coverage.isReallyInside())
+				inside++;
+			if (Math.abs(expected - coverage.getCoverageRatio()) > 1E-5F
+					|| (expected > INSIDE_THRESHOLD) != coverage.isReallyInside()) {
+				if (mismatches++ < 5)
+					System.out.println(String.format("  MISMATCH at %s tick %d: expected %.4f got %.4f",
+							locus.center, tick, expected, coverage.getCoverageRatio()));
+			}
+		}
+
+		System.out.println(String.format("%-8s range %d: %5d surveys, %4d inside, %3d mismatches, reads/survey %6.1f (reference %6.1f), %6.0f ns/survey",
+				terrain, range, surveys, inside, mismatches, (double) cachedReads / surveys,
+				(double) referenceReads / surveys, (double) cachedNanos / surveys));
+		return mismatches == 0;
+	}
+
+	public static void main(final String[] args) {
+		final String pattern = args.length > 0 ? args[0].toUpperCase() : "ALL";
+		final long seed = args.length > 1 ? Long.parseLong(args[1]) : 1234L;
+		final int ticks = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+
+		Headless.bootstrap();
+
+		boolean ok = true;
+		final SyntheticTerrain[] terrains = "ALL".equals(pattern) ? SyntheticTerrain.values()
+				: new SyntheticTerrain[] { SyntheticTerrain.valueOf(pattern) };
+		for (final SyntheticTerrain terrain : terrains)
+			for (final int range : RANGES)
+				ok &= run(terrain, seed, ticks, range);
+
+		System.out.println(ok ? "PASSED" : "FAILED");
+		if (!ok)
+			System.exit(1);
+	}
+}
@@ -0,0 +1,449 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.DynSurround.client.handlers.scanners;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.blockartistry.DynSurround.data.xface.BlockConfig;
+import org.blockartistry.DynSurround.data.xface.EffectConfig;
+import org.blockartistry.DynSurround.registry.BlockRegistry;
+import org.blockartistry.lib.Headless;
+import org.blockartistry.lib.chunk.IBlockAccessEx;
+import org.blockartistry.lib.chunk.SyntheticBlockAccess;
+import org.blockartistry.lib.chunk.SyntheticTerrain;
+import org.blockartistry.lib.scanner.Cuboid;
+import org.blockartistry.lib.scanner.CuboidScanner;
+import org.blockartistry.lib.scanner.RandomScanner;
+import org.blockartistry.lib.scanner.ScanLocus;
+import org.blockartistry.lib.scanner.ScanRecorder;
+
+import com.google.common.collect.ImmutableList;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fml.relauncher.Side;
+
+/**
+ * Drives the scanners against seeded synthetic worlds and reports blocks
+ * visited per tick, hit counts and wall time. Runs on a plain JVM:
+ *
+ * <pre>
+ * gradlew scanHarness -Pharness.args="HILLS 1234 400"
+ * </pre>
+ *
+ * Arguments are terrain pattern (or ALL), seed and number of ticks.
+ *
+ * Besides the report the run is checked: no scanner may examine more blocks in
+ * a tick than its budget or delta allows, or report a hit without examining a
+ * block. While the player stands still the cuboid scan has to cover its volume
+ * exactly once and the always on index has to find every effect block in
+ * range. Deterministic scanners have to do the same work on a second pass.
+ * Prints PASSED or FAILED and exits non-zero on failure.
+ */
+public final class ScannerHarness {
+
+	private static final int WORLD_SIZE = 160;
+	private static final int CUBOID_RANGE = 24;
+	private static final int TICKS_PER_STEP = 4;
+	private static final int STILL_TICKS = 100;
+	private static final int MAX_REPORTED = 5;
+
+	private ScannerHarness() {
+
+	}
+
+	private static final class Locus extends ScanLocus {
+
+		private final IBlockAccessEx world;
+		private BlockPos center;
+
+		Locus(@Nonnull final IBlockAccessEx world) {
+			this.world = world;
+		}
+
+		@Override
+		public IBlockAccessEx getWorld() {
+			return this.world;
+		}
+
+		@Override
+		public BlockPos getCenter() {
+			return this.center;
+		}
+	}
+
+	/**
+	 * A single scanner under test. The hit counter is bumped by the scanner
+	 * subclasses below whenever blockScan() is invoked.
+	 */
+	private static abstract class Subject {
+
+		final ScanRecorder recorder;
+		// Same world and path always produce the same work
+		final boolean reproducible;
+		int hits;
+		int failures;
+
+		Subject(@Nonnull final String name, final int ticks, final boolean reproducible) {
+			this.recorder = new ScanRecorder(name, ticks);
+			this.reproducible = reproducible;
+		}
+
+		abstract void tick();
+
+		/**
+		 * Whether every hit has to come from a block read during the same tick.
+		 */
+		boolean hitsNeedReads() {
+			return true;
+		}
+
+		/**
+		 * Checks the number of blocks examined during a tick. Returns a
+		 * description of the problem, or null if there is none.
+		 */
+		@Nullable
+		String checkTick(final long visited) {
+			return null;
+		}
+
+		/**
+		 * Checks the totals for the ticks the player stood still, by which time
+		 * the area around the player should be covered. Returns a description of
+		 * the problem, or null if there is none.
+		 */
+		@Nullable
+		String checkSettled(@Nonnull final SyntheticBlockAccess world, @Nonnull final BlockPos center,
+				final long visited, final long hits) {
+			return null;
+		}
+
+		void fail(final int tick, @Nullable final String problem) {
+			if (problem != null && ++this.failures <= MAX_REPORTED)
+				System.out.println(String.format("  %s: tick %d, %s", this.recorder.getName(), tick, problem));
+		}
+	}
+
+	/**
+	 * Small block registry with a few effects on common blocks so the effect
+	 * scanners have something to find. Shared with the replay harness.
+	 */
+	public static BlockRegistry harnessRegistry() {
+		final BlockRegistry reg = new BlockRegistry(Side.CLIENT);
+		reg.init();
+		reg.register(blockConfig("minecraft:water", "splash", 0));
+		reg.register(blockConfig("minecraft:lava", "fire", 0));
+		reg.register(blockConfig("minecraft:grass", "firefly", 100));
+		reg.register(blockConfig("minecraft:tallgrass", "firefly", 100));
+		reg.initComplete();
+		return reg;
+	}
+
+	private static BlockConfig blockConfig(@Nonnull final String block, @Nonnull final String effect,
+			final int chance) {
+		final EffectConfig ec = new EffectConfig();
+		ec.effect = effect;
+		ec.chance = chance;
+		final BlockConfig bc = new BlockConfig();
+		bc.blocks = ImmutableList.of(block);
+		bc.effects = ImmutableList.of(ec);
+		return bc;
+	}
+
+	private static List<Subject> subjects(@Nonnull final Locus locus, @Nonnull final BlockRegistry registry,
+			final int ticks) {
+		final List<Subject> result = new ArrayList<>();
+
+		result.add(new Subject("CuboidScanner(" + CUBOID_RANGE + ")", ticks, true) {
+			long deltaLimit;
+			final CuboidScanner scanner = new CuboidScanner(locus, "harness", CUBOID_RANGE, 0) {
+				@Override
+				public void blockScan(@Nonnull final IBlockState state, @Nonnull final BlockPos pos,
+						@Nonnull final Random rand) {
+					hits++;
+				}
+
+				@Override
+				protected void updateScan(@Nonnull final Cuboid newVolume, @Nonnull final Cuboid oldVolume,
+						@Nonnull final Cuboid intersect) {
+					deltaLimit = newVolume.volume() - intersect.volume();
+					super.updateScan(newVolume, oldVolume, intersect);
+				}
+			};
+
+			@Override
+			void tick() {
+				this.deltaLimit = 0;
+				this.scanner.update();
+			}
+
+			@Override
+			String checkTick(final long visited) {
+				final long limit = Math.max(this.scanner.getBlocksPerTick(), this.deltaLimit);
+				return visited > limit ? String.format("examined %d blocks, limit %d", visited, limit) : null;
+			}
+
+			@Override
+			String checkSettled(@Nonnull final SyntheticBlockAccess world, @Nonnull final BlockPos center,
+					final long visited, final long hits) {
+				if (!this.scanner.isScanFinished())
+					return "full scan did not finish";
+				final int side = CUBOID_RANGE * 2 + 1;
+				final long expected = (long) side * side
+						* (center.getY() + CUBOID_RANGE - Math.max(1, center.getY() - CUBOID_RANGE) + 1);
+				return visited != expected ? String.format("full scan examined %d blocks, volume is %d", visited,
+						expected) : null;
+			}
+		});
+
+		result.add(new Subject("RandomScanner(16)", ticks, false) {
+			final RandomScanner scanner = new RandomScanner(locus, "harness", 16, 667) {
+				@Override
+				public void blockScan(@Nonnull final IBlockState state, @Nonnull final BlockPos pos,
+						@Nonnull final Random rand) {
+					hits++;
+				}
+			};
+
+			@Override
+			void tick() {
+				this.scanner.update();
+			}
+
+			@Override
+			String checkTick(final long visited) {
+				return randomCheck(visited, this.scanner.getBlocksPerTick());
+			}
+		});
+
+		result.add(new Subject("CeilingCoverage", ticks, true) {
+			final CeilingCoverage coverage = new CeilingCoverage(locus);
+			int tick;
+
+			@Override
+			void tick() {
+				// Same cadence as the live client
+				if ((this.tick++ & 1) == 0) {
+					this.coverage.survey();
+					if (this.coverage.isReallyInside())
+						hits++;
+				}
+			}
+
+			@Override
+			boolean hitsNeedReads() {
+				// Column results are cached so a survey can answer without reading
+				return false;
+			}
+		});
+
+		result.add(new Subject("AlwaysOnBlockEffectIndex(" + CUBOID_RANGE + ")", ticks, true) {
+			final AlwaysOnBlockEffectIndex scanner = new AlwaysOnBlockEffectIndex(locus, CUBOID_RANGE,
+					registry) {
+				@Override
+				public void blockScan(@Nonnull final IBlockState state, @Nonnull final BlockPos pos,
+						@Nonnull final Random rand) {
+					hits++;
+				}
+			};
+
+			@Override
+			void tick() {
+				this.scanner.update();
+			}
+
+			@Override
+			String checkSettled(@Nonnull final SyntheticBlockAccess world, @Nonnull final BlockPos center,
+					final long visited, final long hits) {
+				long expected = 0;
+				final int minY = Math.max(1, center.getY() - CUBOID_RANGE);
+				final int maxY = Math.min(255, center.getY() + CUBOID_RANGE);
+				for (int x = center.getX() - CUBOID_RANGE; x <= center.getX() + CUBOID_RANGE; x++)
+					for (int z = center.getZ() - CUBOID_RANGE; z <= center.getZ() + CUBOID_RANGE; z++)
+						for (int y = minY; y <= maxY; y++)
+							if (registry.hasAlwaysOnEffects(world.getBlockState(x, y, z)))
+								expected++;
+				return hits != expected ? String.format("indexed %d effect blocks, area has %d", hits, expected)
+						: null;
+			}
+		});
+
+		for (final int range : new int[] { RandomBlockEffectScanner.NEAR_RANGE,
+				RandomBlockEffectScanner.FAR_RANGE }) {
+			result.add(new Subject("RandomBlockEffectScanner(" + range + ")", ticks, false) {
+				final RandomBlockEffectScanner scanner = new RandomBlockEffectScanner(locus, range, registry) {
+					@Override
+					public void blockScan(@Nonnull final IBlockState state, @Nonnull final BlockPos pos,
+							@Nonnull final Random rand) {
+						hits++;
+					}
+				};
+
+				@Override
+				void tick() {
+					this.scanner.update();
+				}
+
+				@Override
+				String checkTick(final long visited) {
+					return randomCheck(visited, this.scanner.getBlocksPerTick());
+				}
+			});
+		}
+
+		return result;
+	}
+
+	/**
+	 * Random scanners never run out of positions so they examine exactly their
+	 * budget every tick.
+	 */
+	@Nullable
+	private static String randomCheck(final long visited, final int blocksPerTick) {
+		return visited != blocksPerTick ? String.format("examined %d blocks, budget %d", visited, blocksPerTick)
+				: null;
+	}
+
+	/**
+	 * The player stands still long enough for the full scans to complete, then
+	 * walks east one block every few ticks. Height follows the terrain.
+	 */
+	private static BlockPos[] walkPath(@Nonnull final SyntheticBlockAccess world, final int ticks) {
+		final BlockPos[] path = new BlockPos[ticks];
+		for (int i = 0; i < ticks; i++) {
+			final int x = -WORLD_SIZE / 4 + Math.max(0, i - STILL_TICKS) / TICKS_PER_STEP;
+			path[i] = standingPos(world, x, 0);
+		}
+		world.resetCounters();
+		return path;
+	}
+
+	private static BlockPos standingPos(@Nonnull final SyntheticBlockAccess world, final int x, final int z) {
+		for (int y = SyntheticTerrain.SEA_LEVEL - 8; y < 255; y++) {
+			final BlockPos pos = new BlockPos(x, y, z);
+			if (world.isAirBlock(pos) && !world.isAirBlock(pos.down()))
+				return pos;
+		}
+		return new BlockPos(x, SyntheticTerrain.SEA_LEVEL, z);
+	}
+
+	private static List<Subject> pass(@Nonnull final SyntheticBlockAccess world, @Nonnull final BlockPos[] path,
+			@Nonnull final BlockRegistry registry) {
+		// Each scanner gets its own pass over the path so their costs and
+		// counters do not bleed into each other.
+		final Locus locus = new Locus(world);
+		final List<Subject> subjects = subjects(locus, registry, path.length);
+		for (final Subject subject : subjects) {
+			long settledVisited = 0;
+			long settledHits = 0;
+			for (int i = 0; i < path.length; i++) {
+				locus.center = path[i];
+				world.resetCounters();
+				subject.hits = 0;
+				final long start = System.nanoTime();
+				subject.tick();
+				final long elapsed = System.nanoTime() - start;
+				final long visited = world.getBlockReads() + world.getColumnQueries();
+				subject.recorder.record(visited, subject.hits, elapsed);
+
+				if (subject.hitsNeedReads() && subject.hits > visited)
+					subject.fail(i, String.format("%d hits from %d blocks", subject.hits, visited));
+				subject.fail(i, subject.checkTick(visited));
+				if (i < STILL_TICKS) {
+					settledVisited += visited;
+					settledHits += subject.hits;
+					if (i == STILL_TICKS - 1)
+						subject.fail(i, subject.checkSettled(world, path[i], settledVisited, settledHits));
+				}
+			}
+		}
+		return subjects;
+	}
+
+	private static boolean run(@Nonnull final SyntheticTerrain terrain, final long seed, final int ticks,
+			@Nonnull final BlockRegistry registry) {
+		final SyntheticBlockAccess world = terrain.create(WORLD_SIZE, seed);
+		final BlockPos[] path = walkPath(world, ticks);
+
+		System.out.println();
+		System.out.println(String.format("Terrain %s, seed %d, %d ticks", terrain, seed, ticks));
+
+		final List<Subject> first = pass(world, path, registry);
+		final List<Subject> second = pass(world, path, registry);
+
+		System.out.println(ScanRecorder.header());
+		boolean ok = true;
+		for (int i = 0; i < first.size(); i++) {
+			final Subject subject = first.get(i);
+			System.out.println(subject.recorder);
+			if (subject.failures > 0 || second.get(i).failures > 0) {
+				System.out.println(String.format("FAILED: %s, %d problems", subject.recorder.getName(),
+						subject.failures + second.get(i).failures));
+				ok = false;
+			}
+			if (!subject.reproducible)
+				continue;
+			final ScanRecorder a = subject.recorder;
+			final ScanRecorder b = second.get(i).recorder;
+			if (a.getTotalVisited() != b.getTotalVisited() || a.getTotalHits() != b.getTotalHits()) {
+				System.out.println(String.format("FAILED: %s is not reproducible (%d/%d visited, %d/%d hits)",
+						a.getName(), a.getTotalVisited(), b.getTotalVisited(), a.getTotalHits(), b.getTotalHits()));
+				ok = false;
+			}
+		}
+		return ok;
+	}
+
+	public static void main(final String[] args) {
+		final String pattern = args.length > 0 ? args[0].toUpperCase() : "ALL";
+		final long seed = args.length > 1 ? Long.parseLong(args[1]) : 1234L;
+		final int ticks = args.length > 2 ? Integer.parseInt(args[2]) : 400;
+
+		if (ticks <= STILL_TICKS) {
+			System.out.println(String.format("FAILED: need more than %d ticks", STILL_TICKS));
+			System.exit(1);
+		}
+
+		Headless.bootstrap();
+		final BlockRegistry registry = harnessRegistry();
+
+		boolean ok = true;
+		if ("ALL".equals(pattern)) {
+			for (final SyntheticTerrain terrain : SyntheticTerrain.values())
+				ok &= run(terrain, seed, ticks, registry);
+		} else {
+			ok = run(SyntheticTerrain.valueOf(pattern), seed, ticks, registry);
+		}
+
+		System.out.println();
+		System.out.println(ok ? "PASSED" : "FAILED");
+		if (!ok)
+			System.exit(1);
+	}
+}
@@ -0,0 +1,433 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.DynSurround.client.replay;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.ModOptions;
+import org.blockartistry.DynSurround.client.handlers.scanners.AlwaysOnBlockEffectIndex;
+import org.blockartistry.DynSurround.client.handlers.scanners.CeilingCoverage;
+import org.blockartistry.DynSurround.client.handlers.scanners.RandomBlockEffectScanner;
+import org.blockartistry.DynSurround.client.handlers.scanners.ScannerHarness;
+import org.blockartistry.DynSurround.registry.BlockRegistry;
+import org.blockartistry.lib.Headless;
+import org.blockartistry.lib.chunk.IBlockAccessEx;
+import org.blockartistry.lib.chunk.SyntheticBlockAccess;
+import org.blockartistry.lib.chunk.SyntheticTerrain;
+import org.blockartistry.lib.scanner.ScanLocus;
+import org.blockartistry.lib.scanner.ScanRecorder;
+
+import gnu.trove.map.hash.TObjectIntHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+
+/**
+ * Replays a session captured with /dsrecord against a synthetic world and a
+ * null sound backend. The recorded path is moved onto the synthetic terrain
+ * (the first frame lands on the world center, and the path wraps at the
+ * edges), recorded block updates are applied as they happen, and the
+ * recorded sound requests are run through a model of the culling and channel
+ * limits.
+ *
+ * The replay drives the block scanners and the sound model only. Handlers
+ * that depend on live EnvironState, weather or entities are not run, so those
+ * are not part of the recording. Runs on a plain JVM:
+ *
+ * <pre>
+ * gradlew replayHarness -Pharness.args="dsurround-session-20261019-101500.dsr HILLS 1234 24 28 20"
+ * </pre>
+ *
+ * Arguments are the session file, terrain pattern, seed, always on scan
+ * range, sound channel count and sound cull interval. Everything after the
+ * file is optional; the sound settings default to the current config
+ * defaults so a run can be compared against a tweaked one.
+ *
+ * The run fails if the session is empty or truncated, if its ticks do not
+ * advance, if the sound model loses track of a request or exceeds the
+ * channel count, or if a scanner that does not use randomness does different
+ * work when the same session is replayed a second time.
+ */
+public final class ReplayHarness {
+
+	private static final int WORLD_SIZE = 160;
+
+	private ReplayHarness() {
+
+	}
+
+	private static final class Locus extends ScanLocus {
+
+		private final IBlockAccessEx world;
+		private BlockPos center;
+
+		Locus(@Nonnull final IBlockAccessEx world) {
+			this.world = world;
+		}
+
+		@Override
+		public IBlockAccessEx getWorld() {
+			return this.world;
+		}
+
+		@Override
+		public BlockPos getCenter() {
+			return this.center;
+		}
+	}
+
+	private static abstract class Subject {
+
+		final ScanRecorder recorder;
+		// Same session and world always produce the same work
+		final boolean reproducible;
+		int hits;
+
+		Subject(@Nonnull final String name, final int ticks, final boolean reproducible) {
+			this.recorder = new ScanRecorder(name, ticks);
+			this.reproducible = reproducible;
+		}
+
+		abstract void tick();
+	}
+
+	/**
+	 * Stands in for the sound engine. Sounds are assumed to play for a fixed
+	 * number of ticks; a request is culled if the same sound was requested
+	 * within the cull interval, and dropped if every channel is busy.
+	 */
+	private static final class NullSoundBackend {
+
+		private static final int SOUND_TICKS = 40;
+
+		private final int channels;
+		private final int cullTicks;
+		private final TObjectIntHashMap<String> lastSeen = new TObjectIntHashMap<>(256, 0.5F, Integer.MIN_VALUE);
+		private final int[] releases = new int[SOUND_TICKS];
+		private final Set<String> distinct = new HashSet<>();
+		private int active;
+		private int peak;
+		private int requested;
+		private int played;
+		private int culled;
+		private int dropped;
+
+		NullSoundBackend(final int channels, final int cullTicks) {
+			this.channels = channels;
+			this.cullTicks = cullTicks;
+		}
+
+		void tick(final int tick) {
+			final int slot = Math.floorMod(tick, SOUND_TICKS);
+			this.active -= this.releases[slot];
+			this.releases[slot] = 0;
+		}
+
+		void play(@Nonnull final String sound, final int tick) {
+			this.requested++;
+			this.distinct.add(sound);
+			if (this.cullTicks > 0) {
+				final int last = this.lastSeen.get(sound);
+				if (last != Integer.MIN_VALUE && tick - last < this.cullTicks) {
+					this.culled++;
+					return;
+				}
+				this.lastSeen.put(sound, tick);
+			}
+			if (this.active >= this.channels) {
+				this.dropped++;
+				return;
+			}
+			this.active++;
+			this.played++;
+			this.peak = Math.max(this.peak, this.active);
+			// Slot for this tick was cleared above; it comes around again
+			// when the sound finishes
+			this.releases[Math.floorMod(tick, SOUND_TICKS)]++;
+		}
+
+		/**
+		 * Every request is played, culled or dropped, and no more sounds play at
+		 * once than there are channels.
+		 */
+		boolean isConsistent() {
+			return this.requested == this.played + this.culled + this.dropped && this.peak <= this.channels;
+		}
+
+		@Override
+		@Nonnull
+		public String toString() {
+			return String.format("sounds: %d requested, %d distinct, %d culled, %d dropped, peak %d/%d channels",
+					this.requested, this.distinct.size(), this.culled, this.dropped, this.peak, this.channels);
+		}
+	}
+
+	private static List<Subject> subjects(@Nonnull final Locus locus, @Nonnull final BlockRegistry registry,
+			final int range, final int ticks) {
+		final List<Subject> result = new ArrayList<>();
+
+		result.add(new Subject("CeilingCoverage", ticks, true) {
+			final CeilingCoverage coverage = new CeilingCoverage(locus);
+			int tick;
+
+			@Override
+			void tick() {
+				if ((this.tick++ & 1) == 0) {
+					this.coverage.survey();
+					if (this.coverage.isReallyInside())
+						hits++;
+				}
+			}
+		});
+
+		result.add(new Subject("AlwaysOnBlockEffectIndex(" + range + ")", ticks, true) {
+			final AlwaysOnBlockEffectIndex scanner = new AlwaysOnBlockEffectIndex(locus, range, registry) {
+				@Override
+				public void blockScan(@Nonnull final IBlockState state, @Nonnull final BlockPos pos,
+						@Nonnull final Random rand) {
+					hits++;
+				}
+			};
+
+			@Override
+			void tick() {
+				this.scanner.update();
+			}
+		});
+
+		for (final int r : new int[] { RandomBlockEffectScanner.NEAR_RANGE, RandomBlockEffectScanner.FAR_RANGE }) {
+			// Positions come from a randomly seeded generator
+			result.add(new Subject("RandomBlockEffectScanner(" + r + ")", ticks, false) {
+				final RandomBlockEffectScanner scanner = new RandomBlockEffectScanner(locus, r, registry) {
+					@Override
+					public void blockScan(@Nonnull final IBlockState state, @Nonnull final BlockPos pos,
+							@Nonnull final Random rand) {
+						hits++;
+					}
+				};
+
+				@Override
+				void tick() {
+					this.scanner.update();
+				}
+			});
+		}
+
+		return result;
+	}
+
+	/**
+	 * Maps recorded world coordinates onto the synthetic world relative to
+	 * where the recording started.
+	 */
+	private static final class Mapper {
+
+		private final int originX;
+		private final int originZ;
+
+		Mapper(final double x, final double z) {
+			this.originX = MathHelper.floor(x);
+			this.originZ = MathHelper.floor(z);
+		}
+
+		private static int wrap(final int v) {
+			return Math.floorMod(v + WORLD_SIZE / 2, WORLD_SIZE) - WORLD_SIZE / 2;
+		}
+
+		int x(final int x) {
+			return wrap(x - this.originX);
+		}
+
+		int z(final int z) {
+			return wrap(z - this.originZ);
+		}
+	}
+
+	private static BlockPos standingPos(@Nonnull final SyntheticBlockAccess world, final int x, final int z) {
+		for (int y = SyntheticTerrain.SEA_LEVEL - 8; y < 255; y++) {
+			final BlockPos pos = new BlockPos(x, y, z);
+			if (world.isAirBlock(pos) && !world.isAirBlock(pos.down()))
+				return pos;
+		}
+		return new BlockPos(x, SyntheticTerrain.SEA_LEVEL, z);
+	}
+
+	private static void applyBlockUpdates(@Nonnull final SyntheticBlockAccess world, @Nonnull final Mapper mapper,
+			@Nonnull final SessionReader.Frame frame) {
+		for (int i = 0; i < frame.blockPos.size(); i++) {
+			final BlockPos pos = BlockPos.fromLong(frame.blockPos.get(i));
+			world.setBlockState(mapper.x(pos.getX()), pos.getY(), mapper.z(pos.getZ()),
+					Block.getStateById(frame.blockState.get(i)));
+		}
+	}
+
+	/**
+	 * First pass over the session: frame count, where it starts, and the sound
+	 * load. Sounds do not depend on the world so they are only run through the
+	 * backend once. Returns -1 if the session is unusable.
+	 */
+	private static int survey(@Nonnull final File file, @Nonnull final NullSoundBackend sounds,
+			@Nonnull final double[] origin) throws IOException {
+		final SessionReader.Frame frame = new SessionReader.Frame();
+		int frames = 0;
+		int blockUpdates = 0;
+		int lastTick = 0;
+		try (final SessionReader reader = new SessionReader(file)) {
+			while (reader.next(frame)) {
+				if (frames == 0) {
+					origin[0] = frame.x;
+					origin[1] = frame.z;
+				} else if (frame.tick - lastTick <= 0) {
+					System.out.println(String.format("FAILED: tick %d follows tick %d", frame.tick, lastTick));
+					return -1;
+				}
+				lastTick = frame.tick;
+				frames++;
+				blockUpdates += frame.blockPos.size();
+				sounds.tick(frame.tick);
+				for (final String s : frame.sounds)
+					sounds.play(s, frame.tick);
+			}
+		} catch (final EOFException ex) {
+			System.out.println(String.format("FAILED: session is truncated after %d ticks", frames));
+			return -1;
+		}
+		System.out.println(String.format("%d ticks, %d block updates", frames, blockUpdates));
+		System.out.println(sounds);
+		if (!sounds.isConsistent()) {
+			System.out.println("FAILED: sound model accounting is off");
+			return -1;
+		}
+		return frames;
+	}
+
+	/**
+	 * Replays the session against one subject. The subject gets a fresh world
+	 * and its own pass over the session so block updates and counters do not
+	 * bleed between subjects. Returns null once the index runs past the last
+	 * subject.
+	 */
+	private static Subject replay(@Nonnull final File file, @Nonnull final SyntheticTerrain terrain,
+			final long seed, final int range, @Nonnull final BlockRegistry registry, final int frames,
+			@Nonnull final Mapper mapper, final int index) throws IOException {
+		final SyntheticBlockAccess world = terrain.create(WORLD_SIZE, seed);
+		final Locus locus = new Locus(world);
+		final List<Subject> subjects = subjects(locus, registry, range, frames);
+		if (index >= subjects.size())
+			return null;
+
+		final Subject subject = subjects.get(index);
+		final SessionReader.Frame frame = new SessionReader.Frame();
+		try (final SessionReader reader = new SessionReader(file)) {
+			while (reader.next(frame)) {
+				applyBlockUpdates(world, mapper, frame);
+				locus.center = standingPos(world, mapper.x(MathHelper.floor(frame.x)),
+						mapper.z(MathHelper.floor(frame.z)));
+				world.resetCounters();
+				subject.hits = 0;
+				final long start = System.nanoTime();
+				subject.tick();
+				final long elapsed = System.nanoTime() - start;
+				subject.recorder.record(world.getBlockReads() + world.getColumnQueries(), subject.hits, elapsed);
+			}
+		}
+		return subject;
+	}
+
+	private static boolean run(@Nonnull final File file, @Nonnull final SyntheticTerrain terrain, final long seed,
+			final int range, @Nonnull final BlockRegistry registry, final int frames, @Nonnull final Mapper mapper)
+			throws IOException {
+		System.out.println();
+		System.out.println(String.format("Terrain %s, seed %d", terrain, seed));
+		System.out.println(ScanRecorder.header());
+
+		boolean ok = true;
+		Subject subject;
+		for (int s = 0; (subject = replay(file, terrain, seed, range, registry, frames, mapper, s)) != null; s++) {
+			System.out.println(subject.recorder);
+			if (!subject.reproducible)
+				continue;
+			final ScanRecorder first = subject.recorder;
+			final ScanRecorder second = replay(file, terrain, seed, range, registry, frames, mapper, s).recorder;
+			if (first.getTotalVisited() != second.getTotalVisited()
+					|| first.getTotalHits() != second.getTotalHits()) {
+				System.out.println(String.format("FAILED: %s is not reproducible (%d/%d visited, %d/%d hits)",
+						first.getName(), first.getTotalVisited(), second.getTotalVisited(), first.getTotalHits(),
+						second.getTotalHits()));
+				ok = false;
+			}
+		}
+		return ok;
+	}
+
+	public static void main(final String[] args) throws IOException {
+		if (args.length < 1) {
+			System.out.println("Usage: ReplayHarness <session> [terrain] [seed] [range] [channels] [cull ticks]");
+			return;
+		}
+
+		final File file = new File(args[0]);
+		final String pattern = args.length > 1 ? args[1].toUpperCase() : "HILLS";
+		final long seed = args.length > 2 ? Long.parseLong(args[2]) : 1234L;
+		final int range = args.length > 3 ? Integer.parseInt(args[3]) : ModOptions.general.specialEffectRange;
+		final int channels = args.length > 4 ? Integer.parseInt(args[4]) : ModOptions.sound.normalSoundChannelCount;
+		final int cull = args.length > 5 ? Integer.parseInt(args[5]) : ModOptions.sound.soundCullingThreshold;
+
+		Headless.bootstrap();
+		final BlockRegistry registry = ScannerHarness.harnessRegistry();
+
+		System.out.println("Session " + file.getName());
+		final double[] origin = new double[2];
+		final int frames = survey(file, new NullSoundBackend(channels, cull), origin);
+		if (frames <= 0) {
+			if (frames == 0)
+				System.out.println("FAILED: session has no ticks");
+			System.exit(1);
+		}
+
+		final Mapper mapper = new Mapper(origin[0], origin[1]);
+		boolean ok = true;
+		if ("ALL".equals(pattern)) {
+			for (final SyntheticTerrain terrain : SyntheticTerrain.values())
+				ok &= run(file, terrain, seed, range, registry, frames, mapper);
+		} else {
+			ok = run(file, SyntheticTerrain.valueOf(pattern), seed, range, registry, frames, mapper);
+		}
+
+		System.out.println();
+		System.out.println(ok ? "PASSED" : "FAILED");
+		if (!ok)
+			System.exit(1);
+	}
+}
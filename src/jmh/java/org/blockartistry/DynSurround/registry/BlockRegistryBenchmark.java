@@ -0,0 +1,96 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.DynSurround.registry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.blockartistry.lib.Headless;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraftforge.fml.relauncher.Side;
+
+/**
+ * Profile lookup for every block state known to the game. The "cold" variant
+ * rebuilds the registry each invocation so the cache miss path (BlockInfo key
+ * construction and the generic fallback) is measured as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockRegistryBenchmark {
+
+	private IBlockState[] states;
+	private BlockRegistry registry;
+	private int idx;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Headless.bootstrap();
+		final List<IBlockState> list = new ArrayList<>();
+		for (final Block block : Block.REGISTRY)
+			list.addAll(block.getBlockState().getValidStates());
+		this.states = list.toArray(new IBlockState[list.size()]);
+		this.registry = newRegistry();
+	}
+
+	private static BlockRegistry newRegistry() {
+		final BlockRegistry reg = new BlockRegistry(Side.CLIENT);
+		reg.init();
+		reg.initComplete();
+		return reg;
+	}
+
+	@Benchmark
+	public BlockProfile findProfileWarm() {
+		if (++this.idx >= this.states.length)
+			this.idx = 0;
+		return this.registry.findProfile(this.states[this.idx]);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public BlockRegistry findProfileCold() {
+		final BlockRegistry reg = newRegistry();
+		for (int i = 0; i < this.states.length; i++)
+			reg.findProfile(this.states[i]);
+		return reg;
+	}
+}
@@ -21,42 +21,23 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package org.blockartistry.DynSurround.asm;
+package org.blockartistry.lib;
 
-import org.blockartistry.DynSurround.ModOptions;
-import org.blockartistry.lib.asm.Transmorgrifier;
-import org.objectweb.asm.Opcodes;
-import org.objectweb.asm.tree.ClassNode;
-import org.objectweb.asm.tree.MethodNode;
+import net.minecraft.init.Bootstrap;
 
-public class PatchParticleManagerSync extends Transmorgrifier {
-
-	public PatchParticleManagerSync() {
-		super("net.minecraft.client.particle.ParticleManager");
-	}
+/**
+ * Brings up just enough of the game registries (blocks, items, biomes) for
+ * code under benchmark to run on a plain JVM. No client, renderer or sound
+ * system is started.
+ */
+public final class Headless {
 
-	@Override
-	public String name() {
-		return "ParticleManager synchronization";
-	}
+	private Headless() {
 
-	@Override
-	public boolean isEnabled() {
-		return ModOptions.asm.enableParticleManagerSync;
 	}
 
-	@Override
-	public boolean transmorgrify(final ClassNode cn) {
-		// Loop through the method nodes setting the synchronized bit
-		for (final MethodNode m : cn.methods) {
-			if (!m.name.startsWith("<") && (m.access & Opcodes.ACC_PUBLIC) != 0
-					&& (m.access & Opcodes.ACC_SYNCHRONIZED) == 0) {
-				logMethod(Transformer.log(), m, "Synchronized!");
-				m.access |= Opcodes.ACC_SYNCHRONIZED;
-			}
-		}
-
-		return true;
+	public static synchronized void bootstrap() {
+		if (!Bootstrap.isRegistered())
+			Bootstrap.register();
 	}
-
 }
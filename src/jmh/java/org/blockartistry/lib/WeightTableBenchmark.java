@@ -0,0 +1,106 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Weighted selection over tables of the sizes seen in the biome and block
+ * sound configurations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeightTableBenchmark {
+
+	private static class Entry implements WeightTable.IItem<String>, WeightTable.IEntrySource<String> {
+
+		private final int weight;
+		private final String item;
+
+		Entry(final int weight, final String item) {
+			this.weight = weight;
+			this.item = item;
+		}
+
+		@Override
+		public int getWeight() {
+			return this.weight;
+		}
+
+		@Override
+		public String getItem() {
+			return this.item;
+		}
+
+		@Override
+		public WeightTable.IItem<String> getEntry() {
+			return this;
+		}
+
+		@Override
+		public boolean matches() {
+			return true;
+		}
+	}
+
+	@Param({ "4", "16", "64" })
+	public int entries;
+
+	private Entry[] source;
+	private WeightTable<String> table;
+
+	@Setup
+	public void setup() {
+		this.source = new Entry[this.entries];
+		for (int i = 0; i < this.entries; i++)
+			this.source[i] = new Entry(1 + (i * 7) % 20, "sound" + i);
+		this.table = new WeightTable<>(this.source);
+	}
+
+	@Benchmark
+	public String next() {
+		return this.table.next();
+	}
+
+	@Benchmark
+	public WeightTable<String> construct() {
+		return new WeightTable<>(this.source);
+	}
+}
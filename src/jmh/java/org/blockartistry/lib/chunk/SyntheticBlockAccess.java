@@ -0,0 +1,232 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.chunk;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Biomes;
+import net.minecraft.init.Blocks;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.biome.Biome;
+
+/**
+ * In-memory block source backed by a flat array of block states. Everything
+ * outside of the defined box is AIR and reported as not available, the same
+ * way the real caches behave at the edge of the loaded area. There is no World
+ * behind it so it can be used on a plain JVM.
+ */
+public class SyntheticBlockAccess implements IBlockAccessEx {
+
+	protected final int minX;
+	protected final int minZ;
+	protected final int sizeX;
+	protected final int sizeY;
+	protected final int sizeZ;
+	protected final IBlockState[] states;
+
+	protected int ref = 1;
+	protected int worldRef = 1;
+
+	// Access counters so a harness can see how much of the world was touched
+	protected long blockReads;
+	protected long columnQueries;
+
+	public SyntheticBlockAccess(final int minX, final int minZ, final int sizeX, final int sizeY,
+			final int sizeZ) {
+		this.minX = minX;
+		this.minZ = minZ;
+		this.sizeX = sizeX;
+		this.sizeY = sizeY;
+		this.sizeZ = sizeZ;
+		this.states = new IBlockState[sizeX * sizeY * sizeZ];
+		fill(Blocks.AIR.getDefaultState());
+	}
+
+	public void fill(@Nonnull final IBlockState state) {
+		for (int i = 0; i < this.states.length; i++)
+			this.states[i] = state;
+	}
+
+	private int index(final int x, final int y, final int z) {
+		final int lx = x - this.minX;
+		final int lz = z - this.minZ;
+		if (lx < 0 || lx >= this.sizeX || y < 0 || y >= this.sizeY || lz < 0 || lz >= this.sizeZ)
+			return -1;
+		return (y * this.sizeZ + lz) * this.sizeX + lx;
+	}
+
+	public void setBlockState(final int x, final int y, final int z, @Nonnull final IBlockState state) {
+		final int idx = index(x, y, z);
+		if (idx >= 0)
+			this.states[idx] = state;
+	}
+
+	public void setBlockState(@Nonnull final BlockPos pos, @Nonnull final IBlockState state) {
+		setBlockState(pos.getX(), pos.getY(), pos.getZ(), state);
+	}
+
+	public long getBlockReads() {
+		return this.blockReads;
+	}
+
+	public long getColumnQueries() {
+		return this.columnQueries;
+	}
+
+	public void resetCounters() {
+		this.blockReads = 0;
+		this.columnQueries = 0;
+	}
+
+	/**
+	 * Simulates a cache refresh, such as when the player changes dimension.
+	 */
+	public void invalidate() {
+		this.ref++;
+		this.worldRef++;
+	}
+
+	@Override
+	public int reference() {
+		return this.ref;
+	}
+
+	@Override
+	public int worldReference() {
+		return this.worldRef;
+	}
+
+	@Override
+	@Nullable
+	public World getWorld() {
+		return null;
+	}
+
+	// Uncounted access for column walks; those are tallied as a single query
+	IBlockState getState(final int x, final int y, final int z) {
+		final int idx = index(x, y, z);
+		return idx < 0 ? Blocks.AIR.getDefaultState() : this.states[idx];
+	}
+
+	@Override
+	@Nonnull
+	public IBlockState getBlockState(final int x, final int y, final int z) {
+		this.blockReads++;
+		final int idx = index(x, y, z);
+		return idx < 0 ? Blocks.AIR.getDefaultState() : this.states[idx];
+	}
+
+	@Override
+	@Nonnull
+	public IBlockState getBlockState(@Nonnull final BlockPos pos) {
+		return getBlockState(pos.getX(), pos.getY(), pos.getZ());
+	}
+
+	@Override
+	public boolean isAirBlock(@Nonnull final BlockPos pos) {
+		return getBlockState(pos).getMaterial() == Material.AIR;
+	}
+
+	@Override
+	public int getLightFor(@Nonnull final EnumSkyBlock type, @Nonnull final BlockPos pos) {
+		return type == EnumSkyBlock.SKY && pos.getY() >= getPrecipitationHeight(pos).getY() ? 15 : 0;
+	}
+
+	@Override
+	public int getCombinedLight(@Nonnull final BlockPos pos, final int lightValue) {
+		return getLightFor(EnumSkyBlock.SKY, pos) << 20 | lightValue << 4;
+	}
+
+	// Mirrors World.getTopSolidOrLiquidBlock(): despite the name liquids do not
+	// stop the walk, and neither do leaves or foliage.
+	@Override
+	@Nonnull
+	public BlockPos getTopSolidOrLiquidBlock(@Nonnull final BlockPos pos) {
+		this.columnQueries++;
+		final BlockPos.MutableBlockPos working = new BlockPos.MutableBlockPos();
+		for (int y = this.sizeY - 1; y >= 0; y--) {
+			final IBlockState state = getState(pos.getX(), y, pos.getZ());
+			working.setPos(pos.getX(), y, pos.getZ());
+			if (state.getMaterial().blocksMovement() && !state.getBlock().isLeaves(state, this, working)
+					&& !state.getBlock().isFoliage(this, working))
+				return new BlockPos(pos.getX(), y + 1, pos.getZ());
+		}
+		return new BlockPos(pos.getX(), -1, pos.getZ());
+	}
+
+	@Override
+	@Nonnull
+	public BlockPos getPrecipitationHeight(@Nonnull final BlockPos pos) {
+		this.columnQueries++;
+		for (int y = this.sizeY - 1; y >= 0; y--) {
+			final IBlockState state = getState(pos.getX(), y, pos.getZ());
+			if (state.getMaterial().blocksMovement() || state.getMaterial().isLiquid())
+				return new BlockPos(pos.getX(), y + 1, pos.getZ());
+		}
+		return new BlockPos(pos.getX(), 0, pos.getZ());
+	}
+
+	@Override
+	public boolean isAvailable(final int x, final int z) {
+		final int lx = x - this.minX;
+		final int lz = z - this.minZ;
+		return lx >= 0 && lx < this.sizeX && lz >= 0 && lz < this.sizeZ;
+	}
+
+	@Override
+	@Nullable
+	public TileEntity getTileEntity(@Nonnull final BlockPos pos) {
+		return null;
+	}
+
+	@Override
+	@Nonnull
+	public Biome getBiome(@Nonnull final BlockPos pos) {
+		return Biomes.PLAINS;
+	}
+
+	@Override
+	public int getStrongPower(@Nonnull final BlockPos pos, @Nonnull final EnumFacing direction) {
+		return 0;
+	}
+
+	@Override
+	@Nonnull
+	public WorldType getWorldType() {
+		return WorldType.DEFAULT;
+	}
+
+	@Override
+	public boolean isSideSolid(@Nonnull final BlockPos pos, @Nonnull final EnumFacing side, final boolean _default) {
+		return getBlockState(pos).isSideSolid(this, pos, side);
+	}
+}
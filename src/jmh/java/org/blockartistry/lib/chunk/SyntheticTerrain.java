@@ -0,0 +1,200 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.chunk;
+
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.lib.random.XorShiftRandom;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+
+/**
+ * Seeded terrain patterns for populating a SyntheticBlockAccess. The same
+ * pattern and seed always produce the same world so scan results can be
+ * compared run to run.
+ */
+public enum SyntheticTerrain {
+
+	/**
+	 * Open grassland at sea level with scattered ponds.
+	 */
+	FLAT {
+		@Override
+		protected void generate(@Nonnull final SyntheticBlockAccess world, @Nonnull final Random rand) {
+			surface(world, rand, 0);
+		}
+	},
+
+	/**
+	 * Rolling hills with water filling the valleys and lava pockets below.
+	 */
+	HILLS {
+		@Override
+		protected void generate(@Nonnull final SyntheticBlockAccess world, @Nonnull final Random rand) {
+			surface(world, rand, 12);
+			pockets(world, rand, Blocks.LAVA.getDefaultState(), 24);
+		}
+	},
+
+	/**
+	 * Solid stone with a large hollow carved around the middle. The player is
+	 * always "inside".
+	 */
+	CAVERN {
+		@Override
+		protected void generate(@Nonnull final SyntheticBlockAccess world, @Nonnull final Random rand) {
+			final IBlockState stone = Blocks.STONE.getDefaultState();
+			final IBlockState air = Blocks.AIR.getDefaultState();
+			for (int x = 0; x < world.sizeX; x++)
+				for (int z = 0; z < world.sizeZ; z++)
+					for (int y = 0; y < SEA_LEVEL + 24; y++)
+						world.setBlockState(world.minX + x, y, world.minZ + z, stone);
+			for (int x = 4; x < world.sizeX - 4; x++)
+				for (int z = 4; z < world.sizeZ - 4; z++) {
+					final int roof = SEA_LEVEL + 8 + rand.nextInt(3);
+					for (int y = SEA_LEVEL; y < roof; y++)
+						world.setBlockState(world.minX + x, y, world.minZ + z, air);
+				}
+			pockets(world, rand, Blocks.WATER.getDefaultState(), 32);
+		}
+	},
+
+	/**
+	 * Gentle hills covered with trees. Leaves do not count as a ceiling, so the
+	 * player should read as outside under the canopy.
+	 */
+	FOREST {
+		@Override
+		protected void generate(@Nonnull final SyntheticBlockAccess world, @Nonnull final Random rand) {
+			surface(world, rand, 4);
+			final IBlockState log = Blocks.LOG.getDefaultState();
+			final IBlockState leaves = Blocks.LEAVES.getDefaultState();
+			final int trees = world.sizeX * world.sizeZ / 48;
+			for (int i = 0; i < trees; i++) {
+				final int x = world.minX + 2 + rand.nextInt(world.sizeX - 4);
+				final int z = world.minZ + 2 + rand.nextInt(world.sizeZ - 4);
+				int ground = SEA_LEVEL + 8;
+				while (ground > 0 && !world.getState(x, ground, z).getMaterial().blocksMovement())
+					ground--;
+				if (ground < SEA_LEVEL - 1)
+					continue;
+				final int height = 4 + rand.nextInt(3);
+				final int top = ground + height;
+				for (int y = top - 2; y <= top + 1; y++) {
+					final int r = y > top ? 1 : 2;
+					for (int dx = -r; dx <= r; dx++)
+						for (int dz = -r; dz <= r; dz++)
+							world.setBlockState(x + dx, y, z + dz, leaves);
+				}
+				for (int y = ground + 1; y <= top; y++)
+					world.setBlockState(x, y, z, log);
+			}
+		}
+	},
+
+	/**
+	 * Flat land dotted with roofed huts, like a village. Coverage flips between
+	 * inside and outside as the player walks through.
+	 */
+	VILLAGE {
+		@Override
+		protected void generate(@Nonnull final SyntheticBlockAccess world, @Nonnull final Random rand) {
+			surface(world, rand, 0);
+			final IBlockState planks = Blocks.PLANKS.getDefaultState();
+			final int huts = world.sizeX * world.sizeZ / 256;
+			for (int i = 0; i < huts; i++) {
+				final int x0 = world.minX + rand.nextInt(world.sizeX - 8);
+				final int z0 = world.minZ + rand.nextInt(world.sizeZ - 8);
+				for (int x = 0; x < 7; x++)
+					for (int z = 0; z < 7; z++) {
+						world.setBlockState(x0 + x, SEA_LEVEL + 5, z0 + z, planks);
+						if (x == 0 || z == 0 || x == 6 || z == 6)
+							for (int y = SEA_LEVEL + 1; y < SEA_LEVEL + 5; y++)
+								world.setBlockState(x0 + x, y, z0 + z, planks);
+					}
+			}
+		}
+	};
+
+	public static final int SEA_LEVEL = 63;
+
+	protected abstract void generate(@Nonnull final SyntheticBlockAccess world, @Nonnull final Random rand);
+
+	/**
+	 * Creates a new world of the given horizontal size centered on 0,0 and fills
+	 * it in according to the pattern.
+	 */
+	@Nonnull
+	public SyntheticBlockAccess create(final int size, final long seed) {
+		final SyntheticBlockAccess world = new SyntheticBlockAccess(-size / 2, -size / 2, size, 256, size);
+		generate(world, new XorShiftRandom(seed));
+		world.resetCounters();
+		return world;
+	}
+
+	protected static void surface(@Nonnull final SyntheticBlockAccess world, @Nonnull final Random rand,
+			final int amplitude) {
+		final IBlockState stone = Blocks.STONE.getDefaultState();
+		final IBlockState dirt = Blocks.DIRT.getDefaultState();
+		final IBlockState grass = Blocks.GRASS.getDefaultState();
+		final IBlockState water = Blocks.WATER.getDefaultState();
+		final IBlockState tallGrass = Blocks.TALLGRASS.getDefaultState();
+
+		// Cheap value noise: a handful of random phase sine waves
+		final float p1 = rand.nextFloat() * 6.28F;
+		final float p2 = rand.nextFloat() * 6.28F;
+
+		for (int x = 0; x < world.sizeX; x++)
+			for (int z = 0; z < world.sizeZ; z++) {
+				final int wx = world.minX + x;
+				final int wz = world.minZ + z;
+				final double n = Math.sin(wx * 0.07 + p1) + Math.cos(wz * 0.05 + p2);
+				final int height = SEA_LEVEL - 1 + (int) (n * amplitude / 2) + (rand.nextInt(8) == 0 ? -2 : 0);
+				for (int y = 0; y < height - 3; y++)
+					world.setBlockState(wx, y, wz, stone);
+				for (int y = Math.max(0, height - 3); y < height; y++)
+					world.setBlockState(wx, y, wz, dirt);
+				world.setBlockState(wx, height, wz, grass);
+				for (int y = height + 1; y < SEA_LEVEL; y++)
+					world.setBlockState(wx, y, wz, water);
+				if (height >= SEA_LEVEL && rand.nextInt(6) == 0)
+					world.setBlockState(wx, height + 1, wz, tallGrass);
+			}
+	}
+
+	protected static void pockets(@Nonnull final SyntheticBlockAccess world, @Nonnull final Random rand,
+			@Nonnull final IBlockState fill, final int count) {
+		for (int i = 0; i < count; i++) {
+			final int x = world.minX + rand.nextInt(world.sizeX);
+			final int z = world.minZ + rand.nextInt(world.sizeZ);
+			final int y = 8 + rand.nextInt(SEA_LEVEL - 16);
+			for (int dx = -1; dx <= 1; dx++)
+				for (int dz = -1; dz <= 1; dz++)
+					world.setBlockState(x + dx, y, z + dz, fill);
+		}
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Concurrent stress of the particle hand-off. Producer threads hammer a stub
+ * particle manager whose addEffect() and updateEffects() call a ThreadHandoff
+ * the same way the ParticleSubmission hooks do, with the owner check swapped
+ * for a comparison against the harness thread. The owner thread adds its own
+ * particles and drains at the start of each update. The stub is deliberately
+ * unsynchronized; any particle that is lost, duplicated or reordered within a
+ * producer fails the run.
+ *
+ * <pre>
+ * gradlew handoffStress -Pharness.args="8 200000 16384"
+ * </pre>
+ *
+ * Arguments are producer threads, particles per producer and queue capacity.
+ */
+public final class HandoffQueueStress {
+
+	private static final class Particle {
+		final int producer;
+		final int serial;
+
+		Particle(final int producer, final int serial) {
+			this.producer = producer;
+			this.serial = serial;
+		}
+	}
+
+	/**
+	 * Stands in for ParticleManager with the injected hooks in place.
+	 */
+	private static final class StubParticleManager {
+
+		private final ThreadHandoff<Particle> pending;
+		private final List<Particle> particles = new ArrayList<>();
+		private volatile Thread owner;
+
+		StubParticleManager(final int capacity) {
+			this.pending = new ThreadHandoff<>(capacity, () -> Thread.currentThread() == this.owner);
+		}
+
+		void addEffect(@Nonnull final Particle p) {
+			if (this.pending.submit(p))
+				return;
+			this.particles.add(p);
+		}
+
+		void updateEffects() {
+			this.pending.drain(this::addEffect);
+		}
+	}
+
+	private HandoffQueueStress() {
+
+	}
+
+	public static void main(final String[] args) throws InterruptedException {
+		final int producers = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+		final int perProducer = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+		final int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 16384;
+
+		final StubParticleManager manager = new StubParticleManager(capacity);
+		manager.owner = Thread.currentThread();
+
+		final CountDownLatch start = new CountDownLatch(1);
+		final AtomicInteger running = new AtomicInteger(producers);
+		final List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < producers; i++) {
+			final int id = i;
+			final Thread t = new Thread(() -> {
+				try {
+					start.await();
+				} catch (@Nonnull final InterruptedException ex) {
+					return;
+				}
+				for (int s = 0; s < perProducer; s++) {
+					manager.addEffect(new Particle(id, s));
+					// Give the owner a chance to keep up when the queue is bounded
+					if ((s & 1023) == 0)
+						Thread.yield();
+				}
+				running.decrementAndGet();
+			}, "Producer " + i);
+			t.start();
+			threads.add(t);
+		}
+
+		final long begin = System.nanoTime();
+		start.countDown();
+
+		int ticks = 0;
+		int ownSerial = 0;
+		while (running.get() > 0 || manager.pending.getPendingCount() > 0) {
+			manager.updateEffects();
+			for (int i = 0; i < 16; i++)
+				manager.addEffect(new Particle(producers, ownSerial++));
+			ticks++;
+		}
+		manager.updateEffects();
+		final long elapsed = System.nanoTime() - begin;
+
+		for (final Thread t : threads)
+			t.join();
+
+		// Every particle accepted must show up exactly once
+		final int[] next = new int[producers + 1];
+		int outOfOrder = 0;
+		for (final Particle p : manager.particles) {
+			if (p.serial < next[p.producer])
+				outOfOrder++;
+			next[p.producer] = p.serial + 1;
+		}
+
+		final long expected = (long) producers * perProducer + ownSerial - manager.pending.getRefusedCount();
+		final long received = manager.particles.size();
+
+		System.out.println(String.format("Producers %d x %d, capacity %d, owner ticks %d", producers, perProducer,
+				capacity, ticks));
+		System.out.println(String.format("Received %d, expected %d, refused %d, out of order %d", received,
+				expected, manager.pending.getRefusedCount(), outOfOrder));
+		System.out.println(String.format("Elapsed %.1f ms, %.1f ns/particle", elapsed / 1000000D,
+				(double) elapsed / Math.max(1, received)));
+
+		if (received != expected || outOfOrder != 0) {
+			System.out.println("FAILED");
+			System.exit(1);
+		}
+		System.out.println("PASSED");
+	}
+}
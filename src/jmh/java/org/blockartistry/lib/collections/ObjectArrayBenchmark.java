@@ -0,0 +1,105 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.collections;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Iteration and removal over ObjectArray, with ArrayList as the reference
+ * point. The removal benchmarks mirror how particle and effect collections
+ * drop dead entries each tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectArrayBenchmark {
+
+	@Param({ "64", "1024", "8192" })
+	public int size;
+
+	private Integer[] values;
+	private ObjectArray<Integer> array;
+	private ArrayList<Integer> list;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.values = new Integer[this.size];
+		for (int i = 0; i < this.size; i++)
+			this.values[i] = Integer.valueOf(i);
+	}
+
+	@Setup(Level.Invocation)
+	public void fill() {
+		this.array = new ObjectArray<>(this.size);
+		this.array.addAll(this.values);
+		this.list = new ArrayList<>(this.size);
+		for (final Integer v : this.values)
+			this.list.add(v);
+	}
+
+	@Benchmark
+	public void indexedIteration(final Blackhole bh) {
+		for (int i = 0; i < this.array.size(); i++)
+			bh.consume(this.array.get(i));
+	}
+
+	@Benchmark
+	public void forEachIteration(final Blackhole bh) {
+		this.array.forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void iteratorIteration(final Blackhole bh) {
+		for (final Integer v : this.array)
+			bh.consume(v);
+	}
+
+	@Benchmark
+	public boolean removeIfQuarter() {
+		return this.array.removeIf(v -> (v.intValue() & 3) == 0);
+	}
+
+	@Benchmark
+	public boolean arrayListRemoveIfQuarter() {
+		return this.list.removeIf(v -> (v.intValue() & 3) == 0);
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.expression;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compile and evaluation cost of the expressions used by the sound and effect
+ * configurations. The variables stand in for the dynamic state the client
+ * updates each tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionBenchmark {
+
+	@Param({ "biome.temperature > 0.5 && !weather.isRaining",
+			"IF(player.y < 64, MIN(player.y, 32) * 2, MAX(player.y / 4, 8)) >= 16",
+			"ONEOF(biome.name, 'Plains', 'Forest', 'Desert') || MATCH('.*Ocean.*', biome.name)" })
+	public String script;
+
+	private final NumberValue temperature = new NumberValue("biome.temperature", 0.8F);
+	private final NumberValue playerY = new NumberValue("player.y", 70F);
+	private final BooleanValue raining = new BooleanValue("weather.isRaining", false);
+	private final StringValue biomeName = new StringValue("biome.name", "Deep Ocean");
+
+	private LazyVariant program;
+
+	private Expression create() {
+		return new Expression(this.script).addVariable(this.temperature).addVariable(this.playerY)
+				.addVariable(this.raining).addVariable(this.biomeName);
+	}
+
+	@Setup
+	public void setup() {
+		this.program = create().getProgram();
+	}
+
+	@Benchmark
+	public LazyVariant compile() {
+		return create().getProgram();
+	}
+
+	@Benchmark
+	public Variant evaluate() {
+		return this.program.eval();
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.math;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Table driven trig against java.lang.Math. The angle advances each call so
+ * the JIT cannot fold the result.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MathStuffBenchmark {
+
+	private float angle = 0F;
+	private float y = -1F;
+
+	private float nextAngle() {
+		this.angle += 0.0123F;
+		if (this.angle > MathStuff.PI_F * 2F)
+			this.angle -= MathStuff.PI_F * 2F;
+		return this.angle;
+	}
+
+	private float nextY() {
+		this.y += 0.0071F;
+		if (this.y > 1F)
+			this.y = -1F;
+		return this.y;
+	}
+
+	@Benchmark
+	public float tableSin() {
+		return MathStuff.sin(nextAngle());
+	}
+
+	@Benchmark
+	public double javaSin() {
+		return Math.sin(nextAngle());
+	}
+
+	@Benchmark
+	public float tableCos() {
+		return MathStuff.cos(nextAngle());
+	}
+
+	@Benchmark
+	public double javaCos() {
+		return Math.cos(nextAngle());
+	}
+
+	@Benchmark
+	public float tableAtan2() {
+		return MathStuff.atan2(nextY(), 0.5F);
+	}
+
+	@Benchmark
+	public double javaAtan2() {
+		return Math.atan2(nextY(), 0.5F);
+	}
+}
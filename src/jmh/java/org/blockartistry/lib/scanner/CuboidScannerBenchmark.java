@@ -0,0 +1,159 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.scanner;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.lib.Headless;
+import org.blockartistry.lib.chunk.IBlockAccessEx;
+import org.blockartistry.lib.chunk.SyntheticBlockAccess;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * CuboidScanner over a synthetic block source. "fullScan" measures one
+ * complete pass of the volume; "deltaScan" walks the center back and forth
+ * one block at a time so only the complement slabs are examined.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CuboidScannerBenchmark {
+
+	private static final int WORLD_SIZE = 128;
+	private static final int WORLD_HEIGHT = 128;
+
+	@Param({ "8", "16", "24" })
+	public int range;
+
+	private SyntheticBlockAccess world;
+	private Locus locus;
+	private CountingScanner scanner;
+	private int step = 1;
+
+	private static class Locus extends ScanLocus {
+
+		private final IBlockAccessEx world;
+		private BlockPos center;
+
+		Locus(@Nonnull final IBlockAccessEx world, @Nonnull final BlockPos center) {
+			this.world = world;
+			this.center = center;
+		}
+
+		@Override
+		public IBlockAccessEx getWorld() {
+			return this.world;
+		}
+
+		@Override
+		public BlockPos getCenter() {
+			return this.center;
+		}
+
+		@Override
+		public int getReference() {
+			return this.world.worldReference();
+		}
+	}
+
+	private static class CountingScanner extends CuboidScanner {
+
+		public int hits;
+
+		CountingScanner(@Nonnull final ScanLocus locus, final int range) {
+			super(locus, "Benchmark", range, 0);
+		}
+
+		@Override
+		public void blockScan(@Nonnull final IBlockState state, @Nonnull final BlockPos pos,
+				@Nonnull final Random rand) {
+			this.hits++;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Headless.bootstrap();
+		this.world = new SyntheticBlockAccess(0, 0, WORLD_SIZE, WORLD_HEIGHT, WORLD_SIZE);
+		final IBlockState stone = Blocks.STONE.getDefaultState();
+		final IBlockState water = Blocks.WATER.getDefaultState();
+		for (int x = 0; x < WORLD_SIZE; x++)
+			for (int z = 0; z < WORLD_SIZE; z++) {
+				final int height = 60 + ((x * 31 + z * 17) % 9);
+				for (int y = 0; y < height; y++)
+					this.world.setBlockState(x, y, z, stone);
+				if (height < 63)
+					for (int y = height; y < 63; y++)
+						this.world.setBlockState(x, y, z, water);
+			}
+	}
+
+	@Setup(Level.Iteration)
+	public void reset() {
+		this.locus = new Locus(this.world, new BlockPos(WORLD_SIZE / 2, 64, WORLD_SIZE / 2));
+		this.scanner = new CountingScanner(this.locus, this.range);
+	}
+
+	@Benchmark
+	public int fullScan() {
+		this.world.invalidate();
+		do {
+			this.scanner.update();
+		} while (!this.scanner.isScanFinished());
+		return this.scanner.hits;
+	}
+
+	@Benchmark
+	public int deltaScan() {
+		while (!this.scanner.isScanFinished())
+			this.scanner.update();
+		final BlockPos center = this.locus.center;
+		if (center.getX() > WORLD_SIZE / 2 + 8 || center.getX() < WORLD_SIZE / 2 - 8)
+			this.step = -this.step;
+		this.locus.center = center.east(this.step);
+		this.scanner.update();
+		return this.scanner.hits;
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.scanner;
+
+import java.util.Random;
+
+import org.blockartistry.lib.random.XorShiftRandom;
+
+/**
+ * Drives ScanBudget with a fake clock that charges a simulated per block cost,
+ * standing in for machines of different speeds. Each scenario checks that the
+ * budget settles within the dead band of the target (or on a limit when the
+ * target cannot be met), stays inside its floor and ceiling, and does not keep
+ * reversing direction once settled. Runs on a plain JVM:
+ *
+ * <pre>
+ * gradlew budgetHarness -Pharness.args="0.25 1234"
+ * </pre>
+ *
+ * Arguments are the target in milliseconds and the seed for the cost noise.
+ */
+public final class ScanBudgetHarness {
+
+	private static final int FLOOR = 100;
+	private static final int CEILING = 3000;
+	private static final int INITIAL = 667;
+	private static final int TICKS = 2000;
+	private static final int SETTLE_TICKS = 400;
+
+	private ScanBudgetHarness() {
+
+	}
+
+	/**
+	 * Clock that only moves when told to.
+	 */
+	private static final class FakeClock {
+		long now;
+
+		long get() {
+			return this.now;
+		}
+	}
+
+	private static boolean run(final String label, final double targetMSecs, final double[] costs,
+			final double noise, final long seed) {
+		final FakeClock clock = new FakeClock();
+		final Random rand = new XorShiftRandom(seed);
+		final ScanBudget budget = new ScanBudget(INITIAL, FLOOR, CEILING, targetMSecs, clock::get);
+		final double target = targetMSecs * 1000000D;
+
+		boolean ok = true;
+		int reversals = 0;
+		int lastDirection = 0;
+		int lastBudget = budget.get();
+		double settledTime = 0;
+		int settledSamples = 0;
+
+		for (int tick = 0; tick < TICKS; tick++) {
+			// The cost changes partway through, as when the player walks into a
+			// busy area or another program takes the CPU.
+			final double cost = costs[tick * costs.length / TICKS];
+			final int processed = budget.get();
+
+			budget.begin();
+			clock.now += (long) (processed * cost * (1D + noise * (rand.nextDouble() * 2D - 1D)));
+			budget.end(processed);
+
+			final int b = budget.get();
+			if (b < FLOOR || b > CEILING) {
+				System.out.println(String.format("  %s: budget %d outside limits at tick %d", label, b, tick));
+				ok = false;
+			}
+
+			final int phaseTick = tick % (TICKS / costs.length);
+			if (b != lastBudget && phaseTick >= SETTLE_TICKS) {
+				final int direction = Integer.signum(b - lastBudget);
+				if (lastDirection != 0 && direction != lastDirection)
+					reversals++;
+				lastDirection = direction;
+			}
+			lastBudget = b;
+
+			if (phaseTick == TICKS / costs.length - 1) {
+				final double time = b * cost;
+				final boolean pinned = (b == FLOOR && time > target) || (b == CEILING && time < target);
+				final boolean inBand = Math.abs(time - target) <= target * 0.25D;
+				System.out.println(String.format("  %-10s cost %6.1fns -> budget %5d, %.3fms per tick%s", label, cost,
+						b, time / 1000000D, pinned ? " (limit)" : ""));
+				if (!pinned && !inBand) {
+					System.out.println(String.format("  %s: did not settle near the target", label));
+					ok = false;
+				}
+				settledTime += time;
+				settledSamples++;
+			}
+		}
+
+		if (reversals > 2 * costs.length) {
+			System.out.println(String.format("  %s: %d reversals after settling", label, reversals));
+			ok = false;
+		}
+		System.out.println(String.format("%-10s %s, %d reversals, average settled %.3fms", label, ok ? "ok" : "FAILED",
+				reversals, settledTime / settledSamples / 1000000D));
+		return ok;
+	}
+
+	public static void main(final String[] args) {
+		final double target = args.length > 0 ? Double.parseDouble(args[0]) : 0.25D;
+		final long seed = args.length > 1 ? Long.parseLong(args[1]) : 1234L;
+
+		boolean ok = true;
+		ok &= run("laptop", target, new double[] { 400D }, 0.3D, seed);
+		ok &= run("desktop", target, new double[] { 60D }, 0.3D, seed);
+		ok &= run("overloaded", target, new double[] { 5000D }, 0.3D, seed);
+		ok &= run("idle", target, new double[] { 5D }, 0.3D, seed);
+		ok &= run("hitch", target, new double[] { 80D, 600D, 80D }, 0.3D, seed);
+		ok &= run("noisy", target, new double[] { 150D }, 0.6D, seed);
+
+		System.out.println(ok ? "PASSED" : "FAILED");
+		if (!ok)
+			System.exit(1);
+	}
+}
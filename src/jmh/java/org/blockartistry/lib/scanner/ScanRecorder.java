@@ -0,0 +1,122 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.scanner;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Per tick samples of a scan run: blocks visited, hits reported to the
+ * scanner, and wall time. Storage is preallocated for the number of ticks in
+ * the run so recording does not disturb what is being measured.
+ */
+public final class ScanRecorder {
+
+	private final String name;
+	private final long[] visited;
+	private final int[] hits;
+	private final long[] nanos;
+	private int count;
+
+	public ScanRecorder(@Nonnull final String name, final int ticks) {
+		this.name = name;
+		this.visited = new long[ticks];
+		this.hits = new int[ticks];
+		this.nanos = new long[ticks];
+	}
+
+	public void record(final long visited, final int hits, final long nanos) {
+		if (this.count < this.nanos.length) {
+			this.visited[this.count] = visited;
+			this.hits[this.count] = hits;
+			this.nanos[this.count] = nanos;
+			this.count++;
+		}
+	}
+
+	@Nonnull
+	public String getName() {
+		return this.name;
+	}
+
+	public int getTicks() {
+		return this.count;
+	}
+
+	public long getTotalVisited() {
+		long total = 0;
+		for (int i = 0; i < this.count; i++)
+			total += this.visited[i];
+		return total;
+	}
+
+	public long getMaxVisited() {
+		long max = 0;
+		for (int i = 0; i < this.count; i++)
+			max = Math.max(max, this.visited[i]);
+		return max;
+	}
+
+	public long getTotalHits() {
+		long total = 0;
+		for (int i = 0; i < this.count; i++)
+			total += this.hits[i];
+		return total;
+	}
+
+	public long getTotalNanos() {
+		long total = 0;
+		for (int i = 0; i < this.count; i++)
+			total += this.nanos[i];
+		return total;
+	}
+
+	/**
+	 * Wall time percentile in nanoseconds; p is in the range 0-100.
+	 */
+	public long getNanosPercentile(final double p) {
+		if (this.count == 0)
+			return 0;
+		final long[] sorted = Arrays.copyOf(this.nanos, this.count);
+		Arrays.sort(sorted);
+		final int idx = (int) Math.ceil(p / 100D * this.count) - 1;
+		return sorted[Math.max(0, Math.min(this.count - 1, idx))];
+	}
+
+	@Nonnull
+	public static String header() {
+		return String.format("%-32s %6s %12s %10s %10s %10s %10s %10s", "scanner", "ticks", "visited", "max/tick",
+				"hits", "mean(us)", "p99(us)", "max(us)");
+	}
+
+	@Override
+	@Nonnull
+	public String toString() {
+		final double mean = this.count == 0 ? 0 : getTotalNanos() / 1000D / this.count;
+		return String.format("%-32s %6d %12d %10d %10d %10.2f %10.2f %10.2f", this.name, this.count,
+				getTotalVisited(), getMaxVisited(), getTotalHits(), mean, getNanosPercentile(99) / 1000D,
+				getNanosPercentile(100) / 1000D);
+	}
+}
@@ -28,6 +28,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
 
@@ -66,8 +67,8 @@ public final class ModOptions {
 	public static final String CONFIG_ENABLE_WEATHER = "Enable Weather Control";
 	public static final String CONFIG_ENABLE_RESET_WEATHER_ON_SLEEP = "Enable Weather Reset on Sleep Control";
 	public static final String CONFIG_DISABLE_ARROW_CRITICAL_TRAIL = "Disable Arrow Critical Particle Trail";
-	public static final String CONFIG_ENABLE_SYNC_SOUND_MANAGER = "Enable synchronized for SoundManager";
 	public static final String CONFIG_ENABLE_SYNC_PARTICLE_MANAGER = "Enable synchronized for ParticleManager";
+	public static final String CONFIG_ENABLE_TRANSFORM_CACHE = "Enable Transform Cache";
 
 	@Category(CATEGORY_ASM)
 	@LangKey("dsurround.cfg.asm.cat.ASM")
@@ -105,19 +106,19 @@ public final class ModOptions {
 		@RestartRequired(server = true)
 		public static boolean disableArrowParticleTrail = true;
 
-		@Option(CONFIG_ENABLE_SYNC_SOUND_MANAGER)
-		@DefaultValue("false")
-		@LangKey("dsurround.cfg.asm.EnableSMSync")
-		@Comment("Enable synchronized attribute on SoundManager public methods")
-		@RestartRequired(server = true)
-		public static boolean enableSoundManagerSync = false;
-
 		@Option(CONFIG_ENABLE_SYNC_PARTICLE_MANAGER)
 		@DefaultValue("false")
 		@LangKey("dsurround.cfg.asm.EnablePMSync")
-		@Comment("Enable synchronized attribute on ParticleManager public methods")
+		@Comment("Queue particles added from other threads and hand them to ParticleManager on the client thread")
 		@RestartRequired(server = true)
 		public static boolean enableParticleManagerSync = false;
+
+		@Option(CONFIG_ENABLE_TRANSFORM_CACHE)
+		@DefaultValue("true")
+		@LangKey("dsurround.cfg.asm.EnableTransformCache")
+		@Comment("Cache transformed classes on disk to speed up subsequent launches")
+		@RestartRequired(server = true)
+		public static boolean enableTransformCache = true;
 	}
 
 	public static final String CATEGORY_LOGGING_CONTROL = "logging";
@@ -378,6 +379,10 @@ public final class ModOptions {
 	public static final String CONFIG_STARTUP_SOUND_LIST = "Startup Sound List";
 	public static final String CONFIG_HIDE_CHAT_NOTICES = "Hide Chat Notices";
 	public static final String CONFIG_ENABLE_CLIENT_CHUNK_CACHING = "Enable Client Chunk Caching";
+	public static final String CONFIG_ADAPTIVE_SCAN_BUDGET = "Adaptive Scan Budget";
+	public static final String CONFIG_SCAN_TIME_TARGET = "Scan Time Target";
+	public static final String CONFIG_SCAN_MIN_BLOCKS = "Scan Minimum Blocks";
+	public static final String CONFIG_SCAN_MAX_BLOCKS = "Scan Maximum Blocks";
 
 	@Category(CATEGORY_GENERAL)
 	@LangKey("dsurround.cfg.general.cat.General")
@@ -387,7 +392,8 @@ public final class ModOptions {
 		public static String PATH = null;
 		public static final List<String> SORT = Arrays.asList(CONFIG_HIDE_CHAT_NOTICES, CONFIG_DISABLE_SUSPEND,
 				CONFIG_FX_RANGE, CONFIG_MIN_RAIN_STRENGTH, CONFIG_MAX_RAIN_STRENGTH, CONFIG_EXTERNAL_SCRIPTS,
-				CONFIG_STARTUP_SOUND_LIST, CONFIG_ENABLE_CLIENT_CHUNK_CACHING);
+				CONFIG_STARTUP_SOUND_LIST, CONFIG_ENABLE_CLIENT_CHUNK_CACHING, CONFIG_ADAPTIVE_SCAN_BUDGET,
+				CONFIG_SCAN_TIME_TARGET, CONFIG_SCAN_MIN_BLOCKS, CONFIG_SCAN_MAX_BLOCKS);
 
 		@Option(CONFIG_HIDE_CHAT_NOTICES)
 		@DefaultValue("false")
@@ -441,6 +447,33 @@ public final class ModOptions {
 		@Comment("Enable/disable client side chunk caching for performance")
 		@LangKey("dsurround.cfg.general.ChunkCaching")
 		public static boolean enableClientChunkCaching = true;
+
+		@Option(CONFIG_ADAPTIVE_SCAN_BUDGET)
+		@DefaultValue("true")
+		@LangKey("dsurround.cfg.general.AdaptiveScan")
+		@Comment("Adjust the number of blocks scanned per tick for effects based on how long the scans take")
+		public static boolean enableAdaptiveScanBudget = true;
+
+		@Option(CONFIG_SCAN_TIME_TARGET)
+		@DefaultValue("0.25")
+		@LangKey("dsurround.cfg.general.ScanTarget")
+		@RangeFloat(min = 0.05F, max = 5.0F)
+		@Comment("Target time in milliseconds each block effect scanner should spend per tick")
+		public static float scanTimeTarget = 0.25F;
+
+		@Option(CONFIG_SCAN_MIN_BLOCKS)
+		@DefaultValue("100")
+		@LangKey("dsurround.cfg.general.ScanMinBlocks")
+		@RangeInt(min = 16, max = 3000)
+		@Comment("Fewest blocks a block effect scanner will examine per tick")
+		public static int scanMinBlocks = 100;
+
+		@Option(CONFIG_SCAN_MAX_BLOCKS)
+		@DefaultValue("3000")
+		@LangKey("dsurround.cfg.general.ScanMaxBlocks")
+		@RangeInt(min = 100, max = 20000)
+		@Comment("Most blocks a block effect scanner will examine per tick")
+		public static int scanMaxBlocks = 3000;
 	}
 
 	public static final String CATEGORY_AURORA = "aurora";
@@ -920,6 +953,7 @@ public final class ModOptions {
 	public static final String CONFIG_OPTION_ENABLE_EMOJIS = "Enable Entity Emojis";
 	public static final String CONFIG_OPTION_SPEECHBUBBLE_DURATION = "Display Duration";
 	public static final String CONFIG_OPTION_SPEECHBUBBLE_RANGE = "Visibility Range";
+	public static final String CONFIG_OPTION_SPEECHBUBBLE_MAX = "Maximum Visible";
 
 	@Category(CATEGORY_SPEECHBUBBLES)
 	@LangKey("dsurround.cfg.speech.cat.Speech")
@@ -929,7 +963,7 @@ public final class ModOptions {
 		public static String PATH = null;
 		public static final List<String> SORT = Arrays.asList(CONFIG_OPTION_ENABLE_SPEECHBUBBLES,
 				CONFIG_OPTION_ENABLE_ENTITY_CHAT, CONFIG_OPTION_ENABLE_EMOJIS, CONFIG_OPTION_SPEECHBUBBLE_DURATION,
-				CONFIG_OPTION_SPEECHBUBBLE_RANGE);
+				CONFIG_OPTION_SPEECHBUBBLE_RANGE, CONFIG_OPTION_SPEECHBUBBLE_MAX);
 
 		@Option(CONFIG_OPTION_ENABLE_SPEECHBUBBLES)
 		@DefaultValue("false")
@@ -962,6 +996,13 @@ public final class ModOptions {
 		@RangeInt(min = 16, max = 32)
 		@Comment("Range at which a SpeechBubble is visible.  Filtering occurs server side.")
 		public static float speechBubbleRange = 16;
+
+		@Option(CONFIG_OPTION_SPEECHBUBBLE_MAX)
+		@DefaultValue("16")
+		@LangKey("dsurround.cfg.speech.MaxVisible")
+		@RangeInt(min = 1, max = 64)
+		@Comment("Maximum number of SpeechBubbles drawn at once; the nearest are kept")
+		public static int speechBubbleMaxVisible = 16;
 	}
 
 	public static final String CATEGORY_EXPLOSIONS = "explosions";
@@ -1230,6 +1271,22 @@ public final class ModOptions {
 		}
 	}
 
+	private static ConfigProcessor.Snapshot snapshot;
+
+	/**
+	 * Determines which option categories changed since the configuration was
+	 * loaded or since the last time this method was called.
+	 *
+	 * @return Qualified names of the categories that changed
+	 */
+	@Nonnull
+	public static Set<String> getChangedCategories() {
+		final ConfigProcessor.Snapshot current = ConfigProcessor.Snapshot.take(ModOptions.class);
+		final Set<String> result = snapshot == null ? current.getCategories() : current.diff(snapshot);
+		snapshot = current;
+		return result;
+	}
+
 	public static void load(final Configuration config) {
 
 		// Patch up values from older config if needed
@@ -1238,6 +1295,7 @@ public final class ModOptions {
 		}
 
 		ConfigProcessor.process(config, ModOptions.class);
+		snapshot = ConfigProcessor.Snapshot.take(ModOptions.class);
 		if (DSurround.config() != null)
 			Profiles.tickle();
 
@@ -0,0 +1,127 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.DynSurround.asm;
+
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.IFEQ;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.RETURN;
+
+import org.blockartistry.DynSurround.ModOptions;
+import org.blockartistry.lib.asm.Transmorgrifier;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.VarInsnNode;
+
+/**
+ * Routes particles added from threads other than the client thread through a
+ * queue that ParticleManager drains when it updates. Replaces marking every
+ * public method synchronized, which made the client thread pay for a monitor
+ * on every add, tick and render.
+ */
+public class PatchParticleManagerQueue extends Transmorgrifier {
+
+	private static final String OWNER = "org/blockartistry/DynSurround/client/fx/particle/ParticleSubmission";
+
+	public PatchParticleManagerQueue() {
+		super("net.minecraft.client.particle.ParticleManager");
+	}
+
+	@Override
+	public String name() {
+		return "ParticleManager submission queue";
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return ModOptions.asm.enableParticleManagerSync;
+	}
+
+	@Override
+	public int classWriterFlags() {
+		return ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES;
+	}
+
+	@Override
+	public boolean transmorgrify(final ClassNode cn) {
+
+		final String[] addNames = { "addEffect", "func_78873_a" };
+		final String addSig = "(Lnet/minecraft/client/particle/Particle;)V";
+		final String[] updateNames = { "updateEffects", "func_78868_a" };
+		final String updateSig = "()V";
+		final String[] clearNames = { "clearEffects", "func_78870_a" };
+		final String clearSig = "(Lnet/minecraft/world/World;)V";
+		final String managerSig = "(Lnet/minecraft/client/particle/ParticleManager;)V";
+
+		final MethodNode add = findMethod(cn, addSig, addNames);
+		final MethodNode update = findMethod(cn, updateSig, updateNames);
+		final MethodNode clear = findMethod(cn, clearSig, clearNames);
+
+		if (add == null)
+			Transformer.log().error("Unable to locate method {}{}", addNames[0], addSig);
+		if (update == null)
+			Transformer.log().error("Unable to locate method {}{}", updateNames[0], updateSig);
+		if (clear == null)
+			Transformer.log().error("Unable to locate method {}{}", clearNames[0], clearSig);
+
+		// All or nothing - queuing without draining would lose particles
+		if (add == null || update == null || clear == null) {
+			Transformer.log().info("Unable to patch [{}]!", getClassName());
+			return false;
+		}
+
+		logMethod(Transformer.log(), add, "Found!");
+		final LabelNode owned = new LabelNode();
+		InsnList list = new InsnList();
+		list.add(new VarInsnNode(ALOAD, 0));
+		list.add(new VarInsnNode(ALOAD, 1));
+		list.add(new MethodInsnNode(INVOKESTATIC, OWNER, "submit",
+				"(Lnet/minecraft/client/particle/ParticleManager;Lnet/minecraft/client/particle/Particle;)Z", false));
+		list.add(new JumpInsnNode(IFEQ, owned));
+		list.add(new InsnNode(RETURN));
+		list.add(owned);
+		add.instructions.insert(list);
+
+		logMethod(Transformer.log(), update, "Found!");
+		list = new InsnList();
+		list.add(new VarInsnNode(ALOAD, 0));
+		list.add(new MethodInsnNode(INVOKESTATIC, OWNER, "drain", managerSig, false));
+		update.instructions.insert(list);
+
+		logMethod(Transformer.log(), clear, "Found!");
+		list = new InsnList();
+		list.add(new VarInsnNode(ALOAD, 0));
+		list.add(new MethodInsnNode(INVOKESTATIC, OWNER, "clear", managerSig, false));
+		clear.instructions.insert(list);
+
+		return true;
+	}
+
+}
@@ -21,62 +21,48 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-
 package org.blockartistry.DynSurround.asm;
 
-import java.util.Iterator;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
 
 import org.blockartistry.lib.asm.Transmorgrifier;
-import org.objectweb.asm.Opcodes;
-import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.InsnList;
 import org.objectweb.asm.tree.MethodInsnNode;
 import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.VarInsnNode;
 
 /**
- * ASM patch to force the flush of the sound queue when playing a sound.
+ * Lets the SoundEngine stop its command worker before the SoundManager tears
+ * down the sound system, both on a sound system reload and on shutdown.
  */
-public class SoundPlayFlush extends Transmorgrifier {
+public class PatchSoundManagerUnload extends Transmorgrifier {
 
-	public SoundPlayFlush() {
+	public PatchSoundManagerUnload() {
 		super("net.minecraft.client.audio.SoundManager");
 	}
 
 	@Override
 	public String name() {
-		return "SoundManager playSound flush";
+		return "SoundManager unload hook";
 	}
 
 	@Override
 	public boolean transmorgrify(final ClassNode cn) {
-		final String names[] = { "playSound", "func_148611_c" };
-		final String sig = "(Lnet/minecraft/client/audio/ISound;)V";
+		final String names[] = { "unloadSoundSystem", "func_148613_b" };
+		final String sig = "()V";
 
 		final MethodNode m = findMethod(cn, sig, names);
 		if (m != null) {
 			logMethod(Transformer.log(), m, "Found!");
 
-			final String owner = "org/blockartistry/DynSurround/client/sound/SoundEngine";
-			final String targetName = "flushSound";
-			final String sig1 = "()V";
-
 			final InsnList list = new InsnList();
-			list.add(new MethodInsnNode(Opcodes.INVOKESTATIC, owner, targetName, sig1, false));
-
-			for (final Iterator<?> iterator = m.instructions.iterator(); iterator.hasNext();) {
-				final AbstractInsnNode insn = (AbstractInsnNode) iterator.next();
-				if (insn instanceof MethodInsnNode) {
-					final MethodInsnNode mn = (MethodInsnNode) insn;
-					if (mn.owner.equals("net/minecraft/client/audio/SoundManager$SoundSystemStarterThread")
-							&& mn.name.equals("play")) {
-						m.instructions.insert(insn, list);
-						return true;
-					}
-				}
-			}
-
-			return false;
+			list.add(new VarInsnNode(ALOAD, 0));
+			list.add(new MethodInsnNode(INVOKESTATIC, "org/blockartistry/DynSurround/client/sound/SoundEngine",
+					"onUnloadSoundSystem", "(Lnet/minecraft/client/audio/SoundManager;)V", false));
+			m.instructions.insert(list);
+			return true;
 		} else {
 			Transformer.log().error("Unable to locate method {}{}", names[0], sig);
 		}
@@ -41,6 +41,12 @@ import net.minecraftforge.fml.relauncher.IFMLLoadingPlugin;
 @IFMLLoadingPlugin.Name("DynamicSurroundingsCore")
 public class TransformLoader implements IFMLLoadingPlugin {
 
+	private static File mcLocation;
+
+	public static File getMinecraftLocation() {
+		return mcLocation;
+	}
+
 	@Override
 	public String[] getASMTransformerClass() {
 		return new String[] { Transformer.class.getName() };
@@ -59,7 +65,8 @@ public class TransformLoader implements IFMLLoadingPlugin {
 	@Override
 	public void injectData(final Map<String, Object> map) {
 		// Tickle the configuration so we can get some options initialized
-		final File configFile = new File((File) map.get("mcLocation"), "/config/dsurround/dsurround.cfg");
+		mcLocation = (File) map.get("mcLocation");
+		final File configFile = new File(mcLocation, "/config/dsurround/dsurround.cfg");
 		final Configuration config = new Configuration(configFile);
 		ModOptions.load(config);
 	}
@@ -24,9 +24,14 @@
 
 package org.blockartistry.DynSurround.asm;
 
+import java.io.File;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.blockartistry.DynSurround.DSurround;
+import org.blockartistry.DynSurround.ModOptions;
 import org.blockartistry.lib.asm.MyTransformer;
+import org.blockartistry.lib.asm.TransformCache;
 
 public class Transformer extends MyTransformer {
 
@@ -47,9 +52,8 @@ public class Transformer extends MyTransformer {
 		addTransmorgrifier(new PatchSoundManager());
 		addTransmorgrifier(new PatchSoundManagerPlayTime());
 		addTransmorgrifier(new PatchSoundManagerClampVolume());
-		addTransmorgrifier(new SoundPlayFlush());
-		addTransmorgrifier(new PatchSoundManagerSync());
-		addTransmorgrifier(new PatchParticleManagerSync());
+		addTransmorgrifier(new PatchSoundManagerUnload());
+		addTransmorgrifier(new PatchParticleManagerQueue());
 		addTransmorgrifier(new PatchEntityArrow());
 
 		// Sound engine crash patches
@@ -58,4 +62,17 @@ public class Transformer extends MyTransformer {
 		addTransmorgrifier(new SoundCrashFixStreamThread());
 	}
 
+	@Override
+	protected TransformCache createCache() {
+		// A development build has no version stamped in, so there is nothing to
+		// tell a stale entry from a patch that was just edited.
+		final String version = DSurround.VERSION;
+		if (!ModOptions.asm.enableTransformCache || version.startsWith("@"))
+			return null;
+		final File mcLocation = TransformLoader.getMinecraftLocation();
+		if (mcLocation == null)
+			return null;
+		return new TransformCache(logger, new File(mcLocation, "/config/dsurround/asmcache"), version);
+	}
+
 }
@@ -32,6 +32,7 @@ import org.blockartistry.lib.chunk.IBlockAccessEx;
 import org.blockartistry.lib.chunk.IChunkCache;
 import org.blockartistry.lib.chunk.PassThroughChunkCache;
 import org.blockartistry.lib.math.TimerEMA;
+import org.blockartistry.lib.profiler.ProfileTimer;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.player.EntityPlayer;
@@ -57,7 +58,7 @@ public final class ClientChunkCache {
 
 	public static final IBlockAccessEx INSTANCE = useDirectChunkCache() ? new DirectChunkCache()
 			: new PassThroughChunkCache();
-	public static final TimerEMA timing = new TimerEMA("Chunk Cache");
+	public static final TimerEMA timing = new ProfileTimer("Chunk Cache");
 
 	private static boolean useDirectChunkCache() {
 		return !ModOptions.general.enableClientChunkCaching;
@@ -77,19 +77,36 @@ public abstract class BlockEffect implements ISpecialEffect {
 	}
 
 	/**
-	 * Determines if the effect can trigger. Classes that override this method
-	 * should make sure to call the parent last to avoid necessary CPU churn related
-	 * to the script check.
+	 * Determines if the effect can trigger using the configured chance.
 	 */
 	@Override
-	public boolean canTrigger(@Nonnull final IBlockAccessEx provider, @Nonnull final IBlockState state,
+	public final boolean canTrigger(@Nonnull final IBlockAccessEx provider, @Nonnull final IBlockState state,
 			@Nonnull final BlockPos pos, @Nonnull final Random random) {
-		if (!alwaysExecute() && random.nextInt(getChance()) != 0)
+		return canTrigger(provider, state, pos, random, 1F);
+	}
+
+	/**
+	 * Determines if the effect can trigger. The odds of the chance roll are
+	 * multiplied by chanceScale so a caller that samples fewer blocks can keep
+	 * the same overall rate with a single roll per block. Classes that override
+	 * this method should make sure to call the parent last to avoid necessary
+	 * CPU churn related to the script check.
+	 */
+	public boolean canTrigger(@Nonnull final IBlockAccessEx provider, @Nonnull final IBlockState state,
+			@Nonnull final BlockPos pos, @Nonnull final Random random, final float chanceScale) {
+		if (!rollChance(random, chanceScale))
 			return false;
 
 		return ExpressionEngine.instance().check(getConditions());
 	}
 
+	/**
+	 * Rolls the chance of the effect, 1 in getChance() times the scale.
+	 */
+	protected boolean rollChance(@Nonnull final Random random, final float scale) {
+		return alwaysExecute() || random.nextFloat() * getChance() < scale;
+	}
+
 	/**
 	 * Override to provide the body of the effect that is to take place.
 	 */
@@ -52,16 +52,16 @@ public class BubbleJetEffect extends JetEffect {
 
 	@Override
 	public boolean canTrigger(@Nonnull final IBlockAccessEx provider, @Nonnull final IBlockState state,
-			@Nonnull final BlockPos pos, @Nonnull final Random random) {
+			@Nonnull final BlockPos pos, @Nonnull final Random random, final float chanceScale) {
 		final boolean isSolidBlock = provider.getBlockState(pos.down()).getMaterial().isSolid();
-		return isSolidBlock && super.canTrigger(provider, state, pos, random);
+		return isSolidBlock && super.canTrigger(provider, state, pos, random, chanceScale);
 	}
 
 	@Override
 	public void doEffect(@Nonnull final IBlockAccessEx provider, @Nonnull final IBlockState state,
 			@Nonnull final BlockPos pos, @Nonnull final Random random) {
 		final int waterBlocks = countBlocks(provider, pos, state, 1);
-		final ParticleJet effect = new ParticleBubbleJet(waterBlocks, provider.getWorld(), pos.getX() + 0.5D,
+		final ParticleJet effect = ParticleBubbleJet.create(waterBlocks, provider.getWorld(), pos.getX() + 0.5D,
 				pos.getY() + 0.1D, pos.getZ() + 0.5D);
 		addEffect(effect);
 	}
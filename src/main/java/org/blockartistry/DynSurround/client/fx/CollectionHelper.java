@@ -70,6 +70,7 @@ public class CollectionHelper {
 			pc = this.factory.create(EnvironState.getWorld(), this.texture);
 			this.collection = new WeakReference<>(pc);
 			ParticleHelper.addParticle(pc);
+			pc.ensureRenderer();
 		}
 		return pc;
 	}
@@ -53,15 +53,15 @@ public class DustJetEffect extends JetEffect {
 
 	@Override
 	public boolean canTrigger(@Nonnull final IBlockAccessEx provider, @Nonnull final IBlockState state,
-			@Nonnull final BlockPos pos, @Nonnull final Random random) {
+			@Nonnull final BlockPos pos, @Nonnull final Random random, final float chanceScale) {
 		return provider.getBlockState(pos.getX(), pos.getY() - 1, pos.getZ()) == Blocks.AIR.getDefaultState()
-				&& super.canTrigger(provider, state, pos, random);
+				&& super.canTrigger(provider, state, pos, random, chanceScale);
 	}
 
 	@Override
 	public void doEffect(@Nonnull final IBlockAccessEx provider, @Nonnull final IBlockState state,
 			@Nonnull final BlockPos pos, @Nonnull final Random random) {
-		final ParticleJet effect = new ParticleDustJet(2, provider.getWorld(), pos.getX() + 0.5D, pos.getY() - 0.2D,
+		final ParticleJet effect = ParticleDustJet.create(2, provider.getWorld(), pos.getX() + 0.5D, pos.getY() - 0.2D,
 				pos.getZ() + 0.5D, state);
 		addEffect(effect);
 	}
@@ -53,10 +53,10 @@ public class FireJetEffect extends JetEffect {
 
 	@Override
 	public boolean canTrigger(@Nonnull final IBlockAccessEx provider, @Nonnull final IBlockState state,
-			@Nonnull final BlockPos pos, @Nonnull final Random random) {
+			@Nonnull final BlockPos pos, @Nonnull final Random random, final float chanceScale) {
 		final boolean isAirBlock = provider.getBlockState(pos.getX(), pos.getY() + 1, pos.getZ())
 				.getMaterial() == Material.AIR;
-		return isAirBlock && super.canTrigger(provider, state, pos, random);
+		return isAirBlock && super.canTrigger(provider, state, pos, random, chanceScale);
 	}
 
 	@Override
@@ -64,8 +64,8 @@ public class FireJetEffect extends JetEffect {
 			@Nonnull final BlockPos pos, @Nonnull final Random random) {
 		final int lavaBlocks = countBlocks(provider, pos, state, -1);
 		final double spawnHeight = jetSpawnHeight(state, pos);
-		final ParticleJet effect = new ParticleFireJet(lavaBlocks, provider.getWorld(), pos.getX() + 0.5D, spawnHeight,
-				pos.getZ() + 0.5D);
+		final ParticleJet effect = ParticleFireJet.create(lavaBlocks, provider.getWorld(), pos.getX() + 0.5D,
+				spawnHeight, pos.getZ() + 0.5D);
 		addEffect(effect);
 	}
 }
@@ -53,17 +53,17 @@ public class FountainJetEffect extends JetEffect {
 
 	@Override
 	public boolean canTrigger(@Nonnull final IBlockAccessEx provider, @Nonnull final IBlockState state,
-			@Nonnull final BlockPos pos, @Nonnull final Random random) {
+			@Nonnull final BlockPos pos, @Nonnull final Random random, final float chanceScale) {
 		final boolean isAirBlock = provider.getBlockState(pos.getX(), pos.getY() + 1, pos.getZ())
 				.getMaterial() == Material.AIR;
-		return isAirBlock && super.canTrigger(provider, state, pos, random);
+		return isAirBlock && super.canTrigger(provider, state, pos, random, chanceScale);
 	}
 
 	@Override
 	public void doEffect(@Nonnull final IBlockAccessEx provider, @Nonnull final IBlockState state,
 			@Nonnull final BlockPos pos, @Nonnull final Random random) {
-		final ParticleJet effect = new ParticleFountainJet(5, provider.getWorld(), pos.getX() + 0.5D, pos.getY() + 1.1D,
-				pos.getZ() + 0.5D, state);
+		final ParticleJet effect = ParticleFountainJet.create(5, provider.getWorld(), pos.getX() + 0.5D,
+				pos.getY() + 1.1D, pos.getZ() + 0.5D, state);
 		addEffect(effect);
 	}
 
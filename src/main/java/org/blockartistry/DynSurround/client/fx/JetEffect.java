@@ -72,8 +72,8 @@ public abstract class JetEffect extends BlockEffect {
 
 	@Override
 	public boolean canTrigger(@Nonnull final IBlockAccessEx provider, @Nonnull final IBlockState state,
-			@Nonnull final BlockPos pos, @Nonnull final Random random) {
-		if (alwaysExecute() || random.nextInt(getChance()) == 0) {
+			@Nonnull final BlockPos pos, @Nonnull final Random random, final float chanceScale) {
+		if (rollChance(random, chanceScale)) {
 			final ParticleSystemHandler ps = EffectManager.instance().lookupService(ParticleSystemHandler.class);
 			return ps.okToSpawn(pos) && ExpressionEngine.instance().check(getConditions());
 		}
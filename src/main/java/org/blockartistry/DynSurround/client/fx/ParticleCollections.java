@@ -90,7 +90,7 @@ public final class ParticleCollections {
 			final double z, final double dX, final double dY, final double dZ) {
 		IParticleMote mote = null;
 		if (theSprays.get().canFit()) {
-			mote = new MoteWaterSpray(world, x, y, z, dX, dY, dZ);
+			mote = MoteWaterSpray.create(world, x, y, z, dX, dY, dZ);
 			theSprays.get().addParticle(mote);
 		}
 		return mote;
@@ -105,7 +105,7 @@ public final class ParticleCollections {
 			final double z) {
 		IParticleMote mote = null;
 		if (theSprays.get().canFit()) {
-			mote = new MoteRainSplash(world, x, y, z);
+			mote = MoteRainSplash.create(world, x, y, z);
 			theSprays.get().addParticle(mote);
 		}
 		return mote;
@@ -0,0 +1,118 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.fx;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.blockartistry.DynSurround.DSurround;
+import org.blockartistry.DynSurround.event.DiagnosticEvent;
+import org.blockartistry.lib.collections.ObjectPool;
+import org.blockartistry.lib.collections.ObjectPool.IPoolable;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.WorldClient;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Object pools for particle systems and motes, keyed by the exact class of the
+ * pooled object. A class registers its pool in its static initializer and
+ * provides a factory method that tries the pool before constructing. Objects
+ * are handed back by whoever retires them - the ParticleSystemHandler for
+ * systems, the ParticleCollection for motes.
+ *
+ * Lookup is by exact class so an instance of an unregistered subclass is never
+ * recycled as its parent type. The pools are only touched from the client
+ * thread; acquire() and release() from any other thread fall back to plain
+ * allocation and garbage collection.
+ */
+@SideOnly(Side.CLIENT)
+public final class ParticlePools {
+
+	private static final Map<Class<?>, ObjectPool<?>> pools = new IdentityHashMap<>();
+
+	private ParticlePools() {
+
+	}
+
+	private static boolean isClientThread() {
+		final Minecraft mc = Minecraft.getMinecraft();
+		return mc == null || mc.isCallingFromMinecraftThread();
+	}
+
+	/**
+	 * Registers a pool for the specified class. Intended to be called from the
+	 * static initializer of the class being pooled.
+	 */
+	public static <T extends IPoolable> void register(@Nonnull final Class<T> clazz, final int capacity) {
+		pools.put(clazz, new ObjectPool<T>(clazz.getSimpleName(), capacity));
+	}
+
+	/**
+	 * Takes an object from the pool for the specified class. The caller has to
+	 * reset it before use.
+	 *
+	 * @return A pooled object, or null if one has to be constructed
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public static <T extends IPoolable> T acquire(@Nonnull final Class<T> clazz) {
+		final ObjectPool<T> pool = (ObjectPool<T>) pools.get(clazz);
+		return pool != null && isClientThread() ? pool.acquire() : null;
+	}
+
+	/**
+	 * Hands an object back for reuse. Objects whose class does not have a pool
+	 * are ignored. The caller must not touch the object afterwards.
+	 */
+	@SuppressWarnings("unchecked")
+	public static void release(@Nonnull final Object obj) {
+		final ObjectPool<IPoolable> pool = (ObjectPool<IPoolable>) pools.get(obj.getClass());
+		if (pool != null && isClientThread())
+			pool.release((IPoolable) obj);
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(@Nonnull final WorldEvent.Unload event) {
+		if (event.getWorld() instanceof WorldClient) {
+			DSurround.log().debug("World [%s] unloading, clearing particle pools",
+					event.getWorld().provider.getDimensionType().getName());
+			pools.values().forEach(ObjectPool::clear);
+		}
+	}
+
+	@SubscribeEvent
+	public static void diagnostics(@Nonnull final DiagnosticEvent.Gather event) {
+		for (final ObjectPool<?> pool : pools.values())
+			event.output.add(TextFormatting.AQUA + pool.toString());
+	}
+}
@@ -87,8 +87,8 @@ public class SteamJetEffect extends JetEffect {
 
 	@Override
 	public boolean canTrigger(@Nonnull final IBlockAccessEx provider, @Nonnull final IBlockState state,
-			@Nonnull final BlockPos pos, @Nonnull final Random random) {
-		return isValidSpawnBlock(provider, pos) && super.canTrigger(provider, state, pos, random);
+			@Nonnull final BlockPos pos, @Nonnull final Random random, final float chanceScale) {
+		return isValidSpawnBlock(provider, pos) && super.canTrigger(provider, state, pos, random, chanceScale);
 	}
 
 	@Override
@@ -96,8 +96,8 @@ public class SteamJetEffect extends JetEffect {
 			@Nonnull final BlockPos pos, @Nonnull final Random random) {
 		final int strength = lavaCount(provider, pos);
 		final double spawnHeight = jetSpawnHeight(state, pos);
-		final ParticleJet effect = new ParticleSteamJet(strength, provider.getWorld(), pos.getX() + 0.5D, spawnHeight,
-				pos.getZ() + 0.5D);
+		final ParticleJet effect = ParticleSteamJet.create(strength, provider.getWorld(), pos.getX() + 0.5D,
+				spawnHeight, pos.getZ() + 0.5D);
 		addEffect(effect);
 	}
 }
@@ -111,8 +111,8 @@ public class WaterSplashJetEffect extends JetEffect {
 
 	@Override
 	public boolean canTrigger(@Nonnull final IBlockAccessEx provider, @Nonnull final IBlockState state,
-			@Nonnull final BlockPos pos, @Nonnull final Random random) {
-		return isValidSpawnBlock(provider, pos) && super.canTrigger(provider, state, pos, random);
+			@Nonnull final BlockPos pos, @Nonnull final Random random, final float chanceScale) {
+		return isValidSpawnBlock(provider, pos) && super.canTrigger(provider, state, pos, random, chanceScale);
 	}
 
 	@Override
@@ -126,7 +126,7 @@ public class WaterSplashJetEffect extends JetEffect {
 		final float height = BlockLiquid.getLiquidHeightPercent(state.getBlock().getMetaFromState(state)) + 0.1F;
 		final double y = height + pos.getY();
 
-		final ParticleJet effect = new ParticleWaterSplash(strength, provider.getWorld(), pos, pos.getX() + 0.5D, y,
+		final ParticleJet effect = ParticleWaterSplash.create(strength, provider.getWorld(), pos, pos.getX() + 0.5D, y,
 				pos.getZ() + 0.5D);
 		addEffect(effect);
 	}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.DynSurround.client.fx.particle;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.lib.collections.ThreadHandoff;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.particle.Particle;
+import net.minecraft.client.particle.ParticleManager;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Hooks injected into ParticleManager by PatchParticleManagerQueue. Particles
+ * added from threads other than the client thread are parked in a queue and
+ * added to the manager at the start of its next update, so the manager itself
+ * is only ever touched from the client thread and needs no locking. Particles
+ * that do not fit in the queue are dropped and counted.
+ */
+@SideOnly(Side.CLIENT)
+public final class ParticleSubmission {
+
+	// Vanilla caps each layer at 16384 so anything beyond that would be culled
+	// anyway. Also keeps the queue in check while the game is paused.
+	private static final int CAPACITY = 16384;
+
+	private static final ThreadHandoff<Particle> pending = new ThreadHandoff<>(CAPACITY,
+			ParticleSubmission::isClientThread);
+
+	private ParticleSubmission() {
+
+	}
+
+	private static boolean isClientThread() {
+		final Minecraft mc = Minecraft.getMinecraft();
+		return mc == null || mc.isCallingFromMinecraftThread();
+	}
+
+	/**
+	 * Called at the head of ParticleManager.addEffect().
+	 *
+	 * @return true if the particle was taken and addEffect() should return
+	 */
+	public static boolean submit(@Nonnull final ParticleManager manager, @Nonnull final Particle particle) {
+		return pending.submit(particle);
+	}
+
+	/**
+	 * Called at the head of ParticleManager.updateEffects().
+	 */
+	public static void drain(@Nonnull final ParticleManager manager) {
+		pending.drain(manager::addEffect);
+	}
+
+	/**
+	 * Called at the head of ParticleManager.clearEffects(). Anything queued
+	 * belongs to the world being left.
+	 */
+	public static void clear(@Nonnull final ParticleManager manager) {
+		pending.clear();
+	}
+
+	public static int getPendingCount() {
+		return pending.getPendingCount();
+	}
+
+	/**
+	 * Number of particles dropped because the queue was full.
+	 */
+	public static long getRefusedCount() {
+		return pending.getRefusedCount();
+	}
+}
@@ -28,6 +28,7 @@ import java.util.Random;
 import javax.annotation.Nonnull;
 
 import org.blockartistry.DynSurround.client.ClientChunkCache;
+import org.blockartistry.lib.collections.ObjectPool.IPoolable;
 import org.blockartistry.lib.random.XorShiftRandom;
 
 import net.minecraft.client.Minecraft;
@@ -43,12 +44,12 @@ import net.minecraftforge.fml.relauncher.SideOnly;
  * A particle that stays fixed at a certain point of the world.
  */
 @SideOnly(Side.CLIENT)
-public abstract class MoteParticle implements IParticleMote {
+public abstract class MoteParticle implements IParticleMote, IPoolable {
 
 	protected static final Random RANDOM = XorShiftRandom.current();
 	protected static final RenderManager RENDERER = Minecraft.getMinecraft().getRenderManager();
 
-	protected final World world;
+	protected World world;
 
 	protected boolean isAlive = true;
 	protected double posX;
@@ -70,6 +71,22 @@ public abstract class MoteParticle implements IParticleMote {
 		configureColor();
 	}
 
+	/**
+	 * Reinitializes a mote taken from one of the ParticlePools. Mirrors what the
+	 * constructor does.
+	 */
+	protected final void resetParticle(@Nonnull final World world, final double x, final double y, final double z) {
+		this.world = world;
+		this.isAlive = true;
+		setPosition(x, y, z);
+		configureColor();
+	}
+
+	@Override
+	public void onRelease() {
+		this.world = null;
+	}
+
 	public void setPosition(final double posX, final double posY, final double posZ) {
 		this.posX = posX;
 		this.posY = posY;
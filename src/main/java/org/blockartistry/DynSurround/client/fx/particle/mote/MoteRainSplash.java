@@ -24,6 +24,10 @@
 
 package org.blockartistry.DynSurround.client.fx.particle.mote;
 
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.client.fx.ParticlePools;
+
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
@@ -32,9 +36,29 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class MoteRainSplash extends MoteWaterSpray {
 
+	private static final int POOL_SIZE = 1024;
+
+	static {
+		ParticlePools.register(MoteRainSplash.class, POOL_SIZE);
+	}
+
+	@Nonnull
+	public static MoteRainSplash create(@Nonnull final World world, final double x, final double y, final double z) {
+		final MoteRainSplash mote = ParticlePools.acquire(MoteRainSplash.class);
+		if (mote == null)
+			return new MoteRainSplash(world, x, y, z);
+		mote.resetMotion(world, x, y, z, 0, 0, 0);
+		mote.setupSpray();
+		mote.setupSplash();
+		return mote;
+	}
+
 	public MoteRainSplash(final World world, final double x, final double y, final double z) {
 		super(world, x, y, z, 0, 0, 0);
+		setupSplash();
+	}
 
+	private void setupSplash() {
 		// Setup motion
 		this.motionX = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
 		this.motionY = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
@@ -24,6 +24,9 @@
 
 package org.blockartistry.DynSurround.client.fx.particle.mote;
 
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.client.fx.ParticlePools;
 import org.blockartistry.lib.BiomeUtils;
 import org.blockartistry.lib.Color;
 
@@ -36,17 +39,38 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class MoteWaterSpray extends MoteMotionBase {
 
+	// A waterfall can keep a couple thousand of these in the air
+	private static final int POOL_SIZE = 2048;
+
+	static {
+		ParticlePools.register(MoteWaterSpray.class, POOL_SIZE);
+	}
+
+	@Nonnull
+	public static MoteWaterSpray create(@Nonnull final World world, final double x, final double y, final double z,
+			final double dX, final double dY, final double dZ) {
+		final MoteWaterSpray mote = ParticlePools.acquire(MoteWaterSpray.class);
+		if (mote == null)
+			return new MoteWaterSpray(world, x, y, z, dX, dY, dZ);
+		mote.resetMotion(world, x, y, z, dX, dY, dZ);
+		mote.setupSpray();
+		return mote;
+	}
+
 	protected float scale;
 
-	protected final float texU1, texU2;
-	protected final float texV1, texV2;
-	protected final float f4;
+	protected float texU1, texU2;
+	protected float texV1, texV2;
+	protected float f4;
 
 	public MoteWaterSpray(final World world, final double x, final double y, final double z, final double dX,
 			final double dY, final double dZ) {
 
 		super(world, x, y, z, dX, dY, dZ);
+		setupSpray();
+	}
 
+	protected final void setupSpray() {
 		this.maxAge = (int) (8.0F / (RANDOM.nextFloat() * 0.8F + 0.2F));
 		this.scale = (RANDOM.nextFloat() * 0.5F + 0.5F) * 2.0F;
 
@@ -28,16 +28,14 @@ import java.util.function.Predicate;
 
 import javax.annotation.Nonnull;
 
+import org.blockartistry.DynSurround.client.fx.ParticlePools;
 import org.blockartistry.DynSurround.client.fx.particle.ParticleBase;
 import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.blockartistry.lib.collections.ObjectArray;
-import org.blockartistry.lib.compat.ModEnvironment;
-import org.blockartistry.lib.gfx.OpenGlState;
-import org.lwjgl.opengl.GL11;
+import org.blockartistry.lib.gfx.OpenGlUtil;
 
 import net.minecraft.client.renderer.BufferBuilder;
 import net.minecraft.client.renderer.GlStateManager;
-import net.minecraft.client.renderer.Tessellator;
 import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
 import net.minecraft.client.renderer.vertex.VertexFormat;
 import net.minecraft.entity.Entity;
@@ -46,15 +44,61 @@ import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+/**
+ * A group of motes that are ticked as a single particle. Collections do not
+ * draw themselves; the ParticleCollectionRenderer draws all of them, ordered
+ * by render state and texture.
+ */
 @SideOnly(Side.CLIENT)
 public class ParticleCollection extends ParticleBase {
 
+	/**
+	 * GL state a collection needs on top of what the particle manager sets up
+	 * for lit particles. The states are cumulative in declaration order, so a
+	 * batch sorted by state only ever has to apply the next state when it
+	 * changes and never has to undo one.
+	 */
+	public static enum RenderState {
+
+		// Whatever the particle manager has set
+		DEFAULT {
+			@Override
+			public void apply() {
+
+			}
+		},
+
+		// Blended, and does not write to the depth buffer
+		TRANSLUCENT {
+			@Override
+			public void apply() {
+				GlStateManager.depthMask(false);
+				OpenGlUtil.setStandardBlend();
+			}
+		},
+
+		// Same as TRANSLUCENT, with depth testing forced on
+		TRANSLUCENT_DEPTH {
+			@Override
+			public void apply() {
+				TRANSLUCENT.apply();
+				GlStateManager.enableDepth();
+			}
+		};
+
+		public abstract void apply();
+	}
+
 	/**
 	 * Predicate used to update a mote and return whether it is dead or not.
 	 */
 	private static final Predicate<IParticleMote> UPDATE_REMOVE = mote -> {
 		mote.onUpdate();
-		return !mote.isAlive();
+		if (mote.isAlive())
+			return false;
+		// Nothing else holds on to a mote so it can be recycled
+		ParticlePools.release(mote);
+		return true;
 	};
 
 	protected static final int MAX_PARTICLES = 4000;
@@ -65,7 +109,7 @@ public class ParticleCollection extends ParticleBase {
 	protected final ResourceLocation texture;
 
 	protected int lastTickUpdate;
-	protected OpenGlState glState;
+	protected ParticleCollectionRenderer renderer;
 
 	public ParticleCollection(@Nonnull final World world, @Nonnull final ResourceLocation tex) {
 		super(world, 0, 0, 0);
@@ -113,44 +157,51 @@ public class ParticleCollection extends ParticleBase {
 
 		if (shouldDie()) {
 			setExpired();
+		} else {
+			// The renderer may have left the particle manager while we still have
+			// motes to draw
+			ensureRenderer();
 		}
 	}
 
+	/**
+	 * Makes sure a live ParticleCollectionRenderer is drawing the collection.
+	 */
+	public void ensureRenderer() {
+		if (this.renderer == null || !this.renderer.isAlive())
+			this.renderer = ParticleCollectionRenderer.register(this);
+	}
+
 	@Nonnull
-	protected VertexFormat getVertexFormat() {
+	public VertexFormat getVertexFormat() {
 		return DefaultVertexFormats.PARTICLE_POSITION_TEX_COLOR_LMAP;
 	}
 
-	@Override
-	public void renderParticle(final BufferBuilder buffer, final Entity entityIn, final float partialTicks,
-			final float rotX, final float rotZ, final float rotYZ, final float rotXY, final float rotXZ) {
-
-		bindTexture(this.texture);
-		preRender();
-
-		buffer.begin(GL11.GL_QUADS, getVertexFormat());
-		for (int i = 0; i < this.myParticles.size(); i++)
-			this.myParticles.get(i).renderParticle(buffer, entityIn, partialTicks, rotX, rotZ, rotYZ, rotXY, rotXZ);
-		Tessellator.getInstance().draw();
-
-		postRender();
+	@Nonnull
+	public ResourceLocation getTexture() {
+		return this.texture;
 	}
 
-	protected boolean enableLighting() {
-		return ModEnvironment.Albedo.isLoaded();
+	@Nonnull
+	public RenderState getRenderState() {
+		return RenderState.DEFAULT;
 	}
 
-	protected void preRender() {
-		this.glState = OpenGlState.push();
-		if (enableLighting())
-			GlStateManager.enableLighting();
-		else
-			GlStateManager.disableLighting();
+	/**
+	 * Writes the motes of the collection into a buffer that has already been
+	 * started by the ParticleCollectionRenderer.
+	 */
+	public void renderMotes(@Nonnull final BufferBuilder buffer, @Nonnull final Entity entityIn,
+			final float partialTicks, final float rotX, final float rotZ, final float rotYZ, final float rotXY,
+			final float rotXZ) {
+		for (int i = 0; i < this.myParticles.size(); i++)
+			this.myParticles.get(i).renderParticle(buffer, entityIn, partialTicks, rotX, rotZ, rotYZ, rotXY, rotXZ);
 	}
 
-	protected void postRender() {
-		OpenGlState.pop(this.glState);
-		this.glState = null;
+	@Override
+	public void renderParticle(final BufferBuilder buffer, final Entity entityIn, final float partialTicks,
+			final float rotX, final float rotZ, final float rotYZ, final float rotXY, final float rotXZ) {
+		// Drawn by the ParticleCollectionRenderer
 	}
 
 	@Override
@@ -26,9 +26,6 @@ package org.blockartistry.DynSurround.client.fx.particle.mote;
 
 import javax.annotation.Nonnull;
 
-import org.blockartistry.lib.gfx.OpenGlUtil;
-
-import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
@@ -47,10 +44,9 @@ public class ParticleCollectionFootprint extends ParticleCollection {
 	}
 
 	@Override
-	protected void preRender() {
-		super.preRender();
-		GlStateManager.depthMask(false);
-		OpenGlUtil.setStandardBlend();
+	@Nonnull
+	public RenderState getRenderState() {
+		return RenderState.TRANSLUCENT;
 	}
 
 	public static final ICollectionFactory FACTORY = (world, texture) -> {
@@ -0,0 +1,213 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.fx.particle.mote;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.client.fx.particle.ParticleBase;
+import org.blockartistry.DynSurround.client.fx.particle.mote.ParticleCollection.RenderState;
+import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.blockartistry.lib.compat.ModEnvironment;
+import org.blockartistry.lib.gfx.OpenGlState;
+import org.blockartistry.lib.gfx.ParticleHelper;
+import org.lwjgl.opengl.GL11;
+
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.WorldVertexBufferUploader;
+import net.minecraft.client.renderer.vertex.VertexFormat;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Draws the ParticleCollections from a single particle so the GL state is
+ * saved and restored once per frame rather than once per collection.
+ * Collections are ordered by render state and then texture, so each state
+ * change and texture bind happens at most once a frame. Each collection type
+ * has its own texture, so in practice that is a draw call per texture; only
+ * collections of the same type, such as a second collection started when the
+ * first one fills up, share a draw call.
+ *
+ * Vertex data is written into a buffer that is owned by the renderer and
+ * reused from frame to frame, so the batch does not compete with anything
+ * else that is using the Tessellator.
+ */
+@SideOnly(Side.CLIENT)
+public final class ParticleCollectionRenderer extends ParticleBase {
+
+	// A full collection of quads in the particle vertex format, in ints. The
+	// buffer grows on its own if that turns out to be too small.
+	private static final int BUFFER_SIZE = ParticleCollection.MAX_PARTICLES * 4 * 7;
+	private static final int TICK_GRACE = 2;
+
+	private static final BufferBuilder buffer = new BufferBuilder(BUFFER_SIZE);
+	private static final WorldVertexBufferUploader uploader = new WorldVertexBufferUploader();
+
+	private static final Comparator<ParticleCollection> ORDER = Comparator
+			.comparing(ParticleCollection::getRenderState).thenComparing(ParticleCollection::getTexture);
+
+	private static final Predicate<ParticleCollection> DEAD = pc -> !pc.isAlive() || pc.shouldDie();
+
+	// Weak reference because the particle could be evicted from Minecraft's
+	// particle manager for some reason.
+	private static WeakReference<ParticleCollectionRenderer> instance;
+
+	private final List<ParticleCollection> collections = new ArrayList<>();
+	private boolean needsSort;
+	private int lastTickUpdate;
+
+	private ParticleCollectionRenderer(@Nonnull final World world) {
+		super(world, 0, 0, 0);
+
+		this.canCollide = false;
+		this.lastTickUpdate = EnvironState.getTickCounter();
+	}
+
+	/**
+	 * Adds a collection to the renderer, starting a new renderer if the current
+	 * one is no longer in the particle manager. Returns the renderer that will
+	 * draw the collection.
+	 */
+	@Nonnull
+	public static ParticleCollectionRenderer register(@Nonnull final ParticleCollection pc) {
+		ParticleCollectionRenderer renderer = instance != null ? instance.get() : null;
+		if (renderer == null || !renderer.isAlive() || renderer.shouldDie()) {
+			final ParticleCollectionRenderer old = renderer;
+			renderer = new ParticleCollectionRenderer(EnvironState.getWorld());
+			if (old != null)
+				old.collections.forEach(renderer::add);
+			instance = new WeakReference<>(renderer);
+			ParticleHelper.addParticle(renderer);
+		}
+		renderer.add(pc);
+		return renderer;
+	}
+
+	private void add(@Nonnull final ParticleCollection pc) {
+		if (!this.collections.contains(pc)) {
+			this.collections.add(pc);
+			this.needsSort = true;
+		}
+	}
+
+	public boolean shouldDie() {
+		final boolean timeout = (EnvironState.getTickCounter() - this.lastTickUpdate) > TICK_GRACE;
+		return timeout || this.world != EnvironState.getWorld();
+	}
+
+	@Override
+	public void onUpdate() {
+		if (!isAlive())
+			return;
+
+		this.lastTickUpdate = EnvironState.getTickCounter();
+
+		this.collections.removeIf(DEAD);
+
+		if (this.collections.isEmpty() || shouldDie())
+			setExpired();
+	}
+
+	private boolean hasMotes() {
+		for (int i = 0; i < this.collections.size(); i++)
+			if (this.collections.get(i).size() > 0)
+				return true;
+		return false;
+	}
+
+	private static boolean sameBatch(@Nonnull final ParticleCollection pc, @Nonnull final RenderState state,
+			@Nonnull final ResourceLocation texture, @Nonnull final VertexFormat format) {
+		return pc.getRenderState() == state && pc.getTexture().equals(texture) && pc.getVertexFormat() == format;
+	}
+
+	@Override
+	public void renderParticle(final BufferBuilder unused, final Entity entityIn, final float partialTicks,
+			final float rotX, final float rotZ, final float rotYZ, final float rotXY, final float rotXZ) {
+
+		if (!hasMotes())
+			return;
+
+		if (this.needsSort) {
+			this.collections.sort(ORDER);
+			this.needsSort = false;
+		}
+
+		final OpenGlState glState = OpenGlState.push();
+		if (ModEnvironment.Albedo.isLoaded())
+			GlStateManager.enableLighting();
+		else
+			GlStateManager.disableLighting();
+
+		RenderState currentState = null;
+		ResourceLocation currentTexture = null;
+
+		int idx = 0;
+		while (idx < this.collections.size()) {
+			final ParticleCollection pc = this.collections.get(idx);
+			if (pc.size() == 0) {
+				idx++;
+				continue;
+			}
+
+			final RenderState state = pc.getRenderState();
+			final ResourceLocation texture = pc.getTexture();
+			final VertexFormat format = pc.getVertexFormat();
+
+			if (state != currentState) {
+				state.apply();
+				currentState = state;
+			}
+			if (!texture.equals(currentTexture)) {
+				bindTexture(texture);
+				currentTexture = texture;
+			}
+
+			buffer.begin(GL11.GL_QUADS, format);
+			do {
+				this.collections.get(idx).renderMotes(buffer, entityIn, partialTicks, rotX, rotZ, rotYZ, rotXY,
+						rotXZ);
+				idx++;
+			} while (idx < this.collections.size() && sameBatch(this.collections.get(idx), state, texture, format));
+			buffer.finishDrawing();
+			uploader.draw(buffer);
+		}
+
+		OpenGlState.pop(glState);
+	}
+
+	@Override
+	public int getFXLayer() {
+		return 3;
+	}
+}
@@ -28,9 +28,7 @@ import javax.annotation.Nonnull;
 
 import org.blockartistry.DynSurround.DSurround;
 import org.blockartistry.DynSurround.ModOptions;
-import org.blockartistry.lib.gfx.OpenGlUtil;
 
-import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
@@ -74,17 +72,15 @@ public class ParticleCollectionRipples extends ParticleCollection {
 	}
 
 	@Override
-	protected void bindTexture(@Nonnull final ResourceLocation resource) {
-		final ResourceLocation res = Style.getStyle(ModOptions.rain.rainRippleStyle).getTexture();
-		super.bindTexture(res);
+	@Nonnull
+	public ResourceLocation getTexture() {
+		return Style.getStyle(ModOptions.rain.rainRippleStyle).getTexture();
 	}
 
 	@Override
-	protected void preRender() {
-		super.preRender();
-		GlStateManager.enableDepth();
-		OpenGlUtil.setStandardBlend();
-		GlStateManager.depthMask(false);
+	@Nonnull
+	public RenderState getRenderState() {
+		return RenderState.TRANSLUCENT_DEPTH;
 	}
 
 	public static final ICollectionFactory FACTORY = (world, texture) -> {
@@ -24,6 +24,10 @@
 
 package org.blockartistry.DynSurround.client.fx.particle.system;
 
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.client.fx.ParticlePools;
+
 import net.minecraft.client.particle.IParticleFactory;
 import net.minecraft.client.particle.Particle;
 import net.minecraft.client.particle.ParticleBubble;
@@ -35,12 +39,29 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class ParticleBubbleJet extends ParticleJet {
 
+	private static final int POOL_SIZE = 32;
+	private static final IParticleFactory BUBBLE = new ParticleBubble.Factory();
+
+	static {
+		ParticlePools.register(ParticleBubbleJet.class, POOL_SIZE);
+	}
+
+	@Nonnull
+	public static ParticleBubbleJet create(final int strength, final World world, final double x, final double y,
+			final double z) {
+		final ParticleBubbleJet jet = ParticlePools.acquire(ParticleBubbleJet.class);
+		if (jet == null)
+			return new ParticleBubbleJet(strength, world, x, y, z);
+		jet.resetJet(strength, world, x, y, z);
+		return jet;
+	}
+
 	protected final IParticleFactory factory;
 
 	public ParticleBubbleJet(final int strength, final World world, final double x, final double y, final double z) {
 		super(strength, world, x, y, z);
 
-		this.factory = new ParticleBubble.Factory();
+		this.factory = BUBBLE;
 	}
 
 	@Override
@@ -24,6 +24,9 @@
 
 package org.blockartistry.DynSurround.client.fx.particle.system;
 
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.client.fx.ParticlePools;
 import org.blockartistry.DynSurround.client.fx.particle.ParticleDust;
 
 import net.minecraft.block.state.IBlockState;
@@ -35,7 +38,24 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class ParticleDustJet extends ParticleJet {
 
-	protected final IBlockState blockState;
+	private static final int POOL_SIZE = 32;
+
+	static {
+		ParticlePools.register(ParticleDustJet.class, POOL_SIZE);
+	}
+
+	@Nonnull
+	public static ParticleDustJet create(final int strength, final World world, final double x, final double y,
+			final double z, final IBlockState state) {
+		final ParticleDustJet jet = ParticlePools.acquire(ParticleDustJet.class);
+		if (jet == null)
+			return new ParticleDustJet(strength, world, x, y, z, state);
+		jet.resetJet(strength, world, x, y, z);
+		jet.blockState = state;
+		return jet;
+	}
+
+	protected IBlockState blockState;
 
 	public ParticleDustJet(final int strength, final World world, final double x, final double y, final double z,
 			final IBlockState state) {
@@ -24,6 +24,9 @@
 
 package org.blockartistry.DynSurround.client.fx.particle.system;
 
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.client.fx.ParticlePools;
 import org.blockartistry.DynSurround.client.handlers.SoundEffectHandler;
 import org.blockartistry.DynSurround.client.sound.Sounds;
 
@@ -39,21 +42,42 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class ParticleFireJet extends ParticleJet {
 
-	protected final boolean isLava;
-	protected final IParticleFactory factory;
-	protected final int particleId;
+	private static final int POOL_SIZE = 64;
+	private static final IParticleFactory LAVA = new ParticleLava.Factory();
+	private static final IParticleFactory FLAME = new ParticleFlame.Factory();
+
+	static {
+		ParticlePools.register(ParticleFireJet.class, POOL_SIZE);
+	}
+
+	@Nonnull
+	public static ParticleFireJet create(final int strength, final World world, final double x, final double y,
+			final double z) {
+		final ParticleFireJet jet = ParticlePools.acquire(ParticleFireJet.class);
+		if (jet == null)
+			return new ParticleFireJet(strength, world, x, y, z);
+		jet.resetJet(strength, world, x, y, z);
+		jet.setup();
+		return jet;
+	}
+
+	protected boolean isLava;
+	protected IParticleFactory factory;
+	protected int particleId;
 	protected boolean soundFired;
 
 	public ParticleFireJet(final int strength, final World world, final double x, final double y, final double z) {
 		super(strength, world, x, y, z);
+		setup();
+	}
+
+	private void setup() {
 		this.isLava = RANDOM.nextInt(3) == 0;
 
 		this.particleId = this.isLava ? EnumParticleTypes.LAVA.getParticleID()
 				: EnumParticleTypes.FLAME.getParticleID();
-		if (this.isLava)
-			this.factory = new ParticleLava.Factory();
-		else
-			this.factory = new ParticleFlame.Factory();
+		this.factory = this.isLava ? LAVA : FLAME;
+		this.soundFired = false;
 	}
 
 	@Override
@@ -24,6 +24,9 @@
 
 package org.blockartistry.DynSurround.client.fx.particle.system;
 
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.client.fx.ParticlePools;
 import org.blockartistry.DynSurround.client.fx.particle.ParticleFountain;
 
 import net.minecraft.block.state.IBlockState;
@@ -35,7 +38,24 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class ParticleFountainJet extends ParticleJet {
 
-	protected final IBlockState block;
+	private static final int POOL_SIZE = 32;
+
+	static {
+		ParticlePools.register(ParticleFountainJet.class, POOL_SIZE);
+	}
+
+	@Nonnull
+	public static ParticleFountainJet create(final int strength, final World world, final double x, final double y,
+			final double z, final IBlockState block) {
+		final ParticleFountainJet jet = ParticlePools.acquire(ParticleFountainJet.class);
+		if (jet == null)
+			return new ParticleFountainJet(strength, world, x, y, z, block);
+		jet.resetJet(strength, world, x, y, z);
+		jet.block = block;
+		return jet;
+	}
+
+	protected IBlockState block;
 
 	public ParticleFountainJet(final int strength, final World world, final double x, final double y, final double z,
 			final IBlockState block) {
@@ -36,10 +36,10 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public abstract class ParticleJet extends ParticleSystem {
 
-	protected final int jetStrength;
+	protected int jetStrength;
 	protected final int updateFrequency;
 
-	protected final int particleMaxAge;
+	protected int particleMaxAge;
 	protected int particleAge;
 
 	public ParticleJet(final int strength, final World world, final double x, final double y, final double z) {
@@ -50,9 +50,24 @@ public abstract class ParticleJet extends ParticleSystem {
 			final double z, final int freq) {
 		super(world, x, y, z);
 
-		this.jetStrength = strength;
 		this.updateFrequency = freq;
+		setStrength(strength);
+	}
+
+	/*
+	 * Reinitializes a jet taken from one of the ParticlePools. The update
+	 * frequency is fixed by the type of jet so it carries over.
+	 */
+	protected final void resetJet(final int strength, final World world, final double x, final double y,
+			final double z) {
+		resetSystem(world, x, y, z);
+		setStrength(strength);
+	}
+
+	private void setStrength(final int strength) {
+		this.jetStrength = strength;
 		this.particleMaxAge = (RANDOM.nextInt(strength) + 2) * 20;
+		this.particleAge = 0;
 	}
 
 	/*
@@ -24,6 +24,9 @@
 
 package org.blockartistry.DynSurround.client.fx.particle.system;
 
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.client.fx.ParticlePools;
 import org.blockartistry.DynSurround.client.fx.SteamJetEffect;
 import org.blockartistry.DynSurround.client.fx.particle.ParticleSteamCloud;
 import org.blockartistry.lib.WorldUtils;
@@ -36,6 +39,22 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class ParticleSteamJet extends ParticleJet {
 
+	private static final int POOL_SIZE = 64;
+
+	static {
+		ParticlePools.register(ParticleSteamJet.class, POOL_SIZE);
+	}
+
+	@Nonnull
+	public static ParticleSteamJet create(final int strength, final World world, final double x, final double y,
+			final double z) {
+		final ParticleSteamJet jet = ParticlePools.acquire(ParticleSteamJet.class);
+		if (jet == null)
+			return new ParticleSteamJet(strength, world, x, y, z);
+		jet.resetJet(strength, world, x, y, z);
+		return jet;
+	}
+
 	public ParticleSteamJet(final int strength, final World world, final double x, final double y, final double z) {
 		super(strength, world, x, y, z);
 	}
@@ -28,6 +28,7 @@ import java.util.Random;
 
 import javax.annotation.Nonnull;
 
+import org.blockartistry.lib.collections.ObjectPool.IPoolable;
 import org.blockartistry.lib.gfx.ParticleHelper;
 import org.blockartistry.lib.random.XorShiftRandom;
 
@@ -40,24 +41,44 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 @SideOnly(Side.CLIENT)
-public abstract class ParticleSystem {
+public abstract class ParticleSystem implements IPoolable {
 
 	protected static final Random RANDOM = XorShiftRandom.current();
 	protected static final GameSettings SETTINGS = Minecraft.getMinecraft().gameSettings;
 
-	protected final World world;
-	protected final double posX;
-	protected final double posY;
-	protected final double posZ;
-	protected final BlockPos position;
+	protected World world;
+	protected double posX;
+	protected double posY;
+	protected double posZ;
+	protected BlockPos position;
 	private boolean isAlive = true;
 
 	protected ParticleSystem(final World worldIn, final double posXIn, final double posYIn, final double posZIn) {
+		resetSystem(worldIn, posXIn, posYIn, posZIn);
+	}
+
+	/*
+	 * Reinitializes the base state of a system taken from one of the
+	 * ParticlePools. Derived classes reset their own state in their factory
+	 * method after calling this.
+	 */
+	protected final void resetSystem(final World worldIn, final double posXIn, final double posYIn,
+			final double posZIn) {
 		this.world = worldIn;
 		this.posX = posXIn;
 		this.posY = posYIn;
 		this.posZ = posZIn;
 		this.position = new BlockPos(posXIn, posYIn, posZIn);
+		this.isAlive = true;
+	}
+
+	/*
+	 * Invoked when a dead system is handed back to its pool. Drop references to
+	 * anything that should not be kept alive by an idle system.
+	 */
+	@Override
+	public void onRelease() {
+		this.world = null;
 	}
 
 	@Nonnull
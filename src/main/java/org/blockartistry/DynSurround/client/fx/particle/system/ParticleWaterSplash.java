@@ -24,7 +24,10 @@
 
 package org.blockartistry.DynSurround.client.fx.particle.system;
 
+import javax.annotation.Nonnull;
+
 import org.blockartistry.DynSurround.client.fx.ParticleCollections;
+import org.blockartistry.DynSurround.client.fx.ParticlePools;
 import org.blockartistry.DynSurround.client.fx.WaterSplashJetEffect;
 import org.blockartistry.DynSurround.client.fx.particle.mote.IParticleMote;
 import org.blockartistry.DynSurround.client.sound.PositionedEmitter;
@@ -58,7 +61,26 @@ public class ParticleWaterSplash extends ParticleJet {
 
 	private static final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
 
-	private final BlockPos location;
+	// Waterfalls come and go by the dozen as the player moves about
+	private static final int POOL_SIZE = 128;
+
+	static {
+		ParticlePools.register(ParticleWaterSplash.class, POOL_SIZE);
+	}
+
+	@Nonnull
+	public static ParticleWaterSplash create(final int strength, final World world, final BlockPos loc,
+			final double x, final double y, final double z) {
+		final ParticleWaterSplash jet = ParticlePools.acquire(ParticleWaterSplash.class);
+		if (jet == null)
+			return new ParticleWaterSplash(strength, world, loc, x, y, z);
+		jet.resetJet(strength, world, x, y, z);
+		jet.location = loc.toImmutable();
+		jet.setSpawnCount((int) (strength * 2.5F));
+		return jet;
+	}
+
+	private BlockPos location;
 	private PositionedEmitter emitter;
 	protected int particleLimit;
 
@@ -114,6 +136,12 @@ public class ParticleWaterSplash extends ParticleJet {
 		super.cleanUp();
 	}
 
+	@Override
+	public void onRelease() {
+		this.emitter = null;
+		super.onRelease();
+	}
+
 	// Entity.resetHeight()
 	@Override
 	protected void spawnJetParticle() {
@@ -27,10 +27,14 @@ package org.blockartistry.DynSurround.client.handlers;
 import javax.annotation.Nonnull;
 
 import org.blockartistry.DynSurround.ModOptions;
-import org.blockartistry.DynSurround.client.handlers.scanners.AlwaysOnBlockEffectScanner;
+import org.blockartistry.DynSurround.client.handlers.scanners.AlwaysOnBlockEffectIndex;
 import org.blockartistry.DynSurround.client.handlers.scanners.BiomeScanner;
 import org.blockartistry.DynSurround.client.handlers.scanners.ClientPlayerLocus;
 import org.blockartistry.DynSurround.client.handlers.scanners.RandomBlockEffectScanner;
+import org.blockartistry.lib.math.TimerEMA;
+import org.blockartistry.lib.profiler.ProfileTimer;
+import org.blockartistry.lib.scanner.ScanBudget;
+import org.blockartistry.lib.scanner.Scanner;
 
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraftforge.common.MinecraftForge;
@@ -45,23 +49,56 @@ public final class AreaBlockEffectsHandler extends EffectHandlerBase {
 			RandomBlockEffectScanner.NEAR_RANGE);
 	protected final RandomBlockEffectScanner farEffects = new RandomBlockEffectScanner(this.locus,
 			RandomBlockEffectScanner.FAR_RANGE);
-	protected final AlwaysOnBlockEffectScanner alwaysOn = new AlwaysOnBlockEffectScanner(this.locus,
+	protected final AlwaysOnBlockEffectIndex alwaysOn = new AlwaysOnBlockEffectIndex(this.locus,
 			ModOptions.general.specialEffectRange);
 	protected final BiomeScanner biomes = new BiomeScanner();
 
+	private final TimerEMA nearTimer = new ProfileTimer("Near Effect Scan");
+	private final TimerEMA farTimer = new ProfileTimer("Far Effect Scan");
+	private final TimerEMA alwaysOnTimer = new ProfileTimer("Always On Scan");
+
 	public AreaBlockEffectsHandler() {
 		super("Area Block Effects");
 	}
 
 	@Override
 	public void process(@Nonnull final EntityPlayer player) {
+		long mark = System.nanoTime();
 		this.nearEffects.update();
+		long now = System.nanoTime();
+		this.nearTimer.update(now - mark);
+		this.nearEffects.recordScanTime(now - mark);
+
+		mark = now;
 		this.farEffects.update();
+		now = System.nanoTime();
+		this.farTimer.update(now - mark);
+		this.farEffects.recordScanTime(now - mark);
+
+		mark = now;
 		this.alwaysOn.update();
+		this.alwaysOnTimer.update(System.nanoTime() - mark);
+	}
+
+	private static void attachBudget(@Nonnull final Scanner scanner) {
+		if (ModOptions.general.enableAdaptiveScanBudget) {
+			final int initial = scanner.getBudget() != null ? scanner.getBudget().get() : scanner.getBlocksPerTick();
+			scanner.setBudget(new ScanBudget(initial, ModOptions.general.scanMinBlocks,
+					ModOptions.general.scanMaxBlocks, ModOptions.general.scanTimeTarget));
+		} else {
+			scanner.setBudget(null);
+		}
 	}
 
 	@Override
 	public void onConnect() {
+		final DiagnosticHandler diag = EffectManager.instance().lookupService(DiagnosticHandler.class);
+		diag.addTimer(this.nearTimer);
+		diag.addTimer(this.farTimer);
+		diag.addTimer(this.alwaysOnTimer);
+		attachBudget(this.nearEffects);
+		attachBudget(this.farEffects);
+		this.alwaysOn.clear();
 		MinecraftForge.EVENT_BUS.register(this.alwaysOn);
 	}
 
@@ -38,6 +38,7 @@ import org.blockartistry.DynSurround.client.shader.Shaders;
 import org.blockartistry.DynSurround.event.DiagnosticEvent;
 import org.blockartistry.lib.DiurnalUtils;
 import org.blockartistry.lib.math.TimerEMA;
+import org.blockartistry.lib.profiler.ProfileTimer;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.player.EntityPlayer;
@@ -56,7 +57,7 @@ public final class AuroraEffectHandler extends EffectHandlerBase {
 	private IAurora current;
 	private int dimensionId;
 
-	private final TimerEMA timer = new TimerEMA("Aurora Render");
+	private final TimerEMA timer = ProfileTimer.accumulated("Aurora Render");
 	private long nanos;
 
 	public AuroraEffectHandler() {
@@ -33,13 +33,20 @@ import javax.annotation.Nonnull;
 import org.blockartistry.DynSurround.DSurround;
 import org.blockartistry.DynSurround.ModOptions;
 import org.blockartistry.DynSurround.client.ClientChunkCache;
+import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.blockartistry.DynSurround.client.handlers.trace.TraceParticleManager;
 import org.blockartistry.DynSurround.client.sound.SoundEngine;
 import org.blockartistry.DynSurround.client.swing.DiagnosticPanel;
 import org.blockartistry.DynSurround.event.DiagnosticEvent;
 import org.blockartistry.DynSurround.event.ServerDataEvent;
+import org.blockartistry.DynSurround.network.Network;
+import org.blockartistry.DynSurround.network.PacketServerDataSubscribe;
+import org.blockartistry.DynSurround.registry.RegistryManager;
 import org.blockartistry.lib.math.MathStuff;
 import org.blockartistry.lib.math.TimerEMA;
+import org.blockartistry.lib.profiler.AllocationEMA;
+import org.blockartistry.lib.profiler.AllocationTracker;
+import org.blockartistry.lib.profiler.ProfileTimer;
 
 import com.google.common.collect.ImmutableList;
 
@@ -67,6 +74,9 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class DiagnosticHandler extends EffectHandlerBase {
 
+	// Ticks without server data before the subscription is requested again
+	private static final int RESUBSCRIBE_TICKS = 100;
+
 	// Diagnostic strings to display in the debug HUD
 	private List<String> diagnostics = ImmutableList.of();
 
@@ -74,12 +84,18 @@ public class DiagnosticHandler extends EffectHandlerBase {
 	private List<String> serverDataReport = ImmutableList.of();
 
 	private final List<TimerEMA> timers = new ArrayList<>();
-	private final TimerEMA clientTick = new TimerEMA("Client Tick");
+	private final List<AllocationEMA> allocations = new ArrayList<>();
+	private final TimerEMA clientTick = new ProfileTimer("Client Tick");
 	private final TimerEMA lastTick = new TimerEMA("Last Tick");
 	private long timeMark;
 	private long lastTickMark = -1;
 	private float tps = 0;
 
+	// Server data subscription state
+	private boolean subscribed;
+	private int subscribeTick;
+	private int serverDataTick;
+
 	public DiagnosticHandler() {
 		super("Diagnostics");
 	}
@@ -88,6 +104,10 @@ public class DiagnosticHandler extends EffectHandlerBase {
 		this.timers.add(timer);
 	}
 
+	public void addAllocations(@Nonnull final AllocationEMA allocation) {
+		this.allocations.add(allocation);
+	}
+
 	@Override
 	public void process(@Nonnull final EntityPlayer player) {
 		// Gather diagnostics if needed
@@ -104,6 +124,8 @@ public class DiagnosticHandler extends EffectHandlerBase {
 			this.diagnostics = null;
 		}
 
+		updateSubscription(Minecraft.getMinecraft().gameSettings.showDebugInfo);
+
 		if (ModOptions.logging.showDebugDialog)
 			DiagnosticPanel.refresh();
 
@@ -117,10 +139,38 @@ public class DiagnosticHandler extends EffectHandlerBase {
 
 	}
 
+	/**
+	 * The server only sends performance data to players that ask for it. Ask
+	 * while the debug overlay is open, and ask again if nothing shows up for a
+	 * while since the server may have turned the request away.
+	 */
+	private void updateSubscription(final boolean overlay) {
+		if (!DSurround.isInstalledOnServer())
+			return;
+
+		final int tick = EnvironState.getTickCounter();
+		if (overlay) {
+			if (!this.subscribed || (tick - this.serverDataTick > RESUBSCRIBE_TICKS
+					&& tick - this.subscribeTick > RESUBSCRIBE_TICKS)) {
+				Network.sendToServer(new PacketServerDataSubscribe(true));
+				this.subscribed = true;
+				this.subscribeTick = tick;
+			}
+		} else if (this.subscribed) {
+			Network.sendToServer(new PacketServerDataSubscribe(false));
+			this.subscribed = false;
+			this.serverDataReport = null;
+		}
+	}
+
 	@Override
 	public void onConnect() {
 		this.diagnostics = null;
 		this.serverDataReport = null;
+		this.subscribed = false;
+
+		addTimer(RegistryManager.get().getReloadTimer());
+		addTimer(SoundEngine.instance().getTimer());
 
 		if (ModOptions.logging.showDebugDialog)
 			DiagnosticPanel.create();
@@ -130,11 +180,13 @@ public class DiagnosticHandler extends EffectHandlerBase {
 	public void onDisconnect() {
 		this.diagnostics = null;
 		this.serverDataReport = null;
+		this.subscribed = false;
 
 		if (ModOptions.logging.showDebugDialog)
 			DiagnosticPanel.destroy();
 
 		this.timers.clear();
+		this.allocations.clear();
 	}
 
 	@SubscribeEvent(priority = EventPriority.HIGHEST)
@@ -190,6 +242,11 @@ public class DiagnosticHandler extends EffectHandlerBase {
 				event.getRight().add(TextFormatting.GREEN + ClientChunkCache.timing.toString());
 				for (final TimerEMA timer : this.timers)
 					event.getRight().add(TextFormatting.AQUA + timer.toString());
+				if (AllocationTracker.isSupported()) {
+					event.getRight().add(" ");
+					for (final AllocationEMA alloc : this.allocations)
+						event.getRight().add(TextFormatting.YELLOW + alloc.toString());
+				}
 			}
 
 			if (this.serverDataReport != null) {
@@ -229,6 +286,7 @@ public class DiagnosticHandler extends EffectHandlerBase {
 
 		Collections.sort(data.subList(4, data.size()));
 		this.serverDataReport = data;
+		this.serverDataTick = EnvironState.getTickCounter();
 	}
 
 }
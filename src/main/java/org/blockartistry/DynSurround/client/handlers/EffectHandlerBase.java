@@ -29,6 +29,8 @@ import java.util.Random;
 import javax.annotation.Nonnull;
 
 import org.blockartistry.lib.math.TimerEMA;
+import org.blockartistry.lib.profiler.AllocationEMA;
+import org.blockartistry.lib.profiler.ProfileTimer;
 import org.blockartistry.lib.random.XorShiftRandom;
 
 import com.google.common.base.MoreObjects;
@@ -43,12 +45,14 @@ public abstract class EffectHandlerBase {
 
 	protected final Random RANDOM = XorShiftRandom.current();
 	private final TimerEMA timer;
+	private final AllocationEMA allocations;
 
 	private final String handlerName;
 
 	EffectHandlerBase(@Nonnull final String name) {
 		this.handlerName = name;
-		this.timer = new TimerEMA(name);
+		this.timer = new ProfileTimer(name);
+		this.allocations = new AllocationEMA(name);
 	}
 
 	/**
@@ -103,8 +107,14 @@ public abstract class EffectHandlerBase {
 		this.timer.update(nanos);
 	}
 
+	final void updateAllocations(final long bytes) {
+		this.allocations.update(bytes);
+	}
+
 	final void connect0() {
-		((DiagnosticHandler) EffectManager.instance().lookupService(DiagnosticHandler.class)).addTimer(this.timer);
+		final DiagnosticHandler diag = EffectManager.instance().lookupService(DiagnosticHandler.class);
+		diag.addTimer(this.timer);
+		diag.addAllocations(this.allocations);
 		onConnect();
 		MinecraftForge.EVENT_BUS.register(this);
 	}
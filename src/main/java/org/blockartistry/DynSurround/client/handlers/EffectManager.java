@@ -35,6 +35,8 @@ import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.Environ
 import org.blockartistry.lib.collections.ObjectArray;
 import org.blockartistry.lib.compat.EntityLivingBaseUtil;
 import org.blockartistry.lib.math.TimerEMA;
+import org.blockartistry.lib.profiler.AllocationTracker;
+import org.blockartistry.lib.profiler.ProfileTimer;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.player.EntityPlayer;
@@ -57,7 +59,7 @@ public class EffectManager {
 
 	private final ObjectArray<EffectHandlerBase> effectHandlers = new ObjectArray<>();
 	private final Map<Class<? extends EffectHandlerBase>, EffectHandlerBase> services = new IdentityHashMap<>();
-	private final TimerEMA computeTime = new TimerEMA("Processing");
+	private final TimerEMA computeTime = new ProfileTimer("Processing");
 
 	private EffectManager() {
 		init();
@@ -166,12 +168,20 @@ public class EffectManager {
 
 		final int tick = EnvironState.getTickCounter();
 
+		// Allocation sampling costs a JMX call on each side of a handler so it is
+		// only done when the numbers are going to be displayed.
+		final boolean sampleAllocations = ModOptions.logging.enableDebugLogging
+				&& AllocationTracker.isSupported();
+
 		for (int i = 0; i < this.effectHandlers.size(); i++) {
 			final EffectHandlerBase handler = this.effectHandlers.get(i);
+			final long bytes = sampleAllocations ? AllocationTracker.getAllocatedBytes() : 0;
 			final long mark = System.nanoTime();
 			if (handler.doTick(tick))
 				handler.process(getPlayer());
 			handler.updateTimer(System.nanoTime() - mark);
+			if (sampleAllocations)
+				handler.updateAllocations(AllocationTracker.getAllocatedBytes() - bytes);
 		}
 
 		this.computeTime.update(System.nanoTime() - start);
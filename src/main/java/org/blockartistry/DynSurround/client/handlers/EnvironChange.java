@@ -0,0 +1,58 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.handlers;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Flags identifying which parts of the player environment changed during a
+ * client tick. EnvironState only recomputes the parts whose inputs changed and
+ * reports them here so consumers can skip work that depends on parts that did
+ * not.
+ */
+@SideOnly(Side.CLIENT)
+public final class EnvironChange {
+
+	// World or player entity changed (login, respawn, dimension travel)
+	public static final int DIMENSION = 1 << 0;
+	// Player moved to a different block
+	public static final int POSITION = 1 << 1;
+	// Effective or true biome changed
+	public static final int BIOME = 1 << 2;
+	public static final int SEASON = 1 << 3;
+	// Player/biome temperature rating or the freezing state changed
+	public static final int TEMPERATURE = 1 << 4;
+	public static final int ARMOR = 1 << 5;
+	public static final int LIGHT = 1 << 6;
+	public static final int INSIDE = 1 << 7;
+	public static final int VILLAGE = 1 << 8;
+
+	public static final int ALL = (1 << 9) - 1;
+
+	private EnvironChange() {
+
+	}
+}
@@ -36,8 +36,10 @@ import org.blockartistry.DynSurround.client.ClientRegistry;
 import org.blockartistry.DynSurround.client.handlers.scanners.BattleScanner;
 import org.blockartistry.DynSurround.client.handlers.scanners.CeilingCoverage;
 import org.blockartistry.DynSurround.client.weather.Weather;
+import org.blockartistry.DynSurround.event.BlockUpdateEvent;
 import org.blockartistry.DynSurround.event.DiagnosticEvent;
 import org.blockartistry.DynSurround.event.EnvironmentEvent;
+import org.blockartistry.DynSurround.event.ReloadEvent;
 import org.blockartistry.DynSurround.expression.ExpressionEngine;
 import org.blockartistry.DynSurround.registry.ArmorClass;
 import org.blockartistry.DynSurround.registry.BiomeInfo;
@@ -48,7 +50,10 @@ import org.blockartistry.DynSurround.registry.SeasonType;
 import org.blockartistry.DynSurround.registry.TemperatureRating;
 import org.blockartistry.DynSurround.registry.season.SeasonInfo;
 import org.blockartistry.lib.MinecraftClock;
+import org.blockartistry.lib.math.MathStuff;
+import org.blockartistry.lib.task.TimingWheel;
 
+import net.minecraft.block.material.Material;
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
@@ -94,13 +99,27 @@ public class EnvironStateHandler extends EffectHandlerBase {
 		private static int lightLevel;
 		private static int tickCounter;
 
+		// Inputs the derived state was last computed from. Parts are only
+		// recomputed when the inputs they depend on change.
+		private static final int SEASON_BUCKET_TICKS = 20;
+		private static final int LIGHT_REFRESH_TICKS = 10;
+		private static World lastWorld;
+		private static EntityPlayer lastPlayer;
+		private static boolean lastInWater;
+		private static long lastSeasonBucket;
+		private static int lastInventoryChange;
+		private static int lastLightTick;
+
+		private static int changes;
+		// Changes raised between ticks, such as village status from the server
+		private static int pendingChanges;
+
 		private static MinecraftClock clock = new MinecraftClock();
 		private static BattleScanner battle = new BattleScanner();
 
-		private static BlockPos getPlayerPos() {
-			final EntityPlayer player = getPlayer();
-			return new BlockPos(player.posX, player.getEntityBoundingBox().minY, player.posZ);
-		}
+		// Client tick driven timers. Advanced with the tick counter so anything
+		// scheduled on it pauses along with the game.
+		private static final TimingWheel timers = new TimingWheel(256);
 
 		private static void reset() {
 			final BiomeInfo WTF = ClientRegistry.BIOME.WTF_INFO;
@@ -126,48 +145,133 @@ public class EnvironStateHandler extends EffectHandlerBase {
 			isInClouds = false;
 			lightLevel = 0;
 			tickCounter = 1;
+			timers.reset(tickCounter);
 			clock = new MinecraftClock();
 			battle = new BattleScanner();
+			invalidate();
+		}
+
+		// Forces everything to be recomputed on the next tick
+		private static void invalidate() {
+			lastWorld = null;
+			lastPlayer = null;
+			lastLightTick = tickCounter - LIGHT_REFRESH_TICKS;
+			pendingChanges = EnvironChange.ALL;
 		}
 
 		private static void tick(final World world, final EntityPlayer player) {
 
 			final BiomeRegistry biomes = ClientRegistry.BIOME;
-			final SeasonInfo season = ClientRegistry.SEASON.getData(getWorld());
-			final DimensionRegistry dimensions = ClientRegistry.DIMENSION;
+			final SeasonInfo seasonInfo = ClientRegistry.SEASON.getData(world);
 			final EnvironStateHandler stateHandler = EffectManager.instance().lookupService(EnvironStateHandler.class);
 			if (stateHandler == null)
 				DSurround.log().warn("Null EnvironStateHandler in EnvironState.tick()");
 
-			EnvironState.dimInfo = dimensions.getData(player.getEntityWorld());
-			EnvironState.clock.update(getWorld());
-			EnvironState.playerBiome = biomes.getPlayerBiome(player, false);
-			EnvironState.biomeName = EnvironState.playerBiome.getBiomeName();
-			EnvironState.season = season.getSeasonType(world);
-			EnvironState.dimensionId = world.provider.getDimension();
-			EnvironState.dimensionName = world.provider.getDimensionType().getName();
-			EnvironState.playerPosition = getPlayerPos();
-			EnvironState.inside = stateHandler == null ? false : stateHandler.isReallyInside();
-
-			EnvironState.truePlayerBiome = biomes.getPlayerBiome(player, true);
-			EnvironState.freezing = EnvironState.truePlayerBiome
-					.getFloatTemperature(EnvironState.playerPosition) < 0.15F;
-			EnvironState.playerTemperature = season.getPlayerTemperature(world);
-			EnvironState.biomeTemperature = season.getBiomeTemperature(world, getPlayerPosition());
-			EnvironState.humid = EnvironState.truePlayerBiome.isHighHumidity();
-			EnvironState.dry = EnvironState.truePlayerBiome.getRainfall() < 0.2F;
-
-			EnvironState.armorClass = ArmorClass.effectiveArmorClass(player);
-			EnvironState.footArmorClass = ArmorClass.footArmorClass(player);
-
-			EnvironState.isUnderground = EnvironState.playerBiome == biomes.UNDERGROUND_INFO;
-			EnvironState.isInSpace = EnvironState.playerBiome == biomes.OUTERSPACE_INFO;
-			EnvironState.isInClouds = EnvironState.playerBiome == biomes.CLOUDS_INFO;
-
-			final BlockPos pos = EnvironState.getPlayerPosition();
-			final int blockLight = world.getLightFor(EnumSkyBlock.BLOCK, pos);
-			final int skyLight = world.getLightFor(EnumSkyBlock.SKY, pos) - world.calculateSkylightSubtracted(1.0F);
-			EnvironState.lightLevel = Math.max(blockLight, skyLight);
+			int changed = EnvironState.pendingChanges;
+			EnvironState.pendingChanges = 0;
+
+			EnvironState.clock.update(world);
+
+			// A new world or player entity means login, respawn or dimension travel
+			if (world != EnvironState.lastWorld || player != EnvironState.lastPlayer) {
+				final DimensionRegistry dimensions = ClientRegistry.DIMENSION;
+				EnvironState.lastWorld = world;
+				EnvironState.lastPlayer = player;
+				EnvironState.lastInventoryChange = -1;
+				EnvironState.lastSeasonBucket = Long.MIN_VALUE;
+				EnvironState.dimInfo = dimensions.getData(world);
+				EnvironState.dimensionId = world.provider.getDimension();
+				EnvironState.dimensionName = world.provider.getDimensionType().getName();
+				changed |= EnvironChange.DIMENSION;
+			}
+
+			final int x = MathStuff.floor(player.posX);
+			final int y = MathStuff.floor(player.getEntityBoundingBox().minY);
+			final int z = MathStuff.floor(player.posZ);
+			final BlockPos last = EnvironState.playerPosition;
+			if ((changed & EnvironChange.DIMENSION) != 0 || x != last.getX() || y != last.getY()
+					|| z != last.getZ()) {
+				EnvironState.playerPosition = new BlockPos(x, y, z);
+				changed |= EnvironChange.POSITION;
+			}
+
+			// Biome depends on the column, the height bands of the dimension, and
+			// whether the player is under water
+			final boolean inWater = player.isInsideOfMaterial(Material.WATER);
+			if ((changed & EnvironChange.POSITION) != 0 || inWater != EnvironState.lastInWater) {
+				EnvironState.lastInWater = inWater;
+				final BiomeInfo trueBiome = biomes.get(world.getBiome(EnvironState.playerPosition));
+				final BiomeInfo biome = biomes.getPlayerBiome(player, trueBiome);
+				if (trueBiome != EnvironState.truePlayerBiome || biome != EnvironState.playerBiome) {
+					EnvironState.truePlayerBiome = trueBiome;
+					EnvironState.playerBiome = biome;
+					EnvironState.biomeName = biome.getBiomeName();
+					EnvironState.humid = trueBiome.isHighHumidity();
+					EnvironState.dry = trueBiome.getRainfall() < 0.2F;
+					EnvironState.isUnderground = biome == biomes.UNDERGROUND_INFO;
+					EnvironState.isInSpace = biome == biomes.OUTERSPACE_INFO;
+					EnvironState.isInClouds = biome == biomes.CLOUDS_INFO;
+					changed |= EnvironChange.BIOME;
+				}
+			}
+
+			final long seasonBucket = world.getTotalWorldTime() / SEASON_BUCKET_TICKS;
+			final boolean newBucket = seasonBucket != EnvironState.lastSeasonBucket;
+			if (newBucket) {
+				EnvironState.lastSeasonBucket = seasonBucket;
+				final SeasonType s = seasonInfo.getSeasonType(world);
+				if (s != EnvironState.season) {
+					EnvironState.season = s;
+					changed |= EnvironChange.SEASON;
+				}
+			}
+
+			if (newBucket || (changed & (EnvironChange.POSITION | EnvironChange.BIOME)) != 0) {
+				final boolean freezing = EnvironState.truePlayerBiome
+						.getFloatTemperature(EnvironState.playerPosition) < 0.15F;
+				final TemperatureRating playerTemp = seasonInfo.getPlayerTemperature(world);
+				final TemperatureRating biomeTemp = seasonInfo.getBiomeTemperature(world, EnvironState.playerPosition);
+				if (freezing != EnvironState.freezing || playerTemp != EnvironState.playerTemperature
+						|| biomeTemp != EnvironState.biomeTemperature) {
+					EnvironState.freezing = freezing;
+					EnvironState.playerTemperature = playerTemp;
+					EnvironState.biomeTemperature = biomeTemp;
+					changed |= EnvironChange.TEMPERATURE;
+				}
+			}
+
+			final int inventoryChange = player.inventory.getTimesChanged();
+			if (inventoryChange != EnvironState.lastInventoryChange) {
+				EnvironState.lastInventoryChange = inventoryChange;
+				final ArmorClass armor = ArmorClass.effectiveArmorClass(player);
+				final ArmorClass feet = ArmorClass.footArmorClass(player);
+				if (armor != EnvironState.armorClass || feet != EnvironState.footArmorClass) {
+					EnvironState.armorClass = armor;
+					EnvironState.footArmorClass = feet;
+					changed |= EnvironChange.ARMOR;
+				}
+			}
+
+			// Light also drifts with time of day and nearby block changes, so it is
+			// refreshed periodically even when standing still
+			if ((changed & EnvironChange.POSITION) != 0
+					|| EnvironState.tickCounter - EnvironState.lastLightTick >= LIGHT_REFRESH_TICKS) {
+				EnvironState.lastLightTick = EnvironState.tickCounter;
+				final BlockPos pos = EnvironState.playerPosition;
+				final int blockLight = world.getLightFor(EnumSkyBlock.BLOCK, pos);
+				final int skyLight = world.getLightFor(EnumSkyBlock.SKY, pos) - world.calculateSkylightSubtracted(1.0F);
+				final int light = Math.max(blockLight, skyLight);
+				if (light != EnvironState.lightLevel) {
+					EnvironState.lightLevel = light;
+					changed |= EnvironChange.LIGHT;
+				}
+			}
+
+			final boolean inside = stateHandler == null ? false : stateHandler.isReallyInside();
+			if (inside != EnvironState.inside) {
+				EnvironState.inside = inside;
+				changed |= EnvironChange.INSIDE;
+			}
 
 			// Trigger the battle scanner
 			if (ModOptions.sound.enableBattleMusic)
@@ -175,8 +279,31 @@ public class EnvironStateHandler extends EffectHandlerBase {
 			else
 				EnvironState.battle.reset();
 
-			if (!Minecraft.getMinecraft().isGamePaused())
+			if (!Minecraft.getMinecraft().isGamePaused()) {
 				EnvironState.tickCounter++;
+				EnvironState.timers.advance(EnvironState.tickCounter);
+			}
+
+			EnvironState.changes = changed;
+		}
+
+		/**
+		 * The EnvironChange flags for what changed during the most recent tick.
+		 */
+		public static int getChanges() {
+			return changes;
+		}
+
+		/**
+		 * Indicates whether any of the specified EnvironChange flags changed
+		 * during the most recent tick.
+		 */
+		public static boolean hasChanged(final int mask) {
+			return (changes & mask) != 0;
+		}
+
+		public static TimingWheel getTimers() {
+			return EnvironState.timers;
 		}
 
 		public static MinecraftClock getClock() {
@@ -410,7 +537,21 @@ public class EnvironStateHandler extends EffectHandlerBase {
 
 	@SubscribeEvent
 	public void onEnvironmentEvent(@Nonnull final EnvironmentEvent event) {
-		EnvironState.inVillage = event.inVillage;
+		if (EnvironState.inVillage != event.inVillage) {
+			EnvironState.inVillage = event.inVillage;
+			EnvironState.pendingChanges |= EnvironChange.VILLAGE;
+		}
+	}
+
+	@SubscribeEvent
+	public void onBlockUpdate(@Nonnull final BlockUpdateEvent event) {
+		this.ceiling.invalidate(event.pos);
+	}
+
+	@SubscribeEvent
+	public void onRegistryReload(@Nonnull final ReloadEvent.Registry event) {
+		if (event.side == Side.CLIENT)
+			EnvironState.invalidate();
 	}
 
 	@Override
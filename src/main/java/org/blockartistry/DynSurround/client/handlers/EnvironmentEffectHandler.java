@@ -45,6 +45,7 @@ import org.blockartistry.DynSurround.registry.EffectRegistry;
 import org.blockartistry.DynSurround.registry.ThemeInfo;
 import org.blockartistry.lib.Color;
 import org.blockartistry.lib.math.TimerEMA;
+import org.blockartistry.lib.profiler.ProfileTimer;
 
 import net.minecraft.block.material.Material;
 import net.minecraft.client.renderer.GlStateManager;
@@ -60,7 +61,7 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class EnvironmentEffectHandler extends EffectHandlerBase {
 
-	private final TimerEMA timer = new TimerEMA("Fog Render");
+	private final TimerEMA timer = ProfileTimer.accumulated("Fog Render");
 	private long nanos;
 
 	private ThemeInfo theme;
@@ -147,7 +148,8 @@ public class EnvironmentEffectHandler extends EffectHandlerBase {
 
 	@SubscribeEvent
 	public void onConfigurationChanged(@Nonnull final ReloadEvent.Configuration event) {
-		setupTheme(EnvironState.getWorld());
+		if (event.affects(ModOptions.CATEGORY_FOG))
+			setupTheme(EnvironState.getWorld());
 	}
 
 	protected void setupTheme(@Nonnull final World world) {
@@ -57,6 +57,7 @@ import org.blockartistry.lib.effects.IParticleHelper;
 import org.blockartistry.lib.effects.ISoundHelper;
 import org.blockartistry.lib.gfx.ParticleHelper;
 import org.blockartistry.lib.math.TimerEMA;
+import org.blockartistry.lib.profiler.ProfileTimer;
 import org.blockartistry.lib.sound.ITrackedSound;
 
 import com.google.common.collect.ImmutableList;
@@ -110,7 +111,7 @@ public class FxHandler extends EffectHandlerBase {
 	private final Map<UUID, EntityEffectHandler> handlers = new HashMap<>(256);
 	private final EventEffectLibrary eventLibrary = new EventEffectLibrary(PARTICLE_HELPER, SOUND_HELPER);
 
-	private final TimerEMA compute = new TimerEMA("FxHandler Updates");
+	private final TimerEMA compute = ProfileTimer.accumulated("FxHandler Updates");
 	private long nanos;
 
 	private final ThreadGuard guard = new ThreadGuard(DSurround.log(), Side.CLIENT, "FxHandler")
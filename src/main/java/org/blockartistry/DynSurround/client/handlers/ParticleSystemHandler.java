@@ -27,6 +27,7 @@ package org.blockartistry.DynSurround.client.handlers;
 import javax.annotation.Nonnull;
 
 import org.blockartistry.DynSurround.ModOptions;
+import org.blockartistry.DynSurround.client.fx.ParticlePools;
 import org.blockartistry.DynSurround.client.fx.particle.system.ParticleSystem;
 import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.blockartistry.lib.BlockPosHelper;
@@ -63,7 +64,10 @@ public class ParticleSystemHandler extends EffectHandlerBase {
 			} else {
 				system.onUpdate();
 			}
-			return system.isAlive();
+			if (system.isAlive())
+				return true;
+			ParticlePools.release(system);
+			return false;
 		});
 	}
 
@@ -24,7 +24,10 @@
 
 package org.blockartistry.DynSurround.client.handlers;
 
-import java.util.Set;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.function.Predicate;
 
 import javax.annotation.Nonnull;
@@ -53,11 +56,8 @@ import org.blockartistry.lib.collections.ObjectArray;
 import org.blockartistry.lib.compat.PositionedSoundUtil;
 import org.blockartistry.lib.sound.SoundState;
 
-import com.google.common.collect.Sets;
-
 import gnu.trove.map.hash.THashMap;
 import gnu.trove.map.hash.TObjectFloatHashMap;
-import gnu.trove.map.hash.TObjectIntHashMap;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.audio.ISound;
@@ -112,11 +112,20 @@ public class SoundEffectHandler extends EffectHandlerBase {
 	}
 
 	private final THashMap<SoundEffect, Emitter> emitters = new THashMap<>();
-	private final THashMap<String, SoundEvent> replacements = new THashMap<>();
 	private final ObjectArray<PendingSound> pending = new ObjectArray<>();
 	private final ObjectArray<BasicSound<?>> sendToServer = new ObjectArray<>();
-	private final Set<String> soundsToBlock = Sets.newHashSet();
-	private final TObjectIntHashMap<String> soundCull = new TObjectIntHashMap<>();
+
+	// Filters for sounds coming through the vanilla hook, resolved at connect.
+	// Each filtered sound gets an ID that indexes the arrays below. Most sounds
+	// carry the ResourceLocation instance from the registry so the identity map
+	// usually answers; the name map covers sounds that build their own.
+	private final Map<ResourceLocation, Integer> filterIds = new IdentityHashMap<>();
+	private final Map<ResourceLocation, Integer> filterIdsByName = new HashMap<>();
+	private boolean[] blocked = new boolean[0];
+	private boolean[] culled = new boolean[0];
+	private int[] lastPlayed = new int[0];
+	private SoundEvent[] replacements = new SoundEvent[0];
+	private boolean thunderBlocked;
 
 	private SoundEffectHandler() {
 		super("Sound Effects");
@@ -135,25 +144,56 @@ public class SoundEffectHandler extends EffectHandlerBase {
 	@Override
 	public void onConnect() {
 		clearSounds();
-		this.soundsToBlock.clear();
-		this.soundCull.clear();
-		this.replacements.clear();
-		final Set<ResourceLocation> reg = SoundEngine.instance().getSoundRegistry().getKeys();
-		reg.forEach(resource -> {
-			final String rs = resource.toString();
-			if (ClientRegistry.SOUND.isSoundBlockedLogical(rs)) {
-				this.soundsToBlock.add(rs);
-			} else if (ClientRegistry.SOUND.isSoundCulled(rs)) {
-				this.soundCull.put(rs, -ModOptions.sound.soundCullingThreshold);
-			}
-		});
+		this.filterIds.clear();
+		this.filterIdsByName.clear();
 
+		final Map<ResourceLocation, SoundEvent> reps = new HashMap<>();
 		final ResourceLocation bowLooseResource = new ResourceLocation(DSurround.MOD_ID, "bow.loose");
-		final SoundEvent bowLoose = SoundLoader.getSound(bowLooseResource);
-		if (!this.soundsToBlock.contains(bowLooseResource.toString())) {
-			this.replacements.put("minecraft:entity.arrow.shoot", bowLoose);
-			this.replacements.put("minecraft:entity.skeleton.shoot", bowLoose);
+		if (!ClientRegistry.SOUND.isSoundBlockedLogical(bowLooseResource.toString())) {
+			final SoundEvent bowLoose = SoundLoader.getSound(bowLooseResource);
+			reps.put(new ResourceLocation("minecraft:entity.arrow.shoot"), bowLoose);
+			reps.put(new ResourceLocation("minecraft:entity.skeleton.shoot"), bowLoose);
+		}
+
+		for (final ResourceLocation resource : SoundEngine.instance().getSoundRegistry().getKeys()) {
+			final String rs = resource.toString();
+			if (ClientRegistry.SOUND.isSoundBlockedLogical(rs) || ClientRegistry.SOUND.isSoundCulled(rs)
+					|| reps.containsKey(resource))
+				this.filterIdsByName.put(resource, this.filterIdsByName.size());
+		}
+
+		final int count = this.filterIdsByName.size();
+		this.blocked = new boolean[count];
+		this.culled = new boolean[count];
+		this.lastPlayed = new int[count];
+		this.replacements = new SoundEvent[count];
+		Arrays.fill(this.lastPlayed, -ModOptions.sound.soundCullingThreshold);
+
+		for (final Map.Entry<ResourceLocation, Integer> e : this.filterIdsByName.entrySet()) {
+			final String rs = e.getKey().toString();
+			final int id = e.getValue();
+			this.blocked[id] = ClientRegistry.SOUND.isSoundBlockedLogical(rs);
+			this.culled[id] = !this.blocked[id] && ClientRegistry.SOUND.isSoundCulled(rs);
+			this.replacements[id] = reps.get(e.getKey());
+			this.filterIds.put(e.getKey(), e.getValue());
+		}
+
+		// The sound handler and the SoundEvent registry hold different
+		// ResourceLocation instances for the same name; sounds carry the latter.
+		for (final SoundEvent event : SoundEvent.REGISTRY) {
+			final Integer id = this.filterIdsByName.get(event.getSoundName());
+			if (id != null)
+				this.filterIds.put(event.getSoundName(), id);
 		}
+
+		this.thunderBlocked = ClientRegistry.SOUND.isSoundBlockedLogical(Sounds.THUNDER.getSoundName());
+	}
+
+	private int getFilterId(@Nonnull final ResourceLocation resource) {
+		Integer id = this.filterIds.get(resource);
+		if (id == null)
+			id = this.filterIdsByName.get(resource);
+		return id != null ? id.intValue() : -1;
 	}
 
 	@Override
@@ -225,52 +265,47 @@ public class SoundEffectHandler extends EffectHandlerBase {
 		if (theSound == null || theSound instanceof ConfigSound)
 			return;
 
-		final String soundName = theSound.getSoundLocation() != null ? theSound.getSoundLocation().toString() : null;
-		if (soundName == null)
+		final ResourceLocation soundLocation = theSound.getSoundLocation();
+		if (soundLocation == null)
 			return;
 
-		// Check to see if the sound is blocked
-		if (this.soundsToBlock.contains(soundName)) {
-			e.setResultSound(null);
-			return;
-		}
+		final int id = getFilterId(soundLocation);
+		if (id >= 0) {
+			// Check to see if the sound is blocked
+			if (this.blocked[id]) {
+				e.setResultSound(null);
+				return;
+			}
 
-		// Check to see if it needs to be culled
-		if (ModOptions.sound.soundCullingThreshold > 0) {
-			// Get the last time the sound was seen
-			final int lastOccurance = this.soundCull.get(soundName);
-			if (lastOccurance != 0) {
+			// Check to see if it needs to be culled
+			if (this.culled[id] && ModOptions.sound.soundCullingThreshold > 0) {
 				final int currentTick = EnvironState.getTickCounter();
-				if ((currentTick - lastOccurance) < ModOptions.sound.soundCullingThreshold) {
+				if ((currentTick - this.lastPlayed[id]) < ModOptions.sound.soundCullingThreshold) {
 					// It's been culled!
 					e.setResultSound(null);
 					return;
-				} else {
-					// Set when it happened and fall through for remapping and stuff
-					this.soundCull.put(soundName, currentTick);
 				}
+				// Set when it happened and fall through for remapping and stuff
+				this.lastPlayed[id] = currentTick;
 			}
 		}
 
 		// If it is Minecraft thunder handle the sound remapping to Dynamic Surroundings
 		// thunder
 		// and set the appropriate volume.
-		if (e.getName().equals("entity.lightning.thunder")) {
-			final String thunderSound = Sounds.THUNDER.getSoundName();
-			if (!this.soundsToBlock.contains(thunderSound)) {
-				final PositionedSound sound = (PositionedSound) theSound;
-				if (sound != null && PositionedSoundUtil.getVolume(sound) > 16) {
-					final BlockPos pos = new BlockPos(sound.getXPosF(), sound.getYPosF(), sound.getZPosF());
-					final ISound newSound = Sounds.THUNDER.createSoundAt(pos).setVolume(ModOptions.sound.thunderVolume);
-					e.setResultSound(newSound);
-				}
-				return;
+		if (!this.thunderBlocked && e.getName().equals("entity.lightning.thunder")) {
+			final PositionedSound sound = (PositionedSound) theSound;
+			if (sound != null && PositionedSoundUtil.getVolume(sound) > 16) {
+				final BlockPos pos = new BlockPos(sound.getXPosF(), sound.getYPosF(), sound.getZPosF());
+				final ISound newSound = Sounds.THUNDER.createSoundAt(pos).setVolume(ModOptions.sound.thunderVolume);
+				e.setResultSound(newSound);
 			}
+			return;
 		}
 
 		// Check to see if the sound is going to be replaced with another sound
-		if (theSound instanceof PositionedSound) {
-			final SoundEvent rep = this.replacements.get(soundName);
+		if (id >= 0 && theSound instanceof PositionedSound) {
+			final SoundEvent rep = this.replacements[id];
 			if (rep != null) {
 				e.setResultSound(new AdhocSound(rep, (PositionedSound) theSound));
 			}
@@ -40,9 +40,11 @@ import org.blockartistry.DynSurround.ModOptions;
 import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.blockartistry.DynSurround.client.handlers.bubbles.EntityBubbleContext;
 import org.blockartistry.DynSurround.client.handlers.bubbles.SpeechBubbleData;
+import org.blockartistry.DynSurround.client.handlers.bubbles.SpeechBubbleRenderer;
 import org.blockartistry.DynSurround.event.SpeechTextEvent;
 import org.blockartistry.lib.Translations;
 import org.blockartistry.lib.WorldUtils;
+import org.blockartistry.lib.task.TimingWheel;
 
 import com.google.common.base.Function;
 
@@ -52,6 +54,7 @@ import net.minecraft.client.resources.IResource;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.client.event.RenderWorldLastEvent;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.relauncher.Side;
@@ -63,10 +66,47 @@ public class SpeechBubbleHandler extends EffectHandlerBase {
 	private static final String SPLASH_TOKEN = "$MINECRAFT$";
 	private static final ResourceLocation SPLASH_TEXT = new ResourceLocation("texts/splashes.txt");
 
-	private final TIntObjectHashMap<EntityBubbleContext> messages = new TIntObjectHashMap<>();
+	private final TIntObjectHashMap<ExpiryTimer> messages = new TIntObjectHashMap<>();
+	private final SpeechBubbleRenderer renderer = new SpeechBubbleRenderer();
 	private final Translations xlate = new Translations();
 	private final List<String> minecraftSplashText = new ArrayList<>();
 
+	/**
+	 * Expires the bubble text for an entity. It is scheduled for the tick after
+	 * the oldest message runs out, so the handler does not have to walk every
+	 * context each tick looking for expired text.
+	 */
+	private final class ExpiryTimer extends TimingWheel.Timer {
+
+		private final int entityId;
+		private final EntityBubbleContext ctx = new EntityBubbleContext();
+
+		public ExpiryTimer(final int entityId) {
+			this.entityId = entityId;
+		}
+
+		public void reschedule() {
+			final int due = this.ctx.getNextExpiry() + 1;
+			if (!isScheduled() || due - getDueTick() < 0)
+				EnvironState.getTimers().schedule(this, due);
+		}
+
+		@Override
+		protected void expire(final int tick) {
+			if (this.ctx.clean(tick))
+				SpeechBubbleHandler.this.messages.remove(this.entityId);
+			else
+				reschedule();
+		}
+
+		@Override
+		protected void dropped() {
+			// The wheel was reset on connect/disconnect; nothing will expire the
+			// text now
+			SpeechBubbleHandler.this.messages.remove(this.entityId);
+		}
+	}
+
 	private static class Stripper implements Function<Entry<String, String>, String> {
 
 		private final Pattern WEIGHT_PATTERN = Pattern.compile("^([0-9]*),(.*)");
@@ -125,14 +165,15 @@ public class SpeechBubbleHandler extends EffectHandlerBase {
 		if (StringUtils.isEmpty(message))
 			return;
 
-		EntityBubbleContext ctx = this.messages.get(entity.getEntityId());
-		if (ctx == null) {
-			this.messages.put(entity.getEntityId(), ctx = new EntityBubbleContext());
+		ExpiryTimer timer = this.messages.get(entity.getEntityId());
+		if (timer == null) {
+			this.messages.put(entity.getEntityId(), timer = new ExpiryTimer(entity.getEntityId()));
 		}
 
 		final int expiry = EnvironState.getTickCounter() + (int) (ModOptions.speechbubbles.speechBubbleDuration * 20F);
-		ctx.add(new SpeechBubbleData(message, expiry));
-		ctx.handleBubble(entity);
+		timer.ctx.add(new SpeechBubbleData(message, expiry));
+		timer.ctx.handleBubble(entity);
+		timer.reschedule();
 	}
 
 	@Override
@@ -142,20 +183,40 @@ public class SpeechBubbleHandler extends EffectHandlerBase {
 
 	@Override
 	public void process(@Nonnull final EntityPlayer player) {
-		final int currentTick = EnvironState.getTickCounter();
-		this.messages.retainEntries((idx, ctx) -> {
-			return !ctx.clean(currentTick);
+		this.messages.forEachValue(timer -> {
+			timer.ctx.update(player);
+			return true;
+		});
+	}
+
+	@SubscribeEvent(priority = EventPriority.LOWEST)
+	public void doRender(@Nonnull final RenderWorldLastEvent event) {
+		if (this.messages.size() == 0)
+			return;
+
+		this.messages.forEachValue(timer -> {
+			this.renderer.add(timer.ctx);
+			return true;
 		});
+		this.renderer.render(event.getPartialTicks());
+	}
+
+	private void clearMessages() {
+		this.messages.forEachValue(timer -> {
+			timer.cancel();
+			return true;
+		});
+		this.messages.clear();
 	}
 
 	@Override
 	public void onConnect() {
-		this.messages.clear();
+		clearMessages();
 	}
 
 	@Override
 	public void onDisconnect() {
-		this.messages.clear();
+		clearMessages();
 	}
 
 	@SubscribeEvent(priority = EventPriority.LOWEST, receiveCanceled = false)
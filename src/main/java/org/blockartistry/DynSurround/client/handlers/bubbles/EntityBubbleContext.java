@@ -30,25 +30,43 @@ import java.util.List;
 
 import javax.annotation.Nonnull;
 
-import org.blockartistry.DynSurround.client.fx.particle.ParticleBillboard;
-import org.blockartistry.lib.gfx.ParticleHelper;
-
-import com.google.common.base.Supplier;
+import org.blockartistry.DynSurround.ModOptions;
 
+import gnu.trove.list.array.TIntArrayList;
 import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 @SideOnly(Side.CLIENT)
-public class EntityBubbleContext implements Supplier<List<String>> {
+public class EntityBubbleContext {
+
+	private static final int MIN_TEXT_WIDTH = 60;
 
 	private final List<SpeechBubbleData> data = new ArrayList<>();
-	private List<String> preppedList;
-	private ParticleBillboard bubble;
+	private Entity subject;
+
+	// Layout of the combined messages. Rebuilt only when a message is added
+	// or expires, not every tick/frame.
+	private boolean layoutDirty = true;
+	private final List<String> lines = new ArrayList<>();
+	private final TIntArrayList lineWidths = new TIntArrayList();
+	private int textWidth;
+
+	// Tick state used by the renderer
+	private boolean canBeSeen;
+	private double distanceSq;
+	private double prevPosX;
+	private double prevPosY;
+	private double prevPosZ;
+	private double posX;
+	private double posY;
+	private double posZ;
 
 	public void add(@Nonnull final SpeechBubbleData d) {
 		this.data.add(d);
-		this.preppedList = null;
+		this.layoutDirty = true;
 	}
 
 	public boolean clean(final int currentTick) {
@@ -63,25 +81,115 @@ public class EntityBubbleContext implements Supplier<List<String>> {
 		}
 
 		if (reset)
-			this.preppedList = null;
+			this.layoutDirty = true;
 
 		return this.data.isEmpty();
 	}
 
+	/**
+	 * The tick on which the next message in the context expires, or
+	 * Integer.MAX_VALUE if there are none.
+	 */
+	public int getNextExpiry() {
+		int result = Integer.MAX_VALUE;
+		for (int i = 0; i < this.data.size(); i++)
+			result = Math.min(result, this.data.get(i).getExpiry());
+		return result;
+	}
+
 	public void handleBubble(@Nonnull final Entity entity) {
-		if (this.bubble == null || this.bubble.shouldExpire()) {
-			this.bubble = new ParticleBillboard(entity, this);
-			ParticleHelper.addParticle(this.bubble);
+		if (this.subject != entity) {
+			this.subject = entity;
+			setPosition();
+			this.prevPosX = this.posX;
+			this.prevPosY = this.posY;
+			this.prevPosZ = this.posZ;
 		}
 	}
 
-	@Override
-	public List<String> get() {
-		if (this.preppedList == null && this.data.size() > 0) {
-			this.preppedList = new ArrayList<>();
-			for (final SpeechBubbleData entry : this.data)
-				this.preppedList.addAll(entry.getText());
+	private void setPosition() {
+		final AxisAlignedBB box = this.subject.getEntityBoundingBox();
+		this.posX = this.subject.posX;
+		this.posY = box.maxY + (this.subject.isSneaking() ? 0.25D : 0.5D);
+		this.posZ = this.subject.posZ;
+	}
+
+	private void layout() {
+		this.lines.clear();
+		this.lineWidths.resetQuick();
+		this.textWidth = MIN_TEXT_WIDTH;
+		boolean formatted = true;
+		for (int i = 0; i < this.data.size(); i++) {
+			final SpeechBubbleData entry = this.data.get(i);
+			final List<String> text = entry.getText();
+			final int[] widths = entry.getWidths();
+			this.lines.addAll(text);
+			this.lineWidths.add(widths);
+			for (final int w : widths)
+				this.textWidth = Math.max(this.textWidth, w);
+			formatted &= entry.isFormatted();
 		}
-		return this.preppedList;
+		// Try again next tick if the font renderer was not ready
+		this.layoutDirty = !formatted;
+	}
+
+	/**
+	 * Called once a tick to follow the entity and determine if the bubble can be
+	 * seen by the player. Cheaper tests go first; the line of sight check is a
+	 * ray trace.
+	 */
+	public void update(@Nonnull final EntityPlayer player) {
+		this.prevPosX = this.posX;
+		this.prevPosY = this.posY;
+		this.prevPosZ = this.posZ;
+
+		this.canBeSeen = false;
+		if (this.subject == null || !this.subject.isEntityAlive())
+			return;
+
+		setPosition();
+
+		if (this.layoutDirty)
+			layout();
+		if (this.lines.isEmpty())
+			return;
+
+		final double range = ModOptions.speechbubbles.speechBubbleRange * ModOptions.speechbubbles.speechBubbleRange;
+		this.distanceSq = player.getDistanceSq(this.subject);
+		this.canBeSeen = this.distanceSq <= range && !this.subject.isInvisibleToPlayer(player)
+				&& player.canEntityBeSeen(this.subject);
+	}
+
+	public boolean canBeSeen() {
+		return this.canBeSeen;
+	}
+
+	public double getDistanceSq() {
+		return this.distanceSq;
+	}
+
+	@Nonnull
+	public List<String> getLines() {
+		return this.lines;
+	}
+
+	public int getLineWidth(final int line) {
+		return this.lineWidths.get(line);
+	}
+
+	public int getTextWidth() {
+		return this.textWidth;
+	}
+
+	public double getX(final float partialTicks) {
+		return this.prevPosX + (this.posX - this.prevPosX) * partialTicks;
+	}
+
+	public double getY(final float partialTicks) {
+		return this.prevPosY + (this.posY - this.prevPosY) * partialTicks;
+	}
+
+	public double getZ(final float partialTicks) {
+		return this.prevPosZ + (this.posZ - this.prevPosZ) * partialTicks;
 	}
-}
\ No newline at end of file
+}
@@ -40,10 +40,12 @@ public class SpeechBubbleData {
 
 	private static final int MIN_TEXT_WIDTH = 60;
 	private static final int MAX_TEXT_WIDTH = MIN_TEXT_WIDTH * 3;
+	private static final int[] NO_WIDTHS = new int[0];
 
 	private final int expires;
 	private String incomingText;
 	private List<String> messages;
+	private int[] widths = NO_WIDTHS;
 
 	public SpeechBubbleData(@Nonnull final String message, final int expiry) {
 		this.incomingText = message.replaceAll("(\\xA7.)", "");
@@ -61,10 +63,36 @@ public class SpeechBubbleData {
 				return ImmutableList.of();
 			this.messages = font.listFormattedStringToWidth(this.incomingText, MAX_TEXT_WIDTH);
 			this.incomingText = null;
+
+			// Measure once - the text does not change for the life of the bubble
+			this.widths = new int[this.messages.size()];
+			for (int i = 0; i < this.widths.length; i++)
+				this.widths[i] = font.getStringWidth(this.messages.get(i));
 		}
 		return this.messages;
 	}
 
+	/**
+	 * Indicates whether the text has been broken into lines. It cannot be
+	 * until the font renderer exists.
+	 */
+	public boolean isFormatted() {
+		return this.messages != null;
+	}
+
+	/**
+	 * Rendered width of each line returned by getText(), in the same order.
+	 */
+	@Nonnull
+	public int[] getWidths() {
+		getText();
+		return this.widths;
+	}
+
+	public int getExpiry() {
+		return this.expires;
+	}
+
 	public boolean isExpired(final int currentTick) {
 		return currentTick > this.expires;
 	}
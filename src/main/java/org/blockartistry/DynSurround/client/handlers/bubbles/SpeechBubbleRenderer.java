@@ -0,0 +1,171 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.DynSurround.client.handlers.bubbles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.ModOptions;
+import org.blockartistry.lib.Color;
+import org.blockartistry.lib.gfx.OpenGlState;
+import org.lwjgl.opengl.GL11;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.FontRenderer;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.OpenGlHelper;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.entity.RenderManager;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.client.settings.GameSettings;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Draws all visible speech bubbles in a single pass. GL state is set up once
+ * for the frame rather than per bubble, and bubbles are drawn far to near so
+ * the translucent backgrounds layer correctly. When more bubbles are visible
+ * than the configured maximum allows the most distant are dropped.
+ */
+@SideOnly(Side.CLIENT)
+public final class SpeechBubbleRenderer {
+
+	private static final Color B_COLOR = Color.getColor(TextFormatting.BLACK);
+	private static final float B_COLOR_ALPHA = 0.5F; // 0.25F;
+	private static final Color F_COLOR = Color.getColor(TextFormatting.GOLD);
+	private static final float F_COLOR_ALPHA = 0.99F;
+	private static final Color F_COLOR_DEPTH = Color.getColor(TextFormatting.GRAY);
+	private static final double BUBBLE_MARGIN = 4.0F;
+	private static final float SCALE = 0.015F;
+
+	private static final Comparator<EntityBubbleContext> NEAREST_FIRST = (c1, c2) -> Double
+			.compare(c1.getDistanceSq(), c2.getDistanceSq());
+
+	private final List<EntityBubbleContext> visible = new ArrayList<>();
+
+	/**
+	 * Queues a bubble for rendering this frame if it can be seen.
+	 */
+	public void add(@Nonnull final EntityBubbleContext ctx) {
+		if (ctx.canBeSeen())
+			this.visible.add(ctx);
+	}
+
+	public void render(final float partialTicks) {
+		if (this.visible.isEmpty())
+			return;
+
+		this.visible.sort(NEAREST_FIRST);
+		final int count = Math.min(this.visible.size(), ModOptions.speechbubbles.speechBubbleMaxVisible);
+
+		final Minecraft mc = Minecraft.getMinecraft();
+		final RenderManager manager = mc.getRenderManager();
+		final FontRenderer font = mc.fontRenderer;
+		final GameSettings settings = manager.options;
+		final boolean thirdPerson = settings != null && settings.thirdPersonView == 2;
+		final float pitch = manager.playerViewX * (thirdPerson ? -1 : 1);
+		final float yaw = -manager.playerViewY;
+
+		final OpenGlState glState = OpenGlState.push();
+
+		final float saveLightX = OpenGlHelper.lastBrightnessX;
+		final float saveLightY = OpenGlHelper.lastBrightnessY;
+		OpenGlHelper.setLightmapTextureCoords(OpenGlHelper.lightmapTexUnit, 240.0F, 0.003662109F);
+
+		GlStateManager.enableBlend();
+		GlStateManager.blendFunc(GlStateManager.SourceFactor.SRC_ALPHA, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+		GlStateManager.enableAlpha();
+		GlStateManager.disableLighting();
+
+		for (int i = count - 1; i >= 0; i--) {
+			final EntityBubbleContext ctx = this.visible.get(i);
+			GlStateManager.pushMatrix();
+			GlStateManager.translate(ctx.getX(partialTicks) - manager.viewerPosX,
+					ctx.getY(partialTicks) - manager.viewerPosY, ctx.getZ(partialTicks) - manager.viewerPosZ);
+			GlStateManager.rotate(yaw, 0.0F, 1.0F, 0.0F);
+			GlStateManager.rotate(pitch, 1.0F, 0.0F, 0.0F);
+			GlStateManager.scale(-SCALE, -SCALE, SCALE);
+			renderBubble(ctx, font);
+			GlStateManager.popMatrix();
+		}
+
+		OpenGlHelper.setLightmapTextureCoords(OpenGlHelper.lightmapTexUnit, saveLightX, saveLightY);
+		OpenGlState.pop(glState);
+
+		this.visible.clear();
+	}
+
+	private void renderBubble(@Nonnull final EntityBubbleContext ctx, @Nonnull final FontRenderer font) {
+		final List<String> text = ctx.getLines();
+		final int numberOfMessages = text.size();
+		final double top = -numberOfMessages * 9 - BUBBLE_MARGIN;
+		final double bottom = BUBBLE_MARGIN;
+		final double left = -(ctx.getTextWidth() / 2.0D + BUBBLE_MARGIN);
+		final double right = ctx.getTextWidth() / 2.0D + BUBBLE_MARGIN;
+
+		// Draw the background region
+		final float red = B_COLOR.red;
+		final float green = B_COLOR.green;
+		final float blue = B_COLOR.blue;
+		final float alpha = B_COLOR_ALPHA;
+
+		GlStateManager.disableTexture2D();
+		GlStateManager.depthMask(false);
+
+		final BufferBuilder buffer = Tessellator.getInstance().getBuffer();
+		buffer.begin(GL11.GL_TRIANGLE_STRIP, DefaultVertexFormats.POSITION_COLOR);
+		buffer.pos(left, top, 0.0D).color(red, green, blue, alpha).endVertex();
+		buffer.pos(left, bottom, 0.0D).color(red, green, blue, alpha).endVertex();
+		buffer.pos(right, top, 0.0D).color(red, green, blue, alpha).endVertex();
+		buffer.pos(right, bottom, 0.0D).color(red, green, blue, alpha).endVertex();
+		Tessellator.getInstance().draw();
+
+		GlStateManager.enableTexture2D();
+		GlStateManager.translate(0, 0, -0.05F);
+
+		// First pass shows through terrain, second is the normal depth tested
+		// text.
+		GlStateManager.disableDepth();
+		int lines = numberOfMessages;
+		for (int t = 0; t < numberOfMessages; t++) {
+			final int margin = -ctx.getLineWidth(t) / 2;
+			font.drawString(text.get(t), margin, -lines * 9, F_COLOR_DEPTH.rgbWithAlpha(F_COLOR_ALPHA));
+			lines--;
+		}
+
+		GlStateManager.enableDepth();
+		GlStateManager.depthMask(true);
+		lines = numberOfMessages;
+		for (int t = 0; t < numberOfMessages; t++) {
+			final int margin = -ctx.getLineWidth(t) / 2;
+			font.drawString(text.get(t), margin, -lines * 9, F_COLOR.rgbWithAlpha(F_COLOR_ALPHA));
+			lines--;
+		}
+	}
+}
@@ -34,6 +34,7 @@ import org.blockartistry.lib.ItemStackUtil;
 import org.blockartistry.lib.effects.EntityEffect;
 import org.blockartistry.lib.effects.IEntityEffectFactory;
 import org.blockartistry.lib.effects.IEntityEffectFactoryFilter;
+import org.blockartistry.lib.effects.RangeBand;
 import org.blockartistry.lib.sound.ITrackedSound;
 
 import com.google.common.collect.ImmutableList;
@@ -54,6 +55,12 @@ public class EntityBowSoundEffect extends EntityEffect {
 		return "Bow Sound";
 	}
 
+	@Override
+	public int getUpdateInterval(@Nonnull final RangeBand band) {
+		// Bow draw and shield raise are held actions; a short delay is fine.
+		return band.select(1, 2, 10);
+	}
+
 	@Override
 	public void update(@Nonnull final Entity subject) {
 		final EntityLivingBase entity = (EntityLivingBase) subject;
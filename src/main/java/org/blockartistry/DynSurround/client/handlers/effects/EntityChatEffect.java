@@ -37,6 +37,7 @@ import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.blockartistry.DynSurround.DSurround;
 import org.blockartistry.DynSurround.ModOptions;
+import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.blockartistry.DynSurround.event.SpeechTextEvent;
 import org.blockartistry.DynSurround.registry.EntityEffectInfo;
 import org.blockartistry.lib.Translations;
@@ -45,7 +46,10 @@ import org.blockartistry.lib.compat.EntityUtil;
 import org.blockartistry.lib.effects.EntityEffect;
 import org.blockartistry.lib.effects.IEntityEffectFactory;
 import org.blockartistry.lib.effects.IEntityEffectFactoryFilter;
+import org.blockartistry.lib.effects.IEntityEffectHandlerState;
+import org.blockartistry.lib.effects.RangeBand;
 import org.blockartistry.lib.random.XorShiftRandom;
+import org.blockartistry.lib.task.TimingWheel;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableList;
@@ -140,9 +144,23 @@ public class EntityChatEffect extends EntityEffect {
 		return !(entity instanceof EntityPlayer) && messages.get(EntityUtil.getClassName(entity.getClass())) != null;
 	}
 
+	/**
+	 * Chat is driven off the client timing wheel rather than polled each tick.
+	 * Most chatty entities go hundreds of ticks between messages so there is
+	 * no point in looking at them in between.
+	 */
+	private final class ChatTimer extends TimingWheel.Timer {
+		@Override
+		protected void expire(final int tick) {
+			onChatTimer();
+		}
+	}
+
 	protected final Random random = XorShiftRandom.current();
 	protected final EntityChatData data;
-	protected long nextChat;
+	protected final ChatTimer timer = new ChatTimer();
+	protected boolean active = true;
+	protected boolean pending = false;
 
 	public EntityChatEffect(@Nonnull final Entity entity) {
 		this(entity, null);
@@ -152,7 +170,6 @@ public class EntityChatEffect extends EntityEffect {
 		final String theName = StringUtils.isEmpty(entityName) ? EntityUtil.getClassName(entity.getClass())
 				: entityName;
 		this.data = messages.get(theName);
-		this.nextChat = getWorldTicks(entity) + getNextChatTime();
 	}
 
 	@Override
@@ -160,6 +177,18 @@ public class EntityChatEffect extends EntityEffect {
 		return "Entity Chat";
 	}
 
+	@Override
+	public void intitialize(@Nonnull final IEntityEffectHandlerState state) {
+		super.intitialize(state);
+		genNextChatTime();
+	}
+
+	@Override
+	public int getUpdateInterval(@Nonnull final RangeBand band) {
+		// Timer driven - nothing to do during the regular update pass
+		return 0;
+	}
+
 	protected int getBase() {
 		return this.data.baseInterval;
 	}
@@ -168,10 +197,6 @@ public class EntityChatEffect extends EntityEffect {
 		return this.data.baseRandom;
 	}
 
-	protected long getWorldTicks(final Entity e) {
-		return e.getEntityWorld().getTotalWorldTime();
-	}
-
 	protected String getChatMessage() {
 		return this.data.table.next();
 	}
@@ -182,21 +207,52 @@ public class EntityChatEffect extends EntityEffect {
 
 	@Override
 	public void update(@Nonnull final Entity subject) {
-		if (!ModOptions.speechbubbles.enableEntityChat)
+		// Chat is handled by the timer
+	}
+
+	@Override
+	public void die() {
+		this.timer.cancel();
+		this.pending = false;
+	}
+
+	/**
+	 * Enables or disables chat for the effect. While inactive the timer keeps
+	 * running; if it comes due the message is held and spoken as soon as the
+	 * effect is activated again.
+	 */
+	public void setActive(final boolean flag) {
+		if (this.active == flag)
+			return;
+		this.active = flag;
+		if (this.active && this.pending)
+			onChatTimer();
+	}
+
+	protected void onChatTimer() {
+		final IEntityEffectHandlerState state = getState();
+		if (!state.isAlive())
 			return;
 
-		final long ticks = getWorldTicks(subject);
-		final long delta = this.nextChat - ticks;
-		if (delta <= 0) {
+		if (!this.active) {
+			this.pending = true;
+			return;
+		}
+
+		final Entity subject = state.subject().orElse(null);
+		if (subject == null)
+			return;
+
+		if (ModOptions.speechbubbles.enableEntityChat) {
 			final SpeechTextEvent event = new SpeechTextEvent(subject.getEntityId(), getChatMessage(), true);
 			MinecraftForge.EVENT_BUS.post(event);
-			genNextChatTime();
 		}
-
+		genNextChatTime();
 	}
 
 	public void genNextChatTime() {
-		this.nextChat = getWorldTicks(getState().subject().get()) + getNextChatTime();
+		this.pending = false;
+		EnvironState.getTimers().scheduleIn(this.timer, getNextChatTime());
 	}
 
 	public static final IEntityEffectFactoryFilter DEFAULT_FILTER = (@Nonnull final Entity e,
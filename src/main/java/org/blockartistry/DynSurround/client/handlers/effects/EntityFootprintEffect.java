@@ -37,6 +37,7 @@ import org.blockartistry.lib.effects.EntityEffect;
 import org.blockartistry.lib.effects.IEntityEffectFactory;
 import org.blockartistry.lib.effects.IEntityEffectFactoryFilter;
 import org.blockartistry.lib.effects.IEntityEffectHandlerState;
+import org.blockartistry.lib.effects.RangeBand;
 import org.blockartistry.lib.random.XorShiftRandom;
 
 import com.google.common.collect.ImmutableList;
@@ -68,6 +69,13 @@ public class EntityFootprintEffect extends EntityEffect {
 		return "Footstep/Prints";
 	}
 
+	@Override
+	public int getUpdateInterval(@Nonnull final RangeBand band) {
+		// Step detection accumulates per tick movement, so it has to run every tick while
+		// active. Prints and steps are not perceptible far away.
+		return band == RangeBand.FAR ? 0 : 1;
+	}
+
 	@Override
 	public void intitialize(@Nonnull final IEntityEffectHandlerState state) {
 		super.intitialize(state);
@@ -36,6 +36,7 @@ import org.blockartistry.lib.effects.EntityEffect;
 import org.blockartistry.lib.effects.IEntityEffectFactory;
 import org.blockartistry.lib.effects.IEntityEffectFactoryFilter;
 import org.blockartistry.lib.effects.IEntityEffectHandlerState;
+import org.blockartistry.lib.effects.RangeBand;
 import org.blockartistry.lib.math.MathStuff;
 import org.blockartistry.lib.random.XorShiftRandom;
 
@@ -86,6 +87,12 @@ public class EntityHealthPopoffEffect extends EntityEffect {
 		return "Health Tracker";
 	}
 
+	@Override
+	public int getUpdateInterval(@Nonnull final RangeBand band) {
+		// Health deltas accumulate between checks so nothing is lost, only merged.
+		return band.select(1, 2, 5);
+	}
+
 	@Override
 	public boolean receiveLastCall() {
 		return true;
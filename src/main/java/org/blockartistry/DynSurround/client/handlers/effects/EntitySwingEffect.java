@@ -34,6 +34,7 @@ import org.blockartistry.DynSurround.registry.EntityEffectInfo;
 import org.blockartistry.lib.effects.EntityEffect;
 import org.blockartistry.lib.effects.IEntityEffectFactory;
 import org.blockartistry.lib.effects.IEntityEffectFactoryFilter;
+import org.blockartistry.lib.effects.RangeBand;
 import org.blockartistry.lib.math.RayTrace;
 import org.blockartistry.lib.sound.ITrackedSound;
 
@@ -59,6 +60,12 @@ public class EntitySwingEffect extends EntityEffect {
 		return "Item Swing";
 	}
 
+	@Override
+	public int getUpdateInterval(@Nonnull final RangeBand band) {
+		// A swing lasts several ticks so sampling every other tick still catches it.
+		return band.select(1, 2, 0);
+	}
+
 	@Override
 	public void update(@Nonnull final Entity subject) {
 		
@@ -35,6 +35,7 @@ import org.blockartistry.lib.effects.EntityEffect;
 import org.blockartistry.lib.effects.IEntityEffectFactory;
 import org.blockartistry.lib.effects.IEntityEffectFactoryFilter;
 import org.blockartistry.lib.effects.IEntityEffectHandlerState;
+import org.blockartistry.lib.effects.RangeBand;
 
 import com.google.common.collect.ImmutableList;
 
@@ -57,6 +58,13 @@ public class FrostBreathEffect extends EntityEffect {
 		return "Frost Breath";
 	}
 
+	@Override
+	public int getUpdateInterval(@Nonnull final RangeBand band) {
+		// Breath puffs are small; thin them out at mid range and skip them once too far away to
+		// make out.
+		return band.select(1, 2, 0);
+	}
+
 	@Override
 	public void intitialize(@Nonnull final IEntityEffectHandlerState state) {
 		super.intitialize(state);
@@ -36,6 +36,7 @@ import org.blockartistry.lib.effects.EntityEffect;
 import org.blockartistry.lib.effects.IEntityEffectFactory;
 import org.blockartistry.lib.effects.IEntityEffectFactoryFilter;
 import org.blockartistry.lib.effects.IEntityEffectHandlerState;
+import org.blockartistry.lib.effects.RangeBand;
 import org.blockartistry.lib.sound.ITrackedSound;
 
 import com.google.common.collect.ImmutableList;
@@ -128,6 +129,13 @@ public class PlayerToolBarSoundEffect extends EntityEffect {
 		return "Toolbar";
 	}
 
+	@Override
+	public int getUpdateInterval(@Nonnull final RangeBand band) {
+		// Keep tracking held items at range so a player walking back into view does not
+		// trigger a stale equip sound.
+		return band.select(1, 2, 5);
+	}
+
 	@Override
 	public void update(@Nonnull final Entity subject) {
 		if (ModOptions.sound.enableEquipSound) {
@@ -33,6 +33,7 @@ import org.blockartistry.lib.effects.EntityEffect;
 import org.blockartistry.lib.effects.IEntityEffectFactory;
 import org.blockartistry.lib.effects.IEntityEffectFactoryFilter;
 import org.blockartistry.lib.effects.IEntityEffectHandlerState;
+import org.blockartistry.lib.effects.RangeBand;
 
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
@@ -69,6 +70,7 @@ public class VillagerChatEffect extends EntityEffect {
 
 		this.normalChat = new EntityChatEffect(entity);
 		this.fleeChat = new EntityChatEffect(entity, "villager.flee");
+		this.fleeChat.setActive(false);
 	}
 
 	@Override
@@ -76,6 +78,14 @@ public class VillagerChatEffect extends EntityEffect {
 		return "Villager Chat";
 	}
 
+	@Override
+	public int getUpdateInterval(@Nonnull final RangeBand band) {
+		// The threat check is an entity search so keep it off most ticks once the
+		// villager is not close. The chat itself runs off timers; this only picks
+		// which of the two is allowed to speak.
+		return band.select(1, 4, 20);
+	}
+
 	@Override
 	public void intitialize(@Nonnull final IEntityEffectHandlerState state) {
 		super.intitialize(state);
@@ -85,27 +95,35 @@ public class VillagerChatEffect extends EntityEffect {
 
 	@Override
 	public void update(@Nonnull final Entity subject) {
-		if (!ModOptions.speechbubbles.enableEntityChat)
-			return;
-
 		// Children don't speak - makes them suspicious...
 		final EntityVillager entity = (EntityVillager) subject;
-		if (entity.isChild())
+		if (!ModOptions.speechbubbles.enableEntityChat || entity.isChild()) {
+			this.normalChat.setActive(false);
+			this.fleeChat.setActive(false);
 			return;
+		}
 
 		if (villagerThreatened(entity)) {
 			this.runningScared = true;
-			this.fleeChat.update(subject);
+			this.normalChat.setActive(false);
+			this.fleeChat.setActive(true);
 		} else {
+			this.fleeChat.setActive(false);
 			if (this.runningScared) {
 				this.runningScared = false;
 				this.normalChat.genNextChatTime();
 			}
-			this.normalChat.update(subject);
+			this.normalChat.setActive(true);
 		}
 
 	}
 
+	@Override
+	public void die() {
+		this.normalChat.die();
+		this.fleeChat.die();
+	}
+
 	protected boolean villagerThreatened(final Entity entity) {
 		final AxisAlignedBB bbox = entity.getEntityBoundingBox().expand(8.0, 3.0D, 8.0);
 		return !entity.getEntityWorld()
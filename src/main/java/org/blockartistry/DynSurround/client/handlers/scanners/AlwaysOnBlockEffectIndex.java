@@ -0,0 +1,457 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.handlers.scanners;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.DSurround;
+import org.blockartistry.DynSurround.client.ClientRegistry;
+import org.blockartistry.DynSurround.client.fx.BlockEffect;
+import org.blockartistry.DynSurround.event.BlockUpdateEvent;
+import org.blockartistry.DynSurround.event.ChunkDataUpdateEvent;
+import org.blockartistry.DynSurround.event.ReloadEvent;
+import org.blockartistry.DynSurround.registry.BlockRegistry;
+import org.blockartistry.lib.chunk.IBlockAccessEx;
+import org.blockartistry.lib.logging.ModLog;
+import org.blockartistry.lib.random.XorShiftRandom;
+import org.blockartistry.lib.scanner.ScanLocus;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.ITickable;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Keeps track of the blocks around the player that have "always on" effects
+ * such as waterfall splash and steam jets, and triggers those effects as the
+ * blocks come into range.
+ *
+ * Rather than scanning the volume around the player, each chunk section is
+ * examined once, when it first overlaps the active volume, and the positions
+ * of the effect bearing blocks are remembered. The index is kept up to date from block updates and chunk data sent by the
+ * server. When the player moves only the indexed positions in the slabs that
+ * came into range are looked at, and when the player stands still nothing
+ * happens at all. Effects that go out of range are expired by the
+ * ParticleSystemHandler as before.
+ */
+@SideOnly(Side.CLIENT)
+public class AlwaysOnBlockEffectIndex implements ITickable {
+
+	// Limit on chunk sections (4096 blocks each) indexed in a single tick so
+	// logging in or teleporting does not land in one long tick.
+	private static final int SECTIONS_PER_TICK = 8;
+	// Chunks this far outside of range hold on to their index so walking back
+	// and forth across a boundary does not rebuild them.
+	private static final int RETAIN_CHUNKS = 2;
+
+	/**
+	 * Positions of effect bearing blocks within a chunk. Each section holds a
+	 * sorted array of packed (y, z, x) offsets so that a range of y can be
+	 * located with a binary search. Sections are only examined once they come
+	 * in range vertically; the bits of built mark the ones that have been.
+	 */
+	private static final class ChunkIndex {
+
+		final int chunkX;
+		final int chunkZ;
+		final int[][] sections = new int[16][];
+		int built;
+
+		ChunkIndex(final int chunkX, final int chunkZ) {
+			this.chunkX = chunkX;
+			this.chunkZ = chunkZ;
+		}
+
+		boolean isBuilt(final int s) {
+			return (this.built & (1 << s)) != 0;
+		}
+
+		static int pack(final int x, final int y, final int z) {
+			return (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+		}
+
+		/**
+		 * Adds or removes the position. Sections only change as the result of a
+		 * block update so it is fine to copy the array.
+		 */
+		void set(final int x, final int y, final int z, final boolean present) {
+			final int s = y >> 4;
+			final int p = pack(x, y, z);
+			final int[] entries = this.sections[s];
+			if (entries == null) {
+				if (present)
+					this.sections[s] = new int[] { p };
+				return;
+			}
+			final int idx = Arrays.binarySearch(entries, p);
+			if (present && idx < 0) {
+				final int at = -idx - 1;
+				final int[] result = new int[entries.length + 1];
+				System.arraycopy(entries, 0, result, 0, at);
+				result[at] = p;
+				System.arraycopy(entries, at, result, at + 1, entries.length - at);
+				this.sections[s] = result;
+			} else if (!present && idx >= 0) {
+				if (entries.length == 1) {
+					this.sections[s] = null;
+				} else {
+					final int[] result = new int[entries.length - 1];
+					System.arraycopy(entries, 0, result, 0, idx);
+					System.arraycopy(entries, idx + 1, result, idx, entries.length - idx - 1);
+					this.sections[s] = result;
+				}
+			}
+		}
+
+		int size() {
+			int count = 0;
+			for (final int[] entries : this.sections)
+				if (entries != null)
+					count += entries.length;
+			return count;
+		}
+	}
+
+	protected final ScanLocus locus;
+	protected final int range;
+	protected final BlockRegistry blocks;
+	protected final Random random = new XorShiftRandom();
+	protected final BlockPos.MutableBlockPos workingPos = new BlockPos.MutableBlockPos();
+	protected ModLog log = ModLog.NULL_LOGGER;
+
+	private final TLongObjectHashMap<ChunkIndex> chunks = new TLongObjectHashMap<>();
+	private final TIntArrayList scratch = new TIntArrayList();
+
+	private int lastReference;
+	private BlockPos lastCenter;
+	private boolean pending;
+
+	// Active volume, inclusive
+	private int minX;
+	private int minY;
+	private int minZ;
+	private int maxX;
+	private int maxY;
+	private int maxZ;
+
+	public AlwaysOnBlockEffectIndex(@Nonnull final ScanLocus locus, final int range) {
+		this(locus, range, ClientRegistry.BLOCK);
+	}
+
+	public AlwaysOnBlockEffectIndex(@Nonnull final ScanLocus locus, final int range,
+			@Nonnull final BlockRegistry blocks) {
+		this.locus = locus;
+		this.range = range;
+		this.blocks = blocks;
+		this.log = DSurround.log();
+	}
+
+	public void setLogger(@Nonnull final ModLog log) {
+		this.log = log;
+	}
+
+	/**
+	 * Number of chunks that currently have an index.
+	 */
+	public int getIndexedChunkCount() {
+		return this.chunks.size();
+	}
+
+	/**
+	 * Number of effect bearing positions across all indexed chunks.
+	 */
+	public int getEntryCount() {
+		int count = 0;
+		for (final ChunkIndex idx : this.chunks.valueCollection())
+			count += idx.size();
+		return count;
+	}
+
+	/**
+	 * Drops the whole index. It will be rebuilt for the chunks in range over
+	 * the next few ticks and their effects triggered again.
+	 */
+	public void clear() {
+		this.chunks.clear();
+		this.lastCenter = null;
+		this.pending = false;
+	}
+
+	/**
+	 * Invoked when an effect bearing block comes into range. The BlockPos is not
+	 * safe to hold on to beyond the call.
+	 */
+	public void blockScan(@Nonnull final IBlockState state, @Nonnull final BlockPos pos, @Nonnull final Random rand) {
+		final IBlockAccessEx provider = this.locus.getWorld();
+		final BlockEffect[] effects = this.blocks.findProfile(state).getAlwaysOnEffects();
+		for (int i = 0; i < effects.length; i++) {
+			final BlockEffect be = effects[i];
+			if (be.canTrigger(provider, state, pos, rand))
+				be.doEffect(provider, state, pos, rand);
+		}
+	}
+
+	@Override
+	public void update() {
+		final BlockPos center = this.locus.getCenter();
+		if (center == null || center.getY() < 0) {
+			this.lastCenter = null;
+			return;
+		}
+
+		if (this.locus.getReference() != this.lastReference) {
+			this.lastReference = this.locus.getReference();
+			clear();
+		}
+
+		final boolean moved = !center.equals(this.lastCenter);
+		if (!moved && !this.pending)
+			return;
+
+		if (moved) {
+			final int nMinX = center.getX() - this.range;
+			final int nMinY = Math.max(1, center.getY() - this.range);
+			final int nMinZ = center.getZ() - this.range;
+			final int nMaxX = center.getX() + this.range;
+			final int nMaxY = Math.min(255, center.getY() + this.range);
+			final int nMaxZ = center.getZ() + this.range;
+
+			if (this.lastCenter == null || nMinX > this.maxX || nMaxX < this.minX || nMinY > this.maxY
+					|| nMaxY < this.minY || nMinZ > this.maxZ || nMaxZ < this.minZ) {
+				activate(nMinX, nMinY, nMinZ, nMaxX, nMaxY, nMaxZ);
+			} else {
+				// Break the part of the new volume that is not in the old one into
+				// slabs that do not overlap: the X slabs are full height and depth,
+				// the Y slabs are limited to the X overlap, and the Z slabs to the
+				// X and Y overlap.
+				if (nMinX < this.minX)
+					activate(nMinX, nMinY, nMinZ, this.minX - 1, nMaxY, nMaxZ);
+				if (nMaxX > this.maxX)
+					activate(this.maxX + 1, nMinY, nMinZ, nMaxX, nMaxY, nMaxZ);
+				final int ix0 = Math.max(nMinX, this.minX);
+				final int ix1 = Math.min(nMaxX, this.maxX);
+				if (nMinY < this.minY)
+					activate(ix0, nMinY, nMinZ, ix1, this.minY - 1, nMaxZ);
+				if (nMaxY > this.maxY)
+					activate(ix0, this.maxY + 1, nMinZ, ix1, nMaxY, nMaxZ);
+				final int iy0 = Math.max(nMinY, this.minY);
+				final int iy1 = Math.min(nMaxY, this.maxY);
+				if (nMinZ < this.minZ)
+					activate(ix0, iy0, nMinZ, ix1, iy1, this.minZ - 1);
+				if (nMaxZ > this.maxZ)
+					activate(ix0, iy0, this.maxZ + 1, ix1, iy1, nMaxZ);
+			}
+
+			final boolean newChunk = this.lastCenter == null || (center.getX() >> 4) != (this.lastCenter.getX() >> 4)
+					|| (center.getZ() >> 4) != (this.lastCenter.getZ() >> 4);
+			final boolean newSections = this.lastCenter == null || (nMinY >> 4) != (this.minY >> 4)
+					|| (nMaxY >> 4) != (this.maxY >> 4);
+
+			this.minX = nMinX;
+			this.minY = nMinY;
+			this.minZ = nMinZ;
+			this.maxX = nMaxX;
+			this.maxY = nMaxY;
+			this.maxZ = nMaxZ;
+			this.lastCenter = center;
+
+			if (newChunk)
+				evict();
+			if (newChunk || newSections)
+				this.pending = true;
+		}
+
+		if (this.pending)
+			indexSections();
+	}
+
+	/**
+	 * Indexes the sections in range that have not been examined yet, a few at a
+	 * time. A newly indexed section has all of its positions in range triggered.
+	 */
+	private void indexSections() {
+		final IBlockAccessEx world = this.locus.getWorld();
+		this.pending = false;
+		int budget = SECTIONS_PER_TICK;
+		final int s0 = this.minY >> 4;
+		final int s1 = this.maxY >> 4;
+		for (int cx = this.minX >> 4; cx <= this.maxX >> 4; cx++)
+			for (int cz = this.minZ >> 4; cz <= this.maxZ >> 4; cz++) {
+				final long key = ChunkPos.asLong(cx, cz);
+				ChunkIndex idx = this.chunks.get(key);
+				if (idx == null) {
+					// Unloaded chunks are picked up when their data arrives
+					if (!world.isAvailable(cx << 4, cz << 4))
+						continue;
+					idx = new ChunkIndex(cx, cz);
+					this.chunks.put(key, idx);
+				}
+				for (int s = s0; s <= s1; s++) {
+					if (idx.isBuilt(s))
+						continue;
+					if (budget-- == 0) {
+						this.pending = true;
+						return;
+					}
+					build(world, idx, s);
+					final int baseY = s << 4;
+					activate(idx, this.minX, Math.max(this.minY, baseY), this.minZ, this.maxX,
+							Math.min(this.maxY, baseY + 15), this.maxZ);
+				}
+			}
+	}
+
+	private void build(@Nonnull final IBlockAccessEx world, @Nonnull final ChunkIndex idx, final int s) {
+		idx.built |= 1 << s;
+		final int baseX = idx.chunkX << 4;
+		final int baseY = s << 4;
+		final int baseZ = idx.chunkZ << 4;
+		if (world.isSectionEmpty(baseX, baseY, baseZ))
+			return;
+		// Walk in y, z, x order so the packed offsets come out sorted
+		this.scratch.resetQuick();
+		for (int y = 0; y < 16; y++)
+			for (int z = 0; z < 16; z++)
+				for (int x = 0; x < 16; x++) {
+					final IBlockState state = world.getBlockState(baseX + x, baseY + y, baseZ + z);
+					if (this.blocks.hasAlwaysOnEffects(state))
+						this.scratch.add(ChunkIndex.pack(x, y, z));
+				}
+		if (!this.scratch.isEmpty())
+			idx.sections[s] = this.scratch.toArray();
+	}
+
+	/**
+	 * Triggers the indexed positions within the box across all chunks it
+	 * touches.
+	 */
+	private void activate(final int x0, final int y0, final int z0, final int x1, final int y1, final int z1) {
+		for (int cx = x0 >> 4; cx <= x1 >> 4; cx++)
+			for (int cz = z0 >> 4; cz <= z1 >> 4; cz++) {
+				final ChunkIndex idx = this.chunks.get(ChunkPos.asLong(cx, cz));
+				if (idx != null)
+					activate(idx, x0, y0, z0, x1, y1, z1);
+			}
+	}
+
+	private void activate(@Nonnull final ChunkIndex idx, final int x0, final int y0, final int z0, final int x1,
+			final int y1, final int z1) {
+		final IBlockAccessEx world = this.locus.getWorld();
+		final int baseX = idx.chunkX << 4;
+		final int baseZ = idx.chunkZ << 4;
+		for (int s = Math.max(0, y0 >> 4); s <= Math.min(15, y1 >> 4); s++) {
+			final int[] entries = idx.sections[s];
+			if (entries == null)
+				continue;
+			final int baseY = s << 4;
+			int i = 0;
+			if (y0 > baseY) {
+				i = Arrays.binarySearch(entries, (y0 - baseY) << 8);
+				if (i < 0)
+					i = -i - 1;
+			}
+			for (; i < entries.length; i++) {
+				final int p = entries[i];
+				final int y = baseY + (p >> 8);
+				if (y > y1)
+					break;
+				final int x = baseX + (p & 15);
+				final int z = baseZ + ((p >> 4) & 15);
+				if (x < x0 || x > x1 || z < z0 || z > z1)
+					continue;
+				final IBlockState state = world.getBlockState(x, y, z);
+				if (this.blocks.hasAlwaysOnEffects(state))
+					blockScan(state, this.workingPos.setPos(x, y, z), this.random);
+			}
+		}
+	}
+
+	private void evict() {
+		final int cx0 = (this.minX >> 4) - RETAIN_CHUNKS;
+		final int cx1 = (this.maxX >> 4) + RETAIN_CHUNKS;
+		final int cz0 = (this.minZ >> 4) - RETAIN_CHUNKS;
+		final int cz1 = (this.maxZ >> 4) + RETAIN_CHUNKS;
+		this.chunks.retainEntries(
+				(key, idx) -> idx.chunkX >= cx0 && idx.chunkX <= cx1 && idx.chunkZ >= cz0 && idx.chunkZ <= cz1);
+	}
+
+	private boolean inRange(@Nonnull final BlockPos pos) {
+		return this.lastCenter != null && pos.getX() >= this.minX && pos.getX() <= this.maxX
+				&& pos.getY() >= this.minY && pos.getY() <= this.maxY && pos.getZ() >= this.minZ
+				&& pos.getZ() <= this.maxZ;
+	}
+
+	@SubscribeEvent(receiveCanceled = false)
+	public void onBlockUpdate(@Nonnull final BlockUpdateEvent event) {
+		try {
+			if (event.oldState == event.newState)
+				return;
+			final BlockPos pos = event.pos;
+			final ChunkIndex idx = this.chunks.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+			// Sections without an index are examined in full when they come in range
+			if (idx == null || !idx.isBuilt(pos.getY() >> 4))
+				return;
+			final boolean present = this.blocks.hasAlwaysOnEffects(event.newState);
+			idx.set(pos.getX(), pos.getY(), pos.getZ(), present);
+			if (present && inRange(pos))
+				blockScan(event.newState, pos, this.random);
+		} catch (final Throwable t) {
+			this.log.error("onBlockUpdate() error", t);
+		}
+	}
+
+	@SubscribeEvent
+	public void onChunkData(@Nonnull final ChunkDataUpdateEvent event) {
+		// Whatever was indexed for the chunk may be stale. If it is in range it
+		// is rebuilt next tick.
+		this.chunks.remove(ChunkPos.asLong(event.chunkX, event.chunkZ));
+		this.pending = true;
+	}
+
+	@SubscribeEvent
+	public void onChunkUnload(@Nonnull final ChunkEvent.Unload event) {
+		if (event.getWorld().isRemote) {
+			final Chunk chunk = event.getChunk();
+			this.chunks.remove(ChunkPos.asLong(chunk.x, chunk.z));
+		}
+	}
+
+	@SubscribeEvent
+	public void onRegistryReload(@Nonnull final ReloadEvent.Registry event) {
+		if (event.side == Side.CLIENT)
+			clear();
+	}
+
+}
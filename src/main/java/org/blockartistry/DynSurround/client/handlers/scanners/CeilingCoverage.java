@@ -24,15 +24,18 @@
 package org.blockartistry.DynSurround.client.handlers.scanners;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import javax.annotation.Nonnull;
 
-import org.blockartistry.DynSurround.client.ClientChunkCache;
 import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.blockartistry.lib.chunk.IBlockAccessEx;
 import org.blockartistry.lib.math.MathStuff;
+import org.blockartistry.lib.scanner.ScanLocus;
 
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.ITickable;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3i;
@@ -42,58 +45,191 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 /**
  * Performs area scanning around the player to determine area ceiling coverage.
  * Used to determine if the player is "inside" or "outside".
+ *
+ * The ceiling height of each column in the footprint is cached. A column is
+ * only examined again when a block in it changes, the world changes, or the
+ * entry gets stale, so the cost of a survey is mostly array lookups no matter
+ * how large the footprint is.
  */
 @SideOnly(Side.CLIENT)
 public final class CeilingCoverage implements ITickable {
 
+	public static final int DEFAULT_RANGE = 3;
+
 	private static final int SURVEY_INTERVAL = 2;
-	private static final int INSIDE_SURVEY_RANGE = 3;
 	private static final float INSIDE_THRESHOLD = 1.0F - 65.0F / 176.0F;
-	private static final Cell[] cells;
-	private static final float TOTAL_POINTS;
+	// Surveys before a cached column is checked again even without a block
+	// update. Covers chunk data being resent by the server.
+	private static final int COLUMN_TTL = 100;
+	// Marks a column slot as empty
+	private static final int NO_COLUMN = Integer.MIN_VALUE;
+
+	private final ScanLocus locus;
+	private final Cell[] cells;
+	private final float totalPoints;
+
+	// Direct mapped cache of column ceilings, indexed by the low bits of the
+	// X/Z coordinates. Sized so that the footprint never collides with itself.
+	private final int mask;
+	private final int shift;
+	private final int[] columnX;
+	private final int[] columnZ;
+	private final int[] columnTop;
+	private final int[] columnStamp;
+	private int worldRef;
+	private int surveyCount;
+
+	private final BlockPos.MutableBlockPos working = new BlockPos.MutableBlockPos();
 
-	static {
+	private float ceilingCoverageRatio = 0.0F;
+	private boolean reallyInside = false;
+
+	public CeilingCoverage() {
+		this(new ClientPlayerLocus());
+	}
+
+	public CeilingCoverage(@Nonnull final ScanLocus locus) {
+		this(locus, DEFAULT_RANGE);
+	}
+
+	/**
+	 * @param locus
+	 *            Provides the world and center of the survey
+	 * @param range
+	 *            Number of blocks out from the center to sample. Cells further
+	 *            out carry less weight so the inside threshold holds for any
+	 *            range.
+	 */
+	public CeilingCoverage(@Nonnull final ScanLocus locus, final int range) {
+		this.locus = locus;
 
 		final List<Cell> cellList = new ArrayList<>();
 		// Build our cell map
-		for (int x = -INSIDE_SURVEY_RANGE; x <= INSIDE_SURVEY_RANGE; x++)
-			for (int z = -INSIDE_SURVEY_RANGE; z <= INSIDE_SURVEY_RANGE; z++)
-				cellList.add(new Cell(new Vec3i(x, 0, z), INSIDE_SURVEY_RANGE));
+		for (int x = -range; x <= range; x++)
+			for (int z = -range; z <= range; z++)
+				cellList.add(new Cell(new Vec3i(x, 0, z), range));
 
 		// Sort so the highest score cells are first
 		Collections.sort(cellList);
-		cells = cellList.toArray(new Cell[0]);
+		this.cells = cellList.toArray(new Cell[0]);
 
-		float totalPoints = 0.0F;
+		float points = 0.0F;
 		for (final Cell c : cellList)
-			totalPoints += c.potentialPoints();
-		TOTAL_POINTS = totalPoints;
-	}
+			points += c.potentialPoints();
+		this.totalPoints = points;
 
-	private float ceilingCoverageRatio = 0.0F;
-	private boolean reallyInside = false;
+		int size = 1;
+		int bits = 0;
+		while (size < range * 2 + 1) {
+			size <<= 1;
+			bits++;
+		}
+		this.mask = size - 1;
+		this.shift = bits;
+		this.columnX = new int[size * size];
+		this.columnZ = new int[size * size];
+		this.columnTop = new int[size * size];
+		this.columnStamp = new int[size * size];
+		Arrays.fill(this.columnTop, NO_COLUMN);
+	}
 
 	@Override
 	public void update() {
-		if (EnvironState.getTickCounter() % SURVEY_INTERVAL == 0) {
-			final BlockPos pos = EnvironState.getPlayerPosition();
-			float score = 0.0F;
-			for (int i = 0; i < cells.length; i++)
-				score += cells[i].score(pos);
-			this.ceilingCoverageRatio = 1.0F - (score / TOTAL_POINTS);
-			this.reallyInside = this.ceilingCoverageRatio > INSIDE_THRESHOLD;
+		if (EnvironState.getTickCounter() % SURVEY_INTERVAL == 0)
+			survey();
+	}
+
+	/**
+	 * Performs a survey of the area around the locus center regardless of the
+	 * current tick.
+	 */
+	public void survey() {
+		final IBlockAccessEx world = this.locus.getWorld();
+		final BlockPos pos = this.locus.getCenter();
+
+		if (world.worldReference() != this.worldRef) {
+			this.worldRef = world.worldReference();
+			Arrays.fill(this.columnTop, NO_COLUMN);
+		}
+		this.surveyCount++;
+
+		final int playerY = pos.getY();
+		float score = 0.0F;
+		for (int i = 0; i < this.cells.length; i++) {
+			final Cell cell = this.cells[i];
+			final int x = pos.getX() + cell.offset.getX();
+			final int z = pos.getZ() + cell.offset.getZ();
+			if ((ceiling(world, x, z) - playerY) < 3)
+				score += cell.points;
 		}
+		this.ceilingCoverageRatio = 1.0F - (score / this.totalPoints);
+		this.reallyInside = this.ceilingCoverageRatio > INSIDE_THRESHOLD;
+	}
+
+	/**
+	 * Drops the cached ceiling for the column containing the position. Called
+	 * when a block changes.
+	 */
+	public void invalidate(@Nonnull final BlockPos pos) {
+		final int slot = slot(pos.getX(), pos.getZ());
+		if (this.columnX[slot] == pos.getX() && this.columnZ[slot] == pos.getZ())
+			this.columnTop[slot] = NO_COLUMN;
+	}
+
+	public float getCoverageRatio() {
+		return this.ceilingCoverageRatio;
 	}
 
 	public boolean isReallyInside() {
 		return this.reallyInside;
 	}
 
+	private int slot(final int x, final int z) {
+		return ((x & this.mask) << this.shift) | (z & this.mask);
+	}
+
+	private int ceiling(@Nonnull final IBlockAccessEx world, final int x, final int z) {
+		final int slot = slot(x, z);
+		if (this.columnTop[slot] != NO_COLUMN && this.columnX[slot] == x && this.columnZ[slot] == z
+				&& this.surveyCount - this.columnStamp[slot] < COLUMN_TTL)
+			return this.columnTop[slot];
+
+		// Chunks that have yet to arrive are not cached; they read as open sky
+		if (!world.isAvailable(x, z))
+			return -1;
+
+		final int top = findCeiling(world, x, z);
+		this.columnX[slot] = x;
+		this.columnZ[slot] = z;
+		this.columnTop[slot] = top;
+		this.columnStamp[slot] = this.surveyCount;
+		return top;
+	}
+
+	/**
+	 * Same result as World.getTopSolidOrLiquidBlock(), but rather than walking
+	 * down from the top of the chunk it starts at the precipitation height. That
+	 * comes from the chunk height map, and nothing above it blocks movement, so
+	 * usually the first block examined is the answer. The walk continues only
+	 * through leaves and foliage.
+	 */
+	private int findCeiling(@Nonnull final IBlockAccessEx world, final int x, final int z) {
+		this.working.setPos(x, 0, z);
+		final int start = world.getPrecipitationHeight(this.working).getY() - 1;
+		for (int y = start; y >= 0; y--) {
+			this.working.setPos(x, y, z);
+			final IBlockState state = world.getBlockState(this.working);
+			if (state.getMaterial().blocksMovement() && !state.getBlock().isLeaves(state, world, this.working)
+					&& !state.getBlock().isFoliage(world, this.working))
+				return y + 1;
+		}
+		return -1;
+	}
+
 	private static final class Cell implements Comparable<Cell> {
 
 		private final Vec3i offset;
 		private final float points;
-		private final BlockPos.MutableBlockPos working;
 
 		public Cell(@Nonnull final Vec3i offset, final int range) {
 			this.offset = offset;
@@ -101,20 +237,12 @@ public final class CeilingCoverage implements ITickable {
 			final float zV = range - MathStuff.abs(offset.getZ()) + 1;
 			final float candidate = Math.min(xV, zV);
 			this.points = candidate * candidate;
-			this.working = new BlockPos.MutableBlockPos();
 		}
 
 		public float potentialPoints() {
 			return this.points;
 		}
 
-		public float score(@Nonnull final BlockPos playerPos) {
-			this.working.setPos(playerPos.getX() + this.offset.getX(), playerPos.getY() + this.offset.getY(),
-					playerPos.getZ() + this.offset.getZ());
-			final int y = ClientChunkCache.INSTANCE.getTopSolidOrLiquidBlock(this.working).getY();
-			return ((y - playerPos.getY()) < 3) ? this.points : 0.0F;
-		}
-
 		@Override
 		public int compareTo(@Nonnull final Cell cell) {
 			// Want big scores first in the list
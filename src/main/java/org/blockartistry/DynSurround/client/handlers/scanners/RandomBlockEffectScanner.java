@@ -33,6 +33,7 @@ import org.blockartistry.DynSurround.client.ClientRegistry;
 import org.blockartistry.DynSurround.client.fx.BlockEffect;
 import org.blockartistry.DynSurround.client.sound.SoundEffect;
 import org.blockartistry.DynSurround.registry.BlockProfile;
+import org.blockartistry.DynSurround.registry.BlockRegistry;
 import org.blockartistry.lib.chunk.IBlockAccessEx;
 import org.blockartistry.lib.scanner.RandomScanner;
 import org.blockartistry.lib.scanner.ScanLocus;
@@ -52,6 +53,12 @@ import net.minecraftforge.fml.relauncher.SideOnly;
  * overlap with the 16 block range when generating the 32 block version, but
  * since the iteration has been reduce to 667 (from 1000 in MC 1.7.10) it should
  * compensate.
+ *
+ * When adaptive scan budgets are enabled the 667 is only the starting point;
+ * the handler attaches a ScanBudget that moves the count up or down based on
+ * how long the scan actually takes. The chance of a block triggering its
+ * effects is scaled by 667 over the current count so the density of ambient
+ * effects stays the same as the budget moves.
  */
 @SideOnly(Side.CLIENT)
 public class RandomBlockEffectScanner extends RandomScanner {
@@ -61,11 +68,21 @@ public class RandomBlockEffectScanner extends RandomScanner {
 	public static final int NEAR_RANGE = 16;
 	public static final int FAR_RANGE = 32;
 
+	protected final BlockRegistry blocks;
 	protected BlockProfile profile = null;
 	protected IBlockState lastState = null;
 
+	// Multiplier on effect chances for the current budget
+	protected float triggerScale = 1F;
+
 	public RandomBlockEffectScanner(@Nonnull final ScanLocus locus, final int range) {
+		this(locus, range, ClientRegistry.BLOCK);
+	}
+
+	public RandomBlockEffectScanner(@Nonnull final ScanLocus locus, final int range,
+			@Nonnull final BlockRegistry blocks) {
 		super(locus, "RandomBlockScanner: " + range, range, ITERATION_COUNT);
+		this.blocks = blocks;
 		setLogger(DSurround.log());
 	}
 
@@ -75,23 +92,31 @@ public class RandomBlockEffectScanner extends RandomScanner {
 			return false;
 		if (this.lastState != state) {
 			this.lastState = state;
-			this.profile = ClientRegistry.BLOCK.findProfile(state);
+			this.profile = this.blocks.findProfile(state);
 		}
 		return this.profile.hasSoundsOrEffects();
 	}
 
 	@Override
-	public void blockScan(@Nonnull final IBlockState state, @Nonnull final BlockPos pos, @Nonnull final Random rand) {
+	public void preScan() {
+		super.preScan();
+		this.triggerScale = (float) ITERATION_COUNT / getBlocksPerTick();
+	}
 
+	@Override
+	public void blockScan(@Nonnull final IBlockState state, @Nonnull final BlockPos pos, @Nonnull final Random rand) {
+		// A larger budget samples more blocks so each gets proportionally less
+		// of a chance, and a smaller one gives each block better odds. Either
+		// way a block gets a single roll per effect.
 		final IBlockAccessEx provider = this.locus.getWorld();
 		final BlockEffect[] effects = this.profile.getEffects();
 		for (int i = 0; i < effects.length; i++) {
 			final BlockEffect be = effects[i];
-			if (be.canTrigger(provider, state, pos, rand))
+			if (be.canTrigger(provider, state, pos, rand, this.triggerScale))
 				be.doEffect(provider, state, pos, rand);
 		}
 
-		final SoundEffect sound = this.profile.getSoundToPlay(rand);
+		final SoundEffect sound = this.profile.getSoundToPlay(rand, this.triggerScale);
 		if (sound != null)
 			sound.doEffect(provider, state, pos, rand);
 	}
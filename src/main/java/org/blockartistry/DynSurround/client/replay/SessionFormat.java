@@ -0,0 +1,78 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.DynSurround.client.replay;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Layout of a recorded session file. The file is a GZIP stream holding a
+ * small header followed by tagged records. Block updates and sound events for
+ * a tick are written as they happen and the TICK record that follows closes
+ * the frame. Sound names are written once into a string table and referenced
+ * by index afterwards.
+ *
+ * Only what the replay harness consumes is recorded: the player's horizontal
+ * path, block updates and sound requests.
+ */
+public final class SessionFormat {
+
+	public static final int MAGIC = 0x44535250; // "DSRP"
+	public static final int VERSION = 2;
+
+	public static final int TAG_END = 0;
+	public static final int TAG_STRING = 1;
+	public static final int TAG_TICK = 2;
+	public static final int TAG_BLOCK = 3;
+	public static final int TAG_SOUND = 4;
+
+	private SessionFormat() {
+
+	}
+
+	public static void writeVarInt(@Nonnull final DataOutput out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	public static int readVarInt(@Nonnull final DataInput in) throws IOException {
+		int value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			if (shift >= 35)
+				throw new IOException("VarInt too long");
+			b = in.readByte();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.DynSurround.client.replay;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import javax.annotation.Nonnull;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.list.array.TLongArrayList;
+
+/**
+ * Reads a session written by SessionRecorder one frame at a time. Frames are
+ * reused between calls so a long session can be streamed without holding it
+ * all in memory.
+ */
+public final class SessionReader implements Closeable {
+
+	public static final class Frame {
+
+		public int tick;
+		public double x;
+		public double z;
+
+		// Block updates: packed position and block state id
+		public final TLongArrayList blockPos = new TLongArrayList();
+		public final TIntArrayList blockState = new TIntArrayList();
+
+		// Names of the sounds requested
+		public final List<String> sounds = new ArrayList<>();
+
+		void clear() {
+			this.blockPos.resetQuick();
+			this.blockState.resetQuick();
+			this.sounds.clear();
+		}
+	}
+
+	private final DataInputStream in;
+	private final List<String> strings = new ArrayList<>();
+	private boolean eof;
+
+	public SessionReader(@Nonnull final File file) throws IOException {
+		this.in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))));
+		if (this.in.readInt() != SessionFormat.MAGIC)
+			throw new IOException("Not a session recording: " + file.getName());
+		final int version = this.in.readUnsignedByte();
+		if (version != SessionFormat.VERSION)
+			throw new IOException("Unsupported session version " + version);
+	}
+
+	/**
+	 * Reads the next frame into the supplied object. Returns false when the
+	 * end of the session has been reached.
+	 */
+	public boolean next(@Nonnull final Frame frame) throws IOException {
+		if (this.eof)
+			return false;
+
+		frame.clear();
+		for (;;) {
+			final int tag = this.in.readUnsignedByte();
+			switch (tag) {
+			case SessionFormat.TAG_END:
+				this.eof = true;
+				return false;
+			case SessionFormat.TAG_STRING:
+				this.strings.add(this.in.readUTF());
+				break;
+			case SessionFormat.TAG_BLOCK:
+				frame.blockPos.add(this.in.readLong());
+				frame.blockState.add(SessionFormat.readVarInt(this.in));
+				break;
+			case SessionFormat.TAG_SOUND:
+				frame.sounds.add(string(SessionFormat.readVarInt(this.in)));
+				break;
+			case SessionFormat.TAG_TICK:
+				frame.tick = this.in.readInt();
+				frame.x = this.in.readDouble();
+				frame.z = this.in.readDouble();
+				return true;
+			default:
+				throw new IOException("Unknown record tag " + tag);
+			}
+		}
+	}
+
+	private String string(final int idx) throws IOException {
+		if (idx < 0 || idx >= this.strings.size())
+			throw new IOException("Bad string reference " + idx);
+		return this.strings.get(idx);
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.in.close();
+	}
+}
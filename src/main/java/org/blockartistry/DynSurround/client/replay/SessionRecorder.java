@@ -0,0 +1,198 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.DynSurround.client.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.DynSurround.DSurround;
+import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.blockartistry.DynSurround.event.BlockUpdateEvent;
+
+import gnu.trove.map.hash.TObjectIntHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.audio.ISound;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraftforge.client.event.sound.PlaySoundEvent;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Captures the inputs that drive the effect handlers to a session file so
+ * they can be replayed headless. One frame is written per unpaused client
+ * tick; see SessionFormat for the layout. Only what the replay harness uses is
+ * captured: the player's path, block updates and sound requests.
+ *
+ * Sound events can be posted from threads other than the client thread, so
+ * everything that touches the stream or the string table holds the class
+ * lock. The stream is volatile so that handlers can skip the lock entirely
+ * when nothing is being recorded.
+ */
+@SideOnly(Side.CLIENT)
+public final class SessionRecorder {
+
+	private static volatile DataOutputStream out;
+	private static volatile File file;
+	private static final TObjectIntHashMap<String> strings = new TObjectIntHashMap<>(64, 0.5F, -1);
+	private static int frames;
+
+	private SessionRecorder() {
+
+	}
+
+	public static boolean isRecording() {
+		return out != null;
+	}
+
+	public static File getFile() {
+		return file;
+	}
+
+	public static synchronized int getFrameCount() {
+		return frames;
+	}
+
+	public static synchronized void start(@Nonnull final File target) throws IOException {
+		stop();
+		final DataOutputStream stream = new DataOutputStream(
+				new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(target), 1 << 16)));
+		stream.writeInt(SessionFormat.MAGIC);
+		stream.writeByte(SessionFormat.VERSION);
+		out = stream;
+		file = target;
+		frames = 0;
+		strings.clear();
+	}
+
+	public static synchronized void stop() {
+		if (out == null)
+			return;
+		try {
+			out.writeByte(SessionFormat.TAG_END);
+			out.close();
+		} catch (final IOException ex) {
+			DSurround.log().error("Unable to finish session recording", ex);
+		}
+		out = null;
+	}
+
+	private static void fail(@Nonnull final IOException ex) {
+		DSurround.log().error("Session recording stopped", ex);
+		try {
+			out.close();
+		} catch (final IOException ignore) {
+			;
+		}
+		out = null;
+	}
+
+	private static int string(@Nonnull final String s) throws IOException {
+		int idx = strings.get(s);
+		if (idx < 0) {
+			idx = strings.size();
+			strings.put(s, idx);
+			out.writeByte(SessionFormat.TAG_STRING);
+			out.writeUTF(s);
+		}
+		return idx;
+	}
+
+	@SubscribeEvent
+	public static void clientTick(@Nonnull final TickEvent.ClientTickEvent event) {
+		if (out == null || event.phase != TickEvent.Phase.END)
+			return;
+
+		final Minecraft mc = Minecraft.getMinecraft();
+		final EntityPlayer player = mc.player;
+		if (player == null || mc.world == null || mc.isGamePaused())
+			return;
+
+		writeTick(player);
+	}
+
+	private static synchronized void writeTick(@Nonnull final EntityPlayer player) {
+		if (out == null)
+			return;
+		try {
+			out.writeByte(SessionFormat.TAG_TICK);
+			out.writeInt(EnvironState.getTickCounter());
+			out.writeDouble(player.posX);
+			out.writeDouble(player.posZ);
+			frames++;
+		} catch (final IOException ex) {
+			fail(ex);
+		}
+	}
+
+	@SubscribeEvent
+	public static void blockUpdate(@Nonnull final BlockUpdateEvent event) {
+		if (out != null)
+			writeBlock(event);
+	}
+
+	private static synchronized void writeBlock(@Nonnull final BlockUpdateEvent event) {
+		if (out == null)
+			return;
+		try {
+			out.writeByte(SessionFormat.TAG_BLOCK);
+			out.writeLong(event.pos.toLong());
+			SessionFormat.writeVarInt(out, Block.getStateId(event.newState));
+		} catch (final IOException ex) {
+			fail(ex);
+		}
+	}
+
+	// Highest so the sound is captured as requested, before culling and
+	// blocking, letting a replay try different sound settings.
+	@SubscribeEvent(priority = EventPriority.HIGHEST)
+	public static void soundPlay(@Nonnull final PlaySoundEvent event) {
+		if (out == null)
+			return;
+		final ISound sound = event.getSound();
+		if (sound != null && sound.getSoundLocation() != null)
+			writeSound(sound);
+	}
+
+	private static synchronized void writeSound(@Nonnull final ISound sound) {
+		if (out == null)
+			return;
+		try {
+			final int name = string(sound.getSoundLocation().toString());
+			out.writeByte(SessionFormat.TAG_SOUND);
+			SessionFormat.writeVarInt(out, name);
+		} catch (final IOException ex) {
+			fail(ex);
+		}
+	}
+}
@@ -0,0 +1,210 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.DynSurround.client.sound;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.blockartistry.DynSurround.DSurround;
+import org.blockartistry.lib.collections.HandoffQueue;
+
+import net.minecraftforge.fml.relauncher.ReflectionHelper;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import paulscode.sound.Library;
+import paulscode.sound.SoundSystem;
+import paulscode.sound.SoundSystemConfig;
+
+/**
+ * Owns all of the calls Dynamic Surroundings makes into the paulscode sound
+ * system apart from starting a sound, which has to go through the vanilla
+ * SoundManager on the client thread. The client thread buffers stop and
+ * volume commands without locking and once a tick asks for a batch to be
+ * applied. The worker applies the batch, flushes the sound system command
+ * queue, and publishes a count of the allocated sources so the client thread
+ * never has to take the sound system lock to ask.
+ *
+ * Sounds are still started on the client thread through the vanilla
+ * SoundManager; its bookkeeping is not thread safe.
+ *
+ * The worker must not touch a sound system that is being torn down. It is
+ * stopped when the SoundManager unloads the sound system, and the client
+ * thread does not hand it a sound system again until one has loaded.
+ */
+@SideOnly(Side.CLIENT)
+final class SoundCommandWorker implements Runnable {
+
+	private static final Field getSoundLibrary = ReflectionHelper.findField(SoundSystem.class, "soundLibrary");
+
+	private static final int MAX_COMMANDS = 1024;
+
+	/**
+	 * Sound system state as of the end of a batch.
+	 */
+	static final class Snapshot {
+
+		static final Snapshot EMPTY = new Snapshot(0, 0, 0);
+
+		// Batch the snapshot was taken after
+		final int batch;
+		// Number of plays the client had issued when the batch was requested
+		final int plays;
+		// Number of sources allocated in the sound system
+		final int sources;
+
+		Snapshot(final int batch, final int plays, final int sources) {
+			this.batch = batch;
+			this.plays = plays;
+			this.sources = sources;
+		}
+	}
+
+	private final HandoffQueue<Consumer<SoundSystem>> commands = new HandoffQueue<>(MAX_COMMANDS);
+
+	private Thread thread;
+	private volatile boolean running;
+	private volatile SoundSystem system;
+	private volatile int requestedPlays;
+	private volatile int requestedBatch;
+	private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+	@Nonnull
+	Snapshot getSnapshot() {
+		return this.snapshot;
+	}
+
+	/**
+	 * Queues a command for the next batch. If the buffer is full the command is
+	 * handed straight to the sound system from the calling thread.
+	 */
+	void submit(@Nonnull final SoundSystem system, @Nonnull final Consumer<SoundSystem> command) {
+		if (!this.commands.offer(command))
+			command.accept(system);
+	}
+
+	/**
+	 * Asks the worker to apply everything submitted so far. Called once a tick
+	 * from the client thread.
+	 *
+	 * @param system
+	 *            The sound system currently in use by the SoundManager
+	 * @param batch
+	 *            Sequence number of the batch
+	 * @param plays
+	 *            Running count of sounds the client has started
+	 */
+	void requestBatch(@Nullable final SoundSystem system, final int batch, final int plays) {
+		if (system == null && this.thread == null) {
+			// Stopped, and there is no sound system to work on
+			this.commands.clear();
+			this.snapshot = new Snapshot(batch, plays, 0);
+			return;
+		}
+
+		this.system = system;
+		this.requestedPlays = plays;
+		this.requestedBatch = batch;
+		if (this.thread == null) {
+			this.running = true;
+			this.thread = new Thread(this, "DSurround Sound Worker");
+			this.thread.setDaemon(true);
+			this.thread.start();
+		} else {
+			LockSupport.unpark(this.thread);
+		}
+	}
+
+	/**
+	 * Stops the worker and waits for the batch in progress, if any, to finish.
+	 * Anything still buffered is dropped along with the sound system it was
+	 * meant for. Called from the client thread.
+	 */
+	void stop() {
+		final Thread t = this.thread;
+		if (t == null)
+			return;
+
+		this.thread = null;
+		this.running = false;
+		LockSupport.unpark(t);
+		try {
+			t.join(1000);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (t.isAlive())
+			DSurround.log().warn("Sound worker did not stop in time");
+
+		this.system = null;
+		this.commands.clear();
+		final Snapshot last = this.snapshot;
+		this.snapshot = new Snapshot(last.batch, last.plays, 0);
+	}
+
+	@Override
+	public void run() {
+		int processed = 0;
+		while (this.running) {
+			final int batch = this.requestedBatch;
+			if (batch == processed) {
+				LockSupport.park(this);
+				continue;
+			}
+			final int plays = this.requestedPlays;
+			final SoundSystem sys = this.system;
+			processed = batch;
+
+			try {
+				if (sys == null) {
+					this.commands.clear();
+					this.snapshot = new Snapshot(batch, plays, 0);
+				} else {
+					this.commands.drain(c -> c.accept(sys));
+					sys.CommandQueue(null);
+					this.snapshot = takeSnapshot(sys, batch, plays);
+				}
+			} catch (@Nonnull final Throwable t) {
+				DSurround.log().error("Error processing sound commands", t);
+			}
+		}
+	}
+
+	@Nonnull
+	private static Snapshot takeSnapshot(@Nonnull final SoundSystem sys, final int batch, final int plays)
+			throws IllegalAccessException {
+		final Library library = (Library) getSoundLibrary.get(sys);
+		if (library == null)
+			return new Snapshot(batch, plays, 0);
+
+		final int sources;
+		synchronized (SoundSystemConfig.THREAD_SYNC) {
+			sources = library.getSources().size();
+		}
+		return new Snapshot(batch, plays, sources);
+	}
+}
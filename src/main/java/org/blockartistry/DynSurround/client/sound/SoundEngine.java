@@ -49,6 +49,8 @@ import org.blockartistry.lib.ThreadGuard.Action;
 import org.blockartistry.lib.collections.IdentityHashSet;
 import org.blockartistry.lib.compat.ModEnvironment;
 import org.blockartistry.lib.math.MathStuff;
+import org.blockartistry.lib.math.TimerEMA;
+import org.blockartistry.lib.profiler.ProfileTimer;
 import org.blockartistry.lib.sound.ITrackedSound;
 import org.blockartistry.lib.sound.SoundState;
 import org.lwjgl.BufferUtils;
@@ -105,9 +107,12 @@ public final class SoundEngine {
 			"field_148620_e");
 	private static final Field getPlayingSounds = ReflectionHelper.findField(SoundManager.class, "playingSounds",
 			"field_148629_h");
+	private static final Field getInvPlayingSounds = ReflectionHelper.findField(SoundManager.class,
+			"invPlayingSounds", "field_148630_i");
 	private static final Field getDelayedSounds = ReflectionHelper.findField(SoundManager.class, "delayedSounds",
 			"field_148626_m");
 	private static final Field getSoundLibrary = ReflectionHelper.findField(SoundSystem.class, "soundLibrary");
+	private static final Field getLoaded = ReflectionHelper.findField(SoundManager.class, "loaded", "field_148617_f");
 
 	private static final float MUTE_VOLUME = 0.00001F;
 	private static final int MAX_STREAM_CHANNELS = 16;
@@ -123,19 +128,50 @@ public final class SoundEngine {
 		return instance_;
 	}
 
+	/**
+	 * Number of channels the sound system was configured with. Zero until the
+	 * sound system has been set up.
+	 */
+	public static int getMaxSounds() {
+		return maxSounds;
+	}
+
 	// Protection for bad behaved mods...
 	private final ThreadGuard guard = new ThreadGuard(DSurround.log(), Side.CLIENT, "SoundManager")
 			.setAction(DSurround.isDeveloperMode() ? Action.EXCEPTION
 					: ModOptions.logging.enableDebugLogging ? Action.LOG : Action.NONE);
 
+	// Sounds being monitored. A sound is considered playing for as long as
+	// vanilla keeps it in its playing map. That covers streaming sources the
+	// sound system thread has yet to start as well as vanilla's stop time grace,
+	// and keeps our state in step with vanilla's bookkeeping.
 	private final Set<ITrackedSound> queuedSounds = new IdentityHashSet<>();
 
+	// Stop and volume changes are buffered and applied off the client thread
+	private final SoundCommandWorker worker = new SoundCommandWorker();
+	// Batch that will be submitted to the worker at the end of this tick
+	private int batch = 1;
+	// Running count of sounds started; lets canFitSound() account for sounds
+	// the last snapshot has not seen
+	private int playCount;
+	// Batch in which the last mute change was requested
+	private int muteBatch;
+	private boolean muteRequested;
+
 	private String playedSoundId = null;
 
+	// Time spent in calls into the Minecraft sound manager/sound system
+	private final TimerEMA timer = new ProfileTimer("Sound Engine");
+
 	private SoundEngine() {
 		MinecraftForge.EVENT_BUS.register(this);
 	}
 
+	@Nonnull
+	public TimerEMA getTimer() {
+		return this.timer;
+	}
+
 	/**
 	 * Obtains the SoundRegistry from the SoundHandler
 	 *
@@ -166,25 +202,16 @@ public final class SoundEngine {
 		return null;
 	}
 
+	// Sources allocated as of the last snapshot plus anything started since
 	private int currentSoundCount() {
-		try {
-			synchronized (SoundSystemConfig.THREAD_SYNC) {
-				return getSoundLibrary().getSources().size();
-			}
-		} catch (final Throwable t) {
-			;
-		}
-		return 0;
+		final SoundCommandWorker.Snapshot snapshot = this.worker.getSnapshot();
+		return snapshot.sources + (this.playCount - snapshot.plays);
 	}
 
 	private boolean canFitSound() {
 		return currentSoundCount() < (maxSounds - SOUND_QUEUE_SLACK);
 	}
 
-	public static void flushSound() {
-		instance().flushSoundQueue();
-	}
-	
 	private void flushSoundQueue() {
 		getSoundSystem().CommandQueue(null);
 	}
@@ -201,6 +228,10 @@ public final class SoundEngine {
 		return resolve(getPlayingSounds, getSoundManager());
 	}
 
+	protected Map<ISound, String> getInvPlayingSounds() {
+		return resolve(getInvPlayingSounds, getSoundManager());
+	}
+
 	protected Map<ISound, Integer> getDelayedSounds() {
 		return resolve(getDelayedSounds, getSoundManager());
 	}
@@ -224,9 +255,11 @@ public final class SoundEngine {
 	 */
 	public void stopSound(@Nonnull final ITrackedSound sound) {
 		if (sound.getState().isActive()) {
-			getSoundSystem().stop(sound.getId());
+			final long start = System.nanoTime();
+			final String id = sound.getId();
+			this.worker.submit(getSoundSystem(), sys -> sys.stop(id));
 			getDelayedSounds().remove(sound);
-			flushSoundQueue();
+			this.timer.update(System.nanoTime() - start);
 		}
 	}
 
@@ -234,9 +267,11 @@ public final class SoundEngine {
 	 * Stops all playing and pending sounds. All lists and queues are dumped.
 	 */
 	public void stopAllSounds() {
+		final long start = System.nanoTime();
 		getSoundManager().stopAllSounds();
 		flushSoundQueue();
 		clearOrphans();
+		this.timer.update(System.nanoTime() - start);
 	}
 
 	/**
@@ -266,12 +301,14 @@ public final class SoundEngine {
 		} else {
 			// Play the sound if actual music is not installed or the sound is not music
 			if (!ModEnvironment.ActualMusic.isLoaded() || sound.getCategory() != SoundCategory.MUSIC) {
-				synchronized (SoundSystemConfig.THREAD_SYNC) {
-					this.playedSoundId = null;
-					getSoundManager().playSound(sound);
-					if (this.playedSoundId != null)
-						sound.setId(this.playedSoundId);
+				final long start = System.nanoTime();
+				this.playedSoundId = null;
+				getSoundManager().playSound(sound);
+				if (this.playedSoundId != null) {
+					sound.setId(this.playedSoundId);
+					this.playCount++;
 				}
+				this.timer.update(System.nanoTime() - start);
 			}
 
 			// If no ID was set there was an error. Else assume it is in a play state.
@@ -321,7 +358,7 @@ public final class SoundEngine {
 	public void clientTick(@Nonnull TickEvent.ClientTickEvent event) {
 		if (event.side == Side.CLIENT && event.phase == Phase.END) {
 			final Map<ISound, Integer> delayedSounds = getDelayedSounds();
-			final SoundManager manager = getSoundManager();
+			final Map<ISound, String> invPlayingSounds = getInvPlayingSounds();
 			// Process our queued sounds to make sure the state is appropriate. A sound can
 			// move between the playing sound list and the delayed sound list based on its
 			// attributes so we need to make sure we detect that.
@@ -329,14 +366,15 @@ public final class SoundEngine {
 				switch (sound.getState()) {
 				case DELAYED:
 					if (!delayedSounds.containsKey(sound)) {
-						if (manager.isSoundPlaying(sound))
+						// Vanilla restarted it this tick
+						if (invPlayingSounds.containsKey(sound))
 							sound.setState(SoundState.PLAYING);
 						else
 							sound.setState(SoundState.DONE);
 					}
 					break;
 				case PLAYING:
-					if (!manager.isSoundPlaying(sound)) {
+					if (!invPlayingSounds.containsKey(sound)) {
 						if (delayedSounds.containsKey(sound))
 							sound.setState(SoundState.DELAYED);
 						else
@@ -348,15 +386,52 @@ public final class SoundEngine {
 				}
 				return !sound.getState().isActive();
 			});
+
+			// Nothing is handed to the worker while the sound system is unloaded or
+			// still loading
+			final SoundSystem system = isSoundSystemLoaded() ? getSoundSystem() : null;
+			this.worker.requestBatch(system, this.batch++, this.playCount);
+		}
+	}
+
+	private boolean isSoundSystemLoaded() {
+		try {
+			return getLoaded.getBoolean(getSoundManager());
+		} catch (final Throwable t) {
+			return false;
 		}
 	}
 
+	/**
+	 * Called at the head of SoundManager.unloadSoundSystem(), which runs when
+	 * the sound system is reloaded and when the game shuts down. The worker is
+	 * stopped before the sound system goes away; it starts again with the first
+	 * batch after the sound system has loaded.
+	 */
+	public static void onUnloadSoundSystem(@Nonnull final SoundManager manager) {
+		if (instance_ != null)
+			instance_.worker.stop();
+	}
+
+	/**
+	 * Determines if the sound is known to the vanilla SoundManager, either as
+	 * playing or waiting to be played. Vanilla keeps a sound in its maps for a
+	 * while after the source stops, and the same ISound cannot be submitted
+	 * again until it lets go of it.
+	 */
+	public boolean isSoundInUse(@Nonnull final ISound sound) {
+		return getInvPlayingSounds().containsKey(sound) || getDelayedSounds().containsKey(sound);
+	}
+
 	/**
 	 * Checks to see if the sound system has been muted.
 	 *
 	 * @return true if it has been muted, false otherwise
 	 */
 	public boolean isMuted() {
+		// Report the pending request until the worker has applied it
+		if (this.muteBatch > this.worker.getSnapshot().batch)
+			return this.muteRequested;
 		try {
 			return getSoundSystem().getMasterVolume() == MUTE_VOLUME;
 		} catch (final Throwable t) {
@@ -374,13 +449,18 @@ public final class SoundEngine {
 	public void setMuted(final boolean flag) {
 		// OpenEye: Looks like the command thread is dead or not initialized.
 		try {
+			final float volume;
 			if (flag) {
-				getSoundSystem().setMasterVolume(MUTE_VOLUME);
+				volume = MUTE_VOLUME;
 			} else {
 				final GameSettings options = Minecraft.getMinecraft().gameSettings;
-				if (options != null)
-					getSoundSystem().setMasterVolume(options.getSoundLevel(SoundCategory.MASTER));
+				if (options == null)
+					return;
+				volume = options.getSoundLevel(SoundCategory.MASTER);
 			}
+			this.worker.submit(getSoundSystem(), sys -> sys.setMasterVolume(volume));
+			this.muteRequested = flag;
+			this.muteBatch = this.batch;
 		} catch (final Throwable t) {
 			// Silent - at some point the thread will come back and can be
 			// issued a mute.
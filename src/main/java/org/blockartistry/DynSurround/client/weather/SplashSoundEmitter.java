@@ -0,0 +1,261 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.client.weather;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.blockartistry.DynSurround.client.handlers.SoundEffectHandler;
+import org.blockartistry.DynSurround.client.sound.AdhocSound;
+import org.blockartistry.DynSurround.client.sound.SoundEngine;
+import org.blockartistry.lib.math.MathStuff;
+
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Collects the splashes a StormSplashRenderer spawns and turns them into a
+ * small number of positional sounds. Each tick the splashes are gathered into
+ * a handful of clusters; a sound is played at the centroid of the densest
+ * cluster and its volume reflects how many splashes landed there.
+ *
+ * The number of splash sounds that can be alive at once is bounded. A sound is
+ * only reused once the vanilla SoundManager has let go of it. The size of the
+ * pool and the number of sounds per second are derived from the number of
+ * channels the sound engine was configured with, so heavy rain cannot crowd
+ * out other sounds.
+ */
+@SideOnly(Side.CLIENT)
+public class SplashSoundEmitter {
+
+	// Splashes within this distance of a cluster's first splash join it
+	private static final double CLUSTER_RANGE_SQ = 6D * 6D;
+	private static final int CLUSTER_COUNT = 4;
+
+	// Splashes a cluster needs for its sound to play at full volume
+	private static final int FULL_DENSITY = 12;
+	private static final float MIN_VOLUME_SCALE = 0.6F;
+
+	// Splash sounds get one voice in VOICE_SHARE of the sound engine's channels
+	private static final int VOICE_SHARE = 8;
+	private static final int MIN_VOICES = 2;
+	private static final int MAX_VOICES = 8;
+	// Splash samples are short so a voice frees up about this often a second
+	private static final int SOUNDS_PER_VOICE = 2;
+
+	private static final class Cluster {
+		double anchorX;
+		double anchorY;
+		double anchorZ;
+		double sumX;
+		double sumY;
+		double sumZ;
+		int hits;
+
+		void start(final double x, final double y, final double z) {
+			this.anchorX = x;
+			this.anchorY = y;
+			this.anchorZ = z;
+			this.sumX = this.sumY = this.sumZ = 0;
+			this.hits = 0;
+			add(x, y, z);
+		}
+
+		void add(final double x, final double y, final double z) {
+			this.sumX += x;
+			this.sumY += y;
+			this.sumZ += z;
+			this.hits++;
+		}
+
+		double distanceSq(final double x, final double y, final double z) {
+			final double dX = this.anchorX - x;
+			final double dY = this.anchorY - y;
+			final double dZ = this.anchorZ - z;
+			return dX * dX + dY * dY + dZ * dZ;
+		}
+	}
+
+	private final Cluster[] clusters = new Cluster[CLUSTER_COUNT];
+	private int clusterCount;
+
+	private final List<AdhocSound> voices = new ArrayList<>(MAX_VOICES);
+	private float tokens;
+	private int lastTick;
+
+	// Location and volume scale of the cluster picked by select()
+	private final BlockPos.MutableBlockPos source = new BlockPos.MutableBlockPos();
+	private double sourceX;
+	private double sourceY;
+	private double sourceZ;
+	private float sourceScale;
+
+	public SplashSoundEmitter() {
+		for (int i = 0; i < this.clusters.length; i++)
+			this.clusters[i] = new Cluster();
+		this.lastTick = EnvironState.getTickCounter();
+	}
+
+	private static int getVoiceLimit() {
+		return MathStuff.clamp(SoundEngine.getMaxSounds() / VOICE_SHARE, MIN_VOICES, MAX_VOICES);
+	}
+
+	/**
+	 * Forgets the splashes recorded so far. Called at the start of each tick so
+	 * clusters only describe the current tick's rain.
+	 */
+	public void reset() {
+		this.clusterCount = 0;
+	}
+
+	/**
+	 * Records a splash at the specified location. Splashes that are not in range
+	 * of a cluster are dropped once all clusters are in use.
+	 */
+	public void addHit(final double x, final double y, final double z) {
+		Cluster nearest = null;
+		double nearestDist = Double.MAX_VALUE;
+		for (int i = 0; i < this.clusterCount; i++) {
+			final Cluster c = this.clusters[i];
+			final double dist = c.distanceSq(x, y, z);
+			if (dist < nearestDist) {
+				nearest = c;
+				nearestDist = dist;
+			}
+		}
+
+		if (nearestDist <= CLUSTER_RANGE_SQ)
+			nearest.add(x, y, z);
+		else if (this.clusterCount < this.clusters.length)
+			this.clusters[this.clusterCount++].start(x, y, z);
+	}
+
+	public boolean hasHits() {
+		return this.clusterCount > 0;
+	}
+
+	/**
+	 * Picks the densest cluster as the source of the next sound. Returns false
+	 * if there is nothing to play or the per-second limit has been reached.
+	 */
+	public boolean select() {
+		refill();
+
+		if (this.clusterCount == 0 || this.tokens < 1F)
+			return false;
+
+		Cluster densest = this.clusters[0];
+		for (int i = 1; i < this.clusterCount; i++)
+			if (this.clusters[i].hits > densest.hits)
+				densest = this.clusters[i];
+
+		this.sourceX = densest.sumX / densest.hits;
+		this.sourceY = densest.sumY / densest.hits;
+		this.sourceZ = densest.sumZ / densest.hits;
+		final float density = Math.min(1F, (float) densest.hits / FULL_DENSITY);
+		this.sourceScale = MIN_VOLUME_SCALE + (1F - MIN_VOLUME_SCALE) * density;
+		return true;
+	}
+
+	public double getSourceX() {
+		return this.sourceX;
+	}
+
+	public double getSourceY() {
+		return this.sourceY;
+	}
+
+	public double getSourceZ() {
+		return this.sourceZ;
+	}
+
+	/**
+	 * Volume scale of the selected source based on how many splashes it
+	 * gathered.
+	 */
+	public float getSourceScale() {
+		return this.sourceScale;
+	}
+
+	/**
+	 * Plays the sound at the selected source. Nothing is played if every voice
+	 * is still in use.
+	 */
+	public void play(@Nonnull final SoundEvent event, final float volume, final float pitch) {
+		final AdhocSound fx = acquire(event);
+		if (fx == null)
+			return;
+
+		this.source.setPos(this.sourceX, this.sourceY, this.sourceZ);
+		fx.setVolume(volume).setPitch(pitch).setPosition(this.source);
+		if (SoundEffectHandler.INSTANCE.playSound(fx) != null)
+			this.tokens -= 1F;
+	}
+
+	private void refill() {
+		final int tick = EnvironState.getTickCounter();
+		final int elapsed = tick - this.lastTick;
+		this.lastTick = tick;
+		if (elapsed > 0) {
+			final int voiceLimit = getVoiceLimit();
+			final float perTick = voiceLimit * SOUNDS_PER_VOICE / 20F;
+			this.tokens = Math.min(voiceLimit, this.tokens + perTick * elapsed);
+		}
+	}
+
+	@Nullable
+	private AdhocSound acquire(@Nonnull final SoundEvent event) {
+		// Reuse a finished sound for the same event if there is one. Failing
+		// that add a voice, or repurpose a finished voice for another event. A
+		// sound vanilla still holds cannot be submitted again, and it still counts
+		// against the voice limit.
+		final SoundEngine engine = SoundEngine.instance();
+		int idle = -1;
+		for (int i = 0; i < this.voices.size(); i++) {
+			final AdhocSound s = this.voices.get(i);
+			if (!s.getState().isActive() && !engine.isSoundInUse(s)) {
+				if (event.getSoundName().equals(s.getSoundLocation()))
+					return s;
+				idle = i;
+			}
+		}
+
+		final AdhocSound fx = new AdhocSound(event, SoundCategory.WEATHER);
+		if (this.voices.size() < getVoiceLimit())
+			this.voices.add(fx);
+		else if (idle >= 0)
+			this.voices.set(idle, fx);
+		else
+			return null;
+		return fx;
+	}
+}
@@ -30,9 +30,6 @@ import org.blockartistry.DynSurround.ModOptions;
 import org.blockartistry.DynSurround.client.ClientChunkCache;
 import org.blockartistry.DynSurround.client.ClientRegistry;
 import org.blockartistry.DynSurround.client.fx.ParticleCollections;
-import org.blockartistry.DynSurround.client.handlers.SoundEffectHandler;
-import org.blockartistry.DynSurround.client.sound.AdhocSound;
-import org.blockartistry.DynSurround.client.sound.BasicSound;
 import org.blockartistry.DynSurround.client.weather.compat.RandomThings;
 import org.blockartistry.DynSurround.registry.PrecipitationType;
 import org.blockartistry.DynSurround.registry.season.SeasonInfo;
@@ -50,7 +47,6 @@ import net.minecraft.entity.Entity;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.SoundEvents;
 import net.minecraft.util.EnumParticleTypes;
-import net.minecraft.util.SoundCategory;
 import net.minecraft.util.SoundEvent;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
@@ -84,6 +80,7 @@ public class StormSplashRenderer {
 	protected final NoiseGeneratorSimplex GENERATOR = new NoiseGeneratorSimplex(this.RANDOM);
 	protected final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
 
+	protected final SplashSoundEmitter splashSounds = new SplashSoundEmitter();
 	protected int rainSoundCounter = 0;
 
 	protected StormSplashRenderer() {
@@ -135,9 +132,11 @@ public class StormSplashRenderer {
 		return ModOptions.fog.allowDesertFog && !Weather.doVanilla() && ClientRegistry.BIOME.get(biome).getHasDust();
 	}
 
-	protected void playSplashSound(final EntityRenderer renderer, final World world, final Entity player, double x,
-			double y, double z) {
+	protected void playSplashSound(final EntityRenderer renderer, final World world, final Entity player) {
 
+		final double x = this.splashSounds.getSourceX();
+		final double y = this.splashSounds.getSourceY();
+		final double z = this.splashSounds.getSourceZ();
 		final SeasonInfo si = ClientRegistry.SEASON.getData(world);
 
 		this.pos.setPos(x, y - 1, z);
@@ -145,22 +144,20 @@ public class StormSplashRenderer {
 		final Block block = ClientChunkCache.INSTANCE.getBlockState(this.pos).getBlock();
 		final SoundEvent sound = getBlockSoundFX(block, pt, world);
 		if (sound != null) {
-			final float volume = calculateRainSoundVolume(world);
+			final float volume = calculateRainSoundVolume(world) * this.splashSounds.getSourceScale();
 			float pitch = 1.0F;
 			final int playerY = MathHelper.floor(player.posY);
 			this.pos.setPos(player.posX, 0, player.posZ);
 			if (y > player.posY + 1.0D && si.getPrecipitationHeight(world, this.pos).getY() > playerY)
 				pitch = 0.5F;
 			pitch -= (this.RANDOM.nextFloat() - this.RANDOM.nextFloat()) * 0.1F;
-			this.pos.setPos(x, y, z);
-
-			final BasicSound<?> fx = new AdhocSound(sound, SoundCategory.WEATHER);
-			fx.setVolume(volume).setPitch(pitch).setPosition(this.pos);
-			SoundEffectHandler.INSTANCE.playSound(fx);
+			this.splashSounds.play(sound, volume, pitch);
 		}
 	}
 
 	public void addRainParticles(final EntityRenderer theThis) {
+		this.splashSounds.reset();
+
 		final Minecraft mc = Minecraft.getMinecraft();
 		if (mc.gameSettings.particleSetting == 2)
 			return;
@@ -181,10 +178,6 @@ public class StormSplashRenderer {
 		final int playerX = MathHelper.floor(entity.posX);
 		final int playerY = MathHelper.floor(entity.posY);
 		final int playerZ = MathHelper.floor(entity.posZ);
-		double spawnX = 0.0D;
-		double spawnY = 0.0D;
-		double spawnZ = 0.0D;
-		int particlesSpawned = 0;
 
 		final int RANGE = Math.max((ModOptions.general.specialEffectRange + 1) / 2, 10);
 		final float rangeFactor = RANGE / 10.0F;
@@ -216,18 +209,14 @@ public class StormSplashRenderer {
 				final double posZ = locZ + this.RANDOM.nextFloat();
 
 				spawnBlockParticle(state, hasDust, world, posX, posY, posZ);
-
-				if (this.RANDOM.nextInt(++particlesSpawned) == 0) {
-					spawnX = posX;
-					spawnY = posY;
-					spawnZ = posZ;
-				}
+				this.splashSounds.addHit(posX, posY, posZ);
 			}
 		}
 
-		if (particlesSpawned > 0 && this.RANDOM.nextInt(PARTICLE_SOUND_CHANCE) < this.rainSoundCounter++) {
+		if (this.splashSounds.hasHits() && this.RANDOM.nextInt(PARTICLE_SOUND_CHANCE) < this.rainSoundCounter++) {
 			this.rainSoundCounter = 0;
-			playSplashSound(theThis, world, entity, spawnX, spawnY, spawnZ);
+			if (this.splashSounds.select())
+				playSplashSound(theThis, world, entity);
 		}
 	}
 }
@@ -0,0 +1,111 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.DynSurround.commands;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.blockartistry.DynSurround.DSurround;
+import org.blockartistry.DynSurround.client.replay.SessionRecorder;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Starts and stops capture of a play session for headless replay. Recordings
+ * are written to the game directory.
+ */
+@SideOnly(Side.CLIENT)
+public class CommandRecord extends CommandBase {
+
+	private final static String COMMAND = "dsrecord";
+
+	@Override
+	public String getName() {
+		return COMMAND;
+	}
+
+	@Override
+	public int getRequiredPermissionLevel() {
+		return 0;
+	}
+
+	@Override
+	public String getUsage(final ICommandSender sender) {
+		return TextFormatting.GOLD + "/" + COMMAND + " start|stop" + TextFormatting.BLUE
+				+ " -- Record the session for replay";
+	}
+
+	@Override
+	public List<String> getTabCompletions(final MinecraftServer server, final ICommandSender sender,
+			final String[] args, @Nullable final BlockPos targetPos) {
+		return args.length == 1 ? getListOfStringsMatchingLastWord(args, "start", "stop") : Collections.emptyList();
+	}
+
+	@Override
+	public void execute(final MinecraftServer server, final ICommandSender sender, final String[] parms)
+			throws CommandException {
+		if (parms.length != 1)
+			throw new WrongUsageException(getUsage(sender));
+
+		if ("start".equalsIgnoreCase(parms[0])) {
+			final String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+			final File file = new File(Minecraft.getMinecraft().mcDataDir, "dsurround-session-" + stamp + ".dsr");
+			try {
+				SessionRecorder.start(file);
+				sender.sendMessage(
+						new TextComponentString(TextFormatting.GREEN + "Recording to " + file.getName()));
+			} catch (final Throwable t) {
+				DSurround.log().error("Unable to start recording", t);
+				sender.sendMessage(
+						new TextComponentString(TextFormatting.RED + "Unable to start recording: " + t.getMessage()));
+			}
+		} else if ("stop".equalsIgnoreCase(parms[0])) {
+			if (!SessionRecorder.isRecording()) {
+				sender.sendMessage(new TextComponentString(TextFormatting.YELLOW + "Not recording"));
+				return;
+			}
+			SessionRecorder.stop();
+			sender.sendMessage(new TextComponentString(TextFormatting.GREEN + "Recorded "
+					+ SessionRecorder.getFrameCount() + " ticks to " + SessionRecorder.getFile().getName()));
+		} else {
+			throw new WrongUsageException(getUsage(sender));
+		}
+	}
+
+}
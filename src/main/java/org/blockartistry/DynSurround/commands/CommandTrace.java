@@ -0,0 +1,88 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.DynSurround.commands;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import org.blockartistry.DynSurround.DSurround;
+import org.blockartistry.lib.math.MathStuff;
+import org.blockartistry.lib.profiler.TraceRecorder;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Writes the recent client timing events to a Chrome trace file in the game
+ * directory. Meant to be run right after a stutter so the report has
+ * something to look at.
+ */
+@SideOnly(Side.CLIENT)
+public class CommandTrace extends CommandBase {
+
+	private final static String COMMAND = "dstrace";
+	private final static int DEFAULT_SECONDS = 10;
+	private final static int MAX_SECONDS = 120;
+
+	@Override
+	public String getName() {
+		return COMMAND;
+	}
+
+	@Override
+	public int getRequiredPermissionLevel() {
+		return 0;
+	}
+
+	@Override
+	public String getUsage(final ICommandSender sender) {
+		return TextFormatting.GOLD + "/" + COMMAND + " [seconds]" + TextFormatting.BLUE
+				+ " -- Write a timing trace of the last few seconds";
+	}
+
+	@Override
+	public void execute(final MinecraftServer server, final ICommandSender sender, final String[] parms)
+			throws CommandException {
+		final int seconds = parms.length == 0 ? DEFAULT_SECONDS
+				: MathStuff.clamp(parseInt(parms[0]), 1, MAX_SECONDS);
+		final String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+		final File file = new File(Minecraft.getMinecraft().mcDataDir, "dsurround-trace-" + stamp + ".json");
+		try {
+			TraceRecorder.dump(file, seconds);
+			sender.sendMessage(new TextComponentString(TextFormatting.GREEN + "Trace written to " + file.getName()));
+		} catch (final Throwable t) {
+			DSurround.log().error("Unable to write trace", t);
+			sender.sendMessage(new TextComponentString(TextFormatting.RED + "Unable to write trace: " + t.getMessage()));
+		}
+	}
+
+}
@@ -86,7 +86,7 @@ public class PresetHandler {
 			helper.load(DSurround.config(), FILTER);
 			DSurround.config().save();
 			ConfigProcessor.process(DSurround.config(), ModOptions.class);
-			MinecraftForge.EVENT_BUS.post(new ReloadEvent.Configuration());
+			MinecraftForge.EVENT_BUS.post(new ReloadEvent.Configuration(ModOptions.getChangedCategories()));
 		}
 	}
 }
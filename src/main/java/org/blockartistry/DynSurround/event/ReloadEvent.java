@@ -24,7 +24,10 @@
 
 package org.blockartistry.DynSurround.event;
 
+import java.util.Set;
+
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import net.minecraft.client.resources.IResourceManager;
 import net.minecraftforge.fml.common.eventhandler.Event;
@@ -47,18 +50,45 @@ public class ReloadEvent extends Event {
 	}
 
 	/**
-	 * Event fired when the mod configuration file changed.
+	 * Event fired when the mod configuration file changed. If the set of changed
+	 * option categories is known it is provided so listeners can limit what
+	 * they reinitialize; null means everything should be considered changed.
 	 */
 	public static class Configuration extends ReloadEvent {
 
 		public final Side side;
+		public final Set<String> categories;
 
 		public Configuration() {
 			this.side = null;
+			this.categories = null;
 		}
 
 		public Configuration(@Nonnull final Side side) {
 			this.side = side;
+			this.categories = null;
+		}
+
+		public Configuration(@Nonnull final Set<String> categories) {
+			this.side = null;
+			this.categories = categories;
+		}
+
+		/**
+		 * Determines if the change covers the specified option category, or any
+		 * category nested within it.
+		 */
+		public boolean affects(@Nonnull final String category) {
+			return affects(this.categories, category);
+		}
+
+		public static boolean affects(@Nullable final Set<String> categories, @Nonnull final String category) {
+			if (categories == null)
+				return true;
+			for (final String c : categories)
+				if (c.equals(category) || c.startsWith(category + "."))
+					return true;
+			return false;
 		}
 	}
 
@@ -77,6 +77,12 @@ public class WorldEventDetector implements IWorldEventListener {
 	@Override
 	public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
 
+		// The client marks exactly one chunk column after reading chunk data
+		// from the server. Other callers mark single columns or small areas.
+		if ((x1 & 15) == 0 && x2 == x1 + 15 && (z1 & 15) == 0 && z2 == z1 + 15
+				&& this.world.provider.getDimension() == EnvironState.getDimensionId()) {
+			MinecraftForge.EVENT_BUS.post(new ChunkDataUpdateEvent(this.world, x1 >> 4, z1 >> 4));
+		}
 	}
 
 	@Override
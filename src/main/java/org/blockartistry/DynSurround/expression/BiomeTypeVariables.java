@@ -24,6 +24,7 @@ package org.blockartistry.DynSurround.expression;
 
 import java.util.Set;
 
+import org.blockartistry.DynSurround.client.handlers.EnvironChange;
 import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.blockartistry.lib.BiomeUtils;
 import org.blockartistry.lib.expression.Dynamic;
@@ -44,4 +45,10 @@ public class BiomeTypeVariables extends DynamicVariantList {
 				}
 			});
 	}
+
+	@Override
+	protected void update() {
+		if (EnvironState.hasChanged(EnvironChange.BIOME))
+			super.update();
+	}
 }
@@ -22,6 +22,7 @@
  */
 package org.blockartistry.DynSurround.expression;
 
+import org.blockartistry.DynSurround.client.handlers.EnvironChange;
 import org.blockartistry.DynSurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.blockartistry.lib.expression.Dynamic;
 import org.blockartistry.lib.expression.DynamicVariantList;
@@ -67,4 +68,10 @@ public class BiomeVariables extends DynamicVariantList {
 		});
 
 	}
+
+	@Override
+	protected void update() {
+		if (EnvironState.hasChanged(EnvironChange.BIOME | EnvironChange.TEMPERATURE))
+			super.update();
+	}
 }
@@ -78,6 +78,8 @@ public final class Network {
 				++discriminator, Side.SERVER);
 		NETWORK.registerMessage(PacketPlaySound.PacketHandlerServer.class, PacketPlaySound.class, ++discriminator,
 				Side.SERVER);
+		NETWORK.registerMessage(PacketServerDataSubscribe.PacketHandlerServer.class, PacketServerDataSubscribe.class,
+				++discriminator, Side.SERVER);
 	}
 
 	// Package level helper method to fire client side events based on incoming
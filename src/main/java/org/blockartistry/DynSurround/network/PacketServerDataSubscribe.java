@@ -0,0 +1,73 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.network;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.blockartistry.DynSurround.event.ServerDataSubscriptionEvent;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+
+/**
+ * Sent by a client to start or stop receiving server performance data.
+ */
+public class PacketServerDataSubscribe implements IMessage {
+
+	public static class PacketHandlerServer implements IMessageHandler<PacketServerDataSubscribe, IMessage> {
+		@Override
+		@Nullable
+		public IMessage onMessage(@Nonnull final PacketServerDataSubscribe message,
+				@Nonnull final MessageContext ctx) {
+			Network.postEventServer(
+					new ServerDataSubscriptionEvent(ctx.getServerHandler().player, message.subscribe));
+			return null;
+		}
+	}
+
+	private boolean subscribe;
+
+	public PacketServerDataSubscribe() {
+
+	}
+
+	public PacketServerDataSubscribe(final boolean subscribe) {
+		this.subscribe = subscribe;
+	}
+
+	@Override
+	public void fromBytes(@Nonnull final ByteBuf buf) {
+		this.subscribe = buf.readBoolean();
+	}
+
+	@Override
+	public void toBytes(@Nonnull final ByteBuf buf) {
+		buf.writeBoolean(this.subscribe);
+	}
+
+}
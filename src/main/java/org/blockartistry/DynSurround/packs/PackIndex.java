@@ -0,0 +1,207 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.DynSurround.packs;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.blockartistry.DynSurround.DSurround;
+
+import com.google.gson.Gson;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Persistent index of the Dynamic Surroundings resources found in mod jars
+ * and zipped resource packs. Each container is keyed by its path and the
+ * prefix probed within it, and is only re-probed if its size or modification
+ * time changes. The index records the names of the files under the
+ * dsurround domain plus the parsed manifest so a reload can tell which
+ * containers have data without opening them.
+ *
+ * Directories (development environments, unzipped resource packs) are not
+ * indexed since their modification time does not reflect changes to the
+ * files within; those fall back to probing.
+ *
+ * The index is not thread safe. A pass from begin() through end() has to be
+ * made while holding the lock on ResourcePacks, which findResourcePacks() does.
+ */
+final class PackIndex {
+
+	private static final String INDEX_FILE = "packindex.json";
+	private static final String DOMAIN = DSurround.RESOURCE_ID + "/";
+
+	static final class Entry {
+
+		@SerializedName("size")
+		long size;
+		@SerializedName("modified")
+		long modified;
+		@SerializedName("files")
+		Set<String> files = new HashSet<>();
+		@SerializedName("manifest")
+		Manifest manifest;
+
+		/**
+		 * Whether the container has the specified resource. The name is in
+		 * "domain/path" form, the same as a ResourceLocation.
+		 */
+		boolean contains(@Nonnull final String name) {
+			return this.files.contains(name);
+		}
+	}
+
+	private static PackIndex instance;
+
+	private final File file;
+	private final Map<String, Entry> entries;
+	private final Map<String, Entry> touched = new HashMap<>();
+	private int probes;
+
+	private PackIndex(@Nonnull final File file, @Nonnull final Map<String, Entry> entries) {
+		this.file = file;
+		this.entries = entries;
+	}
+
+	/**
+	 * Opens the index for a pass over the resource packs. The index is loaded
+	 * from disk the first time and kept for subsequent reloads.
+	 */
+	@Nonnull
+	static PackIndex begin() {
+		if (instance == null)
+			instance = load(new File(DSurround.dataDirectory(), INDEX_FILE));
+		instance.touched.clear();
+		instance.probes = 0;
+		return instance;
+	}
+
+	@Nonnull
+	private static PackIndex load(@Nonnull final File file) {
+		Map<String, Entry> entries = null;
+		if (file.exists()) {
+			try (final Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+				entries = new Gson().fromJson(reader, new TypeToken<HashMap<String, Entry>>() {
+				}.getType());
+			} catch (@Nonnull final Throwable t) {
+				DSurround.log().warn("Unable to read resource pack index; it will be rebuilt");
+			}
+		}
+		return new PackIndex(file, entries != null ? entries : new HashMap<>());
+	}
+
+	/**
+	 * Looks up the container in the index, probing it if it is new or has
+	 * changed since it was last seen. Returns null if the container cannot be
+	 * indexed and needs to be probed through the normal resource lookup.
+	 *
+	 * @param container
+	 *            The jar or zip file
+	 * @param prefix
+	 *            Path within the container where resource domains live, such
+	 *            as "assets/" or "assets/modid/"
+	 */
+	@Nullable
+	Entry lookup(@Nullable final File container, @Nonnull final String prefix) {
+		if (container == null || !container.isFile())
+			return null;
+
+		final String key = container.getAbsolutePath() + "!/" + prefix;
+		Entry entry = this.entries.get(key);
+		if (entry == null || entry.size != container.length() || entry.modified != container.lastModified()
+				|| entry.files == null) {
+			entry = probe(container, prefix);
+			if (entry == null)
+				return null;
+			this.entries.put(key, entry);
+		}
+		this.touched.put(key, entry);
+		return entry;
+	}
+
+	@Nullable
+	private Entry probe(@Nonnull final File container, @Nonnull final String prefix) {
+		this.probes++;
+		final String base = prefix + DOMAIN;
+		final Entry entry = new Entry();
+		entry.size = container.length();
+		entry.modified = container.lastModified();
+		try (final ZipFile zip = new ZipFile(container)) {
+			final Enumeration<? extends ZipEntry> itr = zip.entries();
+			while (itr.hasMoreElements()) {
+				final ZipEntry ze = itr.nextElement();
+				if (!ze.isDirectory() && ze.getName().startsWith(base))
+					entry.files.add(ze.getName().substring(prefix.length()));
+			}
+
+			final ZipEntry manifest = zip.getEntry(prefix + DOMAIN + ResourcePacks.MANIFEST_RESOURCE.getResourcePath());
+			if (manifest != null)
+				try (final InputStream stream = zip.getInputStream(manifest)) {
+					entry.manifest = new Gson().fromJson(new InputStreamReader(stream, StandardCharsets.UTF_8),
+							Manifest.class);
+				}
+		} catch (@Nonnull final Throwable t) {
+			DSurround.log().debug("Unable to index %s: %s", container.getName(), t.getMessage());
+			return null;
+		}
+		return entry;
+	}
+
+	/**
+	 * Finishes the pass. Containers that were not seen are dropped, and the
+	 * index is written back if anything was probed or dropped.
+	 */
+	void end() {
+		final boolean dirty = this.probes > 0 || this.touched.size() != this.entries.size();
+		if (!dirty)
+			return;
+
+		this.entries.clear();
+		this.entries.putAll(this.touched);
+
+		try (final Writer writer = new OutputStreamWriter(new FileOutputStream(this.file), StandardCharsets.UTF_8)) {
+			new Gson().toJson(this.entries, writer);
+		} catch (@Nonnull final Throwable t) {
+			DSurround.log().warn("Unable to write resource pack index: %s", t.getMessage());
+		}
+		DSurround.log().debug("Resource pack index: %d containers, %d probed", this.entries.size(), this.probes);
+	}
+}
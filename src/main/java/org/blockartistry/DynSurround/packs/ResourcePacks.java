@@ -24,6 +24,7 @@
 
 package org.blockartistry.DynSurround.packs;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -61,14 +62,33 @@ public final class ResourcePacks {
 
 		protected final String modName;
 		protected final String packPath;
+		protected final PackIndex.Entry index;
 		protected Manifest manifest;
 
 		public Pack(@Nonnull final String modName) {
+			this(modName, null);
+		}
+
+		Pack(@Nonnull final String modName, @Nullable final PackIndex.Entry index) {
 			this.modName = modName;
 			this.packPath = "/assets/" + modName + "/";
+			this.index = index;
+		}
+
+		/**
+		 * Whether the index rules out the resource without having to look.
+		 */
+		protected boolean notIndexed(@Nonnull final ResourceLocation loc) {
+			return this.index != null && !this.index.contains(loc.toString().replace(':', '/'));
 		}
 
 		public boolean hasManifest() {
+			if (this.manifest == null && this.index != null) {
+				if (this.index.manifest != null)
+					this.manifest = this.index.manifest;
+				else if (notIndexed(MANIFEST_RESOURCE))
+					return false;
+			}
 			if (this.manifest == null) {
 				try (final InputStream stream = getInputStream(MANIFEST_RESOURCE)) {
 					if (stream != null)
@@ -90,7 +110,10 @@ public final class ResourcePacks {
 			return this.manifest;
 		}
 
+		@Nullable
 		public InputStream getInputStream(@Nonnull final ResourceLocation loc) throws IOException {
+			if (notIndexed(loc))
+				return null;
 			final StringBuilder builder = new StringBuilder();
 			builder.append(this.packPath);
 			builder.append(loc.getResourceDomain()).append('/').append(loc.getResourcePath());
@@ -98,6 +121,8 @@ public final class ResourcePacks {
 		}
 
 		public boolean resourceExists(@Nonnull final ResourceLocation loc) {
+			if (this.index != null)
+				return !notIndexed(loc);
 			try (final InputStream stream = getInputStream(loc)) {
 				return stream != null;
 			} catch (@Nonnull final Throwable t) {
@@ -123,29 +148,50 @@ public final class ResourcePacks {
 
 		protected final IResourcePack pack;
 
-		public ResourcePack(@Nonnull IResourcePack resource) {
-			super(resource.getPackName());
+		public ResourcePack(@Nonnull IResourcePack resource, @Nullable final PackIndex.Entry index) {
+			super(resource.getPackName(), index);
 			this.pack = resource;
 		}
 
 		@Override
+		@Nullable
 		public InputStream getInputStream(@Nonnull final ResourceLocation loc) throws IOException {
+			if (notIndexed(loc))
+				return null;
 			return this.pack.getInputStream(loc);
 		}
 
 		@Override
 		public boolean resourceExists(@Nonnull final ResourceLocation loc) {
+			if (this.index != null)
+				return !notIndexed(loc);
 			return this.pack.resourceExists(loc);
 		}
 	}
 
+	@Nullable
+	private static PackIndex.Entry index(@Nonnull final PackIndex index, @Nullable final ModContainer mod) {
+		return mod == null ? null : index.lookup(mod.getSource(), "assets/" + mod.getModId() + "/");
+	}
+
+	/**
+	 * Locates the mods and resource packs that carry Dynamic Surroundings
+	 * configuration. Jars and zipped packs are checked against the pack index
+	 * so only those that have changed since the last run are opened; files
+	 * within a pack are only read when a registry asks for them.
+	 *
+	 * In single player the client and the integrated server reload on their own
+	 * threads, so passes over the shared index are serialized.
+	 */
 	@Nonnull
-	public static List<Pack> findResourcePacks() {
+	public static synchronized List<Pack> findResourcePacks() {
 
 		final List<Pack> foundEntries = new ArrayList<>();
+		final PackIndex index = PackIndex.begin();
 
 		// Add ourselves to the list as the first entry
-		Pack p = new Pack(DSurround.MOD_ID);
+		final ModContainer self = Loader.instance().getIndexedModList().get(DSurround.MOD_ID);
+		Pack p = new Pack(DSurround.MOD_ID, index(index, self));
 		if (!p.hasManifest())
 			throw new RuntimeException("Missing configuration!");
 		foundEntries.add(p);
@@ -155,7 +201,7 @@ public final class ResourcePacks {
 		for (final ModContainer mod : Loader.instance().getActiveModList()) {
 			// DS is already added so we have to skip
 			if (!mod.getModId().equals(DSurround.MOD_ID)) {
-				p = new Pack(mod.getModId());
+				p = new Pack(mod.getModId(), index(index, mod));
 				if (p.hasManifest())
 					foundEntries.add(p);
 			}
@@ -164,16 +210,18 @@ public final class ResourcePacks {
 		// Look in other resource packs for more configuration data. Only do
 		// this if NOT running as a dedicated server.
 		if (!DSurround.proxy().isRunningAsServer()) {
-			final List<ResourcePackRepository.Entry> repo = Minecraft.getMinecraft().getResourcePackRepository()
-					.getRepositoryEntries();
+			final ResourcePackRepository repository = Minecraft.getMinecraft().getResourcePackRepository();
+			final File packDir = repository.getDirResourcepacks();
 
-			for (final ResourcePackRepository.Entry pack : repo) {
-				p = new ResourcePack(pack.getResourcePack());
+			for (final ResourcePackRepository.Entry pack : repository.getRepositoryEntries()) {
+				final File file = new File(packDir, pack.getResourcePackName());
+				p = new ResourcePack(pack.getResourcePack(), index.lookup(file, "assets/"));
 				if (p.hasManifest())
 					foundEntries.add(p);
 			}
 		}
 
+		index.end();
 		return foundEntries;
 	}
 
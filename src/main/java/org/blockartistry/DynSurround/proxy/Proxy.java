@@ -34,6 +34,7 @@ import org.blockartistry.DynSurround.registry.RegistryManager;
 import org.blockartistry.DynSurround.server.services.ServiceManager;
 import org.blockartistry.lib.Localization;
 import org.blockartistry.lib.compat.ModEnvironment;
+import org.blockartistry.lib.task.BackgroundExecutor;
 
 import net.minecraft.command.ICommandManager;
 import net.minecraft.command.ServerCommandManager;
@@ -125,6 +126,7 @@ public class Proxy {
 
 	public void serverStopped(@Nonnull final FMLServerStoppedEvent event) {
 		ServiceManager.deinitialize();
+		BackgroundExecutor.shutdown();
 	}
 
 }
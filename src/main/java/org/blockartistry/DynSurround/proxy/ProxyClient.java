@@ -29,6 +29,7 @@ import javax.annotation.Nonnull;
 import org.blockartistry.DynSurround.DSurround;
 import org.blockartistry.DynSurround.ModOptions;
 import org.blockartistry.DynSurround.client.fx.ParticleCollections;
+import org.blockartistry.DynSurround.client.fx.ParticlePools;
 import org.blockartistry.DynSurround.client.fx.particle.ParticleDripOverride;
 import org.blockartistry.DynSurround.client.gui.HumDinger;
 import org.blockartistry.DynSurround.client.handlers.EffectManager;
@@ -36,17 +37,21 @@ import org.blockartistry.DynSurround.client.hud.GuiHUDHandler;
 import org.blockartistry.DynSurround.client.hud.InspectionHUD;
 import org.blockartistry.DynSurround.client.hud.LightLevelHUD;
 import org.blockartistry.DynSurround.client.keyboard.KeyHandler;
+import org.blockartistry.DynSurround.client.replay.SessionRecorder;
 import org.blockartistry.DynSurround.client.sound.BackgroundMute;
 import org.blockartistry.DynSurround.client.sound.MusicTickerReplacement;
 import org.blockartistry.DynSurround.client.sound.SoundEngine;
 import org.blockartistry.DynSurround.client.weather.RenderWeather;
 import org.blockartistry.DynSurround.client.weather.Weather;
 import org.blockartistry.DynSurround.commands.CommandCalc;
+import org.blockartistry.DynSurround.commands.CommandRecord;
+import org.blockartistry.DynSurround.commands.CommandTrace;
 import org.blockartistry.DynSurround.data.PresetHandler;
 import org.blockartistry.DynSurround.event.ReloadEvent;
 import org.blockartistry.DynSurround.event.WorldEventDetector;
 import org.blockartistry.lib.Localization;
 import org.blockartistry.lib.compat.ModEnvironment;
+import org.blockartistry.lib.task.BackgroundExecutor;
 import org.blockartistry.lib.task.Scheduler;
 
 import net.minecraft.client.Minecraft;
@@ -90,6 +95,8 @@ public class ProxyClient extends Proxy implements IResourceManagerReloadListener
 		register(WorldEventDetector.class);
 		register(LightLevelHUD.class);
 		register(ParticleCollections.class);
+		register(ParticlePools.class);
+		register(SessionRecorder.class);
 
 		MinecraftForge.EVENT_BUS.register(this);
 	}
@@ -117,6 +124,8 @@ public class ProxyClient extends Proxy implements IResourceManagerReloadListener
 		ParticleDripOverride.register();
 
 		ClientCommandHandler.instance.registerCommand(new CommandCalc());
+		ClientCommandHandler.instance.registerCommand(new CommandTrace());
+		ClientCommandHandler.instance.registerCommand(new CommandRecord());
 
 		if (ModOptions.general.disableWaterSuspendParticle)
 			Minecraft.getMinecraft().effectRenderer.registerParticle(EnumParticleTypes.SUSPENDED.getParticleID(), null);
@@ -147,10 +156,12 @@ public class ProxyClient extends Proxy implements IResourceManagerReloadListener
 	@Override
 	public void clientDisconnect(@Nonnull final ClientDisconnectionFromServerEvent event) {
 		Scheduler.schedule(Side.CLIENT, () -> {
+			SessionRecorder.stop();
 			EffectManager.disconnect();
 			GuiHUDHandler.unregister();
 			Weather.unregister();
 			ProxyClient.this.connectionTime = 0;
+			BackgroundExecutor.shutdown();
 		});
 	}
 
@@ -164,7 +175,9 @@ public class ProxyClient extends Proxy implements IResourceManagerReloadListener
 		if (event.getModID().equals(DSurround.MOD_ID)) {
 			// The configuration file changed. Fire an appropriate
 			// event so that various parts of the mod can reinitialize.
-			MinecraftForge.EVENT_BUS.post(new ReloadEvent.Configuration());
+			// Only the categories that actually changed are passed along
+			// so listeners can skip work that isn't needed.
+			MinecraftForge.EVENT_BUS.post(new ReloadEvent.Configuration(ModOptions.getChangedCategories()));
 		}
 
 	}
@@ -29,6 +29,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import javax.annotation.Nonnull;
@@ -43,6 +44,8 @@ import org.blockartistry.DynSurround.data.xface.ModConfigurationFile;
 import org.blockartistry.DynSurround.event.ReloadEvent;
 import org.blockartistry.lib.math.MathStuff;
 
+import com.google.common.collect.ImmutableSet;
+
 import net.minecraft.block.material.Material;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.ResourceLocation;
@@ -101,6 +104,12 @@ public final class BiomeRegistry extends Registry {
 		this.registry.put(biome.getKey(), new BiomeInfo(biome));
 	}
 
+	@Override
+	@Nonnull
+	public Set<String> getConfigDependencies() {
+		return ImmutableSet.of(ModOptions.CATEGORY_BIOMES, ModOptions.CATEGORY_SOUND);
+	}
+
 	@SuppressWarnings("deprecation")
 	@Override
 	public void init() {
@@ -206,31 +215,41 @@ public final class BiomeRegistry extends Registry {
 	@Nonnull
 	public BiomeInfo getPlayerBiome(@Nonnull final EntityPlayer player, final boolean getTrue) {
 		final Biome biome = player.getEntityWorld().getBiome(new BlockPos(player.posX, 0, player.posZ));
-		BiomeInfo info = get(biome);
-
-		if (!getTrue) {
-			if (player.isInsideOfMaterial(Material.WATER)) {
-				if (info.isRiver())
-					info = this.UNDERRIVER_INFO;
-				else if (info.isDeepOcean())
-					info = this.UNDERDEEPOCEAN_INFO;
-				else if (info.isOcean())
-					info = this.UNDEROCEAN_INFO;
-				else
-					info = this.UNDERWATER_INFO;
-			} else {
-				final DimensionInfo dimInfo = EnvironState.getDimensionInfo();
-				final int theY = MathStuff.floor(player.posY);
-				if ((theY + INSIDE_Y_ADJUST) <= dimInfo.getSeaLevel())
-					info = this.UNDERGROUND_INFO;
-				else if (theY >= dimInfo.getSpaceHeight())
-					info = this.OUTERSPACE_INFO;
-				else if (theY >= dimInfo.getCloudHeight())
-					info = this.CLOUDS_INFO;
-			}
+		final BiomeInfo info = get(biome);
+		return getTrue ? info : getPlayerBiome(player, info);
+	}
+
+	/**
+	 * Maps the true biome at the player location to the pseudo biome the player
+	 * is experiencing, such as underwater or underground.
+	 *
+	 * @param player
+	 *            The player of interest
+	 * @param trueBiome
+	 *            The biome of the column the player is standing in
+	 * @return The effective biome for the player
+	 */
+	@Nonnull
+	public BiomeInfo getPlayerBiome(@Nonnull final EntityPlayer player, @Nonnull final BiomeInfo trueBiome) {
+		if (player.isInsideOfMaterial(Material.WATER)) {
+			if (trueBiome.isRiver())
+				return this.UNDERRIVER_INFO;
+			if (trueBiome.isDeepOcean())
+				return this.UNDERDEEPOCEAN_INFO;
+			if (trueBiome.isOcean())
+				return this.UNDEROCEAN_INFO;
+			return this.UNDERWATER_INFO;
 		}
 
-		return info;
+		final DimensionInfo dimInfo = EnvironState.getDimensionInfo();
+		final int theY = MathStuff.floor(player.posY);
+		if ((theY + INSIDE_Y_ADJUST) <= dimInfo.getSeaLevel())
+			return this.UNDERGROUND_INFO;
+		if (theY >= dimInfo.getSpaceHeight())
+			return this.OUTERSPACE_INFO;
+		if (theY >= dimInfo.getCloudHeight())
+			return this.CLOUDS_INFO;
+		return trueBiome;
 	}
 
 	final boolean isBiomeMatch(@Nonnull final BiomeConfig entry, @Nonnull final BiomeInfo info) {
@@ -133,7 +133,16 @@ public class BlockProfile {
 
 	@Nullable
 	public SoundEffect getSoundToPlay(@Nonnull final Random random) {
-		return this.sounds != NO_SOUNDS && random.nextInt(getChance()) == 0
+		return getSoundToPlay(random, 1F);
+	}
+
+	/**
+	 * Same as getSoundToPlay() with the odds of the chance roll multiplied by
+	 * chanceScale.
+	 */
+	@Nullable
+	public SoundEffect getSoundToPlay(@Nonnull final Random random, final float chanceScale) {
+		return this.sounds != NO_SOUNDS && random.nextFloat() * getChance() < chanceScale
 				? new WeightTable<>(this.sounds).next()
 				: null;
 	}
@@ -24,16 +24,19 @@
 
 package org.blockartistry.DynSurround.registry;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import org.apache.commons.lang3.StringUtils;
 import org.blockartistry.DynSurround.DSurround;
+import org.blockartistry.DynSurround.ModOptions;
 import org.blockartistry.DynSurround.client.ClientRegistry;
 import org.blockartistry.DynSurround.client.fx.BlockEffect;
 import org.blockartistry.DynSurround.client.fx.BlockEffectType;
@@ -46,7 +49,9 @@ import org.blockartistry.DynSurround.data.xface.SoundType;
 import org.blockartistry.DynSurround.registry.BlockInfo.BlockInfoMutable;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 
+import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.SoundCategory;
@@ -63,14 +68,29 @@ public final class BlockRegistry extends Registry {
 	private Map<BlockInfo, BlockProfile> registry;
 	private Map<IBlockState, BlockProfile> cache;
 
+	// Dense answer to "does this state have always on effects" indexed by
+	// state id. Chunk indexing asks this for every block in a section so it
+	// needs to be cheaper than the profile lookup.
+	private static final byte UNKNOWN = 0;
+	private static final byte ALWAYS_ON = 1;
+	private static final byte NOT_ALWAYS_ON = 2;
+	private byte[] alwaysOnFlags = new byte[4096];
+
 	public BlockRegistry(@Nonnull final Side side) {
 		super(side);
 	}
 
+	@Override
+	@Nonnull
+	public Set<String> getConfigDependencies() {
+		return ImmutableSet.of(ModOptions.CATEGORY_SOUND);
+	}
+
 	@Override
 	public void init() {
 		this.registry = new HashMap<>();
 		this.cache = new IdentityHashMap<>();
+		Arrays.fill(this.alwaysOnFlags, UNKNOWN);
 	}
 
 	@Override
@@ -104,6 +124,23 @@ public final class BlockRegistry extends Registry {
 		return profile;
 	}
 
+	/**
+	 * Indicates if the block state has always on effects. Equivalent to
+	 * findProfile(state).hasAlwaysOnEffects() but answered from a flat table
+	 * once a state has been seen.
+	 */
+	public boolean hasAlwaysOnEffects(@Nonnull final IBlockState state) {
+		final int id = Block.getStateId(state);
+		if (id >= this.alwaysOnFlags.length)
+			this.alwaysOnFlags = Arrays.copyOf(this.alwaysOnFlags, Math.max(id + 1, this.alwaysOnFlags.length * 2));
+		byte flag = this.alwaysOnFlags[id];
+		if (flag == UNKNOWN) {
+			flag = findProfile(state).hasAlwaysOnEffects() ? ALWAYS_ON : NOT_ALWAYS_ON;
+			this.alwaysOnFlags[id] = flag;
+		}
+		return flag == ALWAYS_ON;
+	}
+
 	@Nonnull
 	public BlockEffect[] getEffects(@Nonnull final IBlockState state) {
 		return findProfile(state).getEffects();
@@ -159,8 +196,6 @@ public final class BlockRegistry extends Registry {
 		if (entry.blocks.isEmpty())
 			return;
 
-		final SoundRegistry soundRegistry = ClientRegistry.SOUND;
-
 		for (final String blockName : entry.blocks) {
 			final BlockInfo blockInfo = BlockInfo.create(blockName);
 			if (blockInfo == null) {
@@ -188,7 +223,7 @@ public final class BlockRegistry extends Registry {
 				blockData.setStepChance(entry.stepChance.intValue());
 
 			for (final SoundConfig sr : entry.sounds) {
-				if (sr.sound != null && !soundRegistry.isSoundBlocked(sr.sound)) {
+				if (sr.sound != null && !ClientRegistry.SOUND.isSoundBlocked(sr.sound)) {
 					final SoundEffect.Builder b = new SoundEffect.Builder(sr);
 					if (sr.soundCategory == null)
 						b.setSoundCategory(SoundCategory.BLOCKS);
@@ -25,6 +25,7 @@ package org.blockartistry.DynSurround.registry;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
 
@@ -33,6 +34,8 @@ import org.blockartistry.DynSurround.ModOptions;
 import org.blockartistry.DynSurround.data.xface.DimensionConfig;
 import org.blockartistry.DynSurround.data.xface.ModConfigurationFile;
 
+import com.google.common.collect.ImmutableSet;
+
 import gnu.trove.map.hash.TIntObjectHashMap;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
@@ -43,6 +46,12 @@ public final class DimensionRegistry extends Registry {
 		super(side);
 	}
 
+	@Override
+	@Nonnull
+	public Set<String> getConfigDependencies() {
+		return ImmutableSet.of(ModOptions.CATEGORY_BIOMES);
+	}
+
 	@Override
 	public void init() {
 		this.cache.clear();
@@ -64,6 +64,8 @@ import org.blockartistry.lib.ItemStackUtil;
 import org.blockartistry.lib.MCHelper;
 import org.blockartistry.lib.collections.IdentityHashSet;
 
+import com.google.common.collect.ImmutableSet;
+
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockCrops;
 import net.minecraft.block.BlockDoor;
@@ -119,6 +121,12 @@ public final class FootstepsRegistry extends Registry {
 		super(side);
 	}
 
+	@Override
+	@Nonnull
+	public Set<String> getConfigDependencies() {
+		return ImmutableSet.of(ModOptions.CATEGORY_SOUND);
+	}
+
 	@Override
 	public void init() {
 
@@ -43,6 +43,8 @@ import org.blockartistry.lib.ItemStackUtil;
 import org.blockartistry.lib.MCHelper;
 import org.blockartistry.lib.collections.IdentityHashSet;
 
+import com.google.common.collect.ImmutableSet;
+
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemFood;
 import net.minecraft.item.ItemStack;
@@ -79,6 +81,12 @@ public final class ItemRegistry extends Registry {
 		super(side);
 	}
 
+	@Override
+	@Nonnull
+	public Set<String> getConfigDependencies() {
+		return ImmutableSet.of(ModOptions.CATEGORY_SOUND);
+	}
+
 	@Override
 	public void init() {
 		this.swordItems = new IdentityHashSet<>(SET_CAPACITY);
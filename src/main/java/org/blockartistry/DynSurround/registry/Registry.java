@@ -24,10 +24,14 @@
 
 package org.blockartistry.DynSurround.registry;
 
+import java.util.Set;
+
 import javax.annotation.Nonnull;
 
 import org.blockartistry.DynSurround.data.xface.ModConfigurationFile;
 
+import com.google.common.collect.ImmutableSet;
+
 import net.minecraftforge.fml.relauncher.Side;
 
 public abstract class Registry {
@@ -38,6 +42,17 @@ public abstract class Registry {
 		this.side = side;
 	}
 
+	/**
+	 * The ModOptions categories the registry reads while it is being built. A
+	 * configuration change touching any of them causes the registry to be
+	 * reinitialized; changes elsewhere leave it alone. The data files are a
+	 * dependency of every registry and are tracked by the RegistryManager.
+	 */
+	@Nonnull
+	public Set<String> getConfigDependencies() {
+		return ImmutableSet.of();
+	}
+
 	public void init() {
 
 	}
@@ -31,8 +31,11 @@ import java.util.Arrays;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.blockartistry.DynSurround.DSurround;
 import org.blockartistry.DynSurround.ModOptions;
@@ -44,8 +47,12 @@ import org.blockartistry.DynSurround.event.ReloadEvent;
 import org.blockartistry.DynSurround.packs.ResourcePacks;
 import org.blockartistry.DynSurround.packs.ResourcePacks.Pack;
 import org.blockartistry.lib.SideLocal;
+import org.blockartistry.lib.math.TimerEMA;
+import org.blockartistry.lib.profiler.ProfileTimer;
 import org.blockartistry.lib.task.Scheduler;
 
+import com.google.common.collect.ImmutableSet;
+
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.common.Loader;
@@ -77,26 +84,59 @@ public final class RegistryManager {
 	@SubscribeEvent
 	public static void onReload(@Nonnull final ReloadEvent.Configuration event) {
 		if (event.side == null || event.side == Side.CLIENT)
-			reloadResources(Side.CLIENT);
+			reloadResources(Side.CLIENT, event.categories);
 		if (event.side == null || event.side == Side.SERVER)
-			reloadResources(Side.SERVER);
+			reloadResources(Side.SERVER, event.categories);
 	}
 
 	public static void reloadResources(@Nonnull final Side side) {
+		reloadResources(side, null);
+	}
+
+	public static void reloadResources(@Nonnull final Side side, @Nullable final Set<String> categories) {
 		// Reload can be called on either side so make sure we queue
 		// up a scheduled task appropriately.
 		if (managers.hasValue(side)) {
-			Scheduler.schedule(side, () -> managers.get().reload());
+			Scheduler.schedule(side, () -> managers.get().reload(categories));
+		}
+	}
+
+	// Option categories that control where registry data comes from - the
+	// external script list and the built-in profiles. A change to any of these
+	// means the data files have to be read again.
+	private static final Set<String> DATA_SOURCES = ImmutableSet.of(ModOptions.CATEGORY_GENERAL,
+			ModOptions.CATEGORY_PROFILES);
+
+	// A data file that was parsed during the last full reload. Kept so that a
+	// partial reload can reconfigure registries without touching the disk.
+	private static class DataFile {
+		public final ModConfigurationFile cfg;
+		public final String txt;
+
+		public DataFile(@Nonnull final ModConfigurationFile cfg, @Nonnull final String txt) {
+			this.cfg = cfg;
+			this.txt = txt;
 		}
 	}
 
 	protected final Side side;
 	protected final Map<Class<? extends Registry>, Registry> registries = new IdentityHashMap<>();
 	protected final List<Registry> initOrder = new ArrayList<>();
+	protected final List<DataFile> dataFiles = new ArrayList<>();
+	protected final TimerEMA reloadTimer;
 	protected boolean initialized;
 
 	RegistryManager(final Side side) {
 		this.side = side;
+		this.reloadTimer = new ProfileTimer("Registry Reload (" + side + ")");
+	}
+
+	/**
+	 * Timing of registry reloads, full or partial, for diagnostics.
+	 */
+	@Nonnull
+	public TimerEMA getReloadTimer() {
+		return this.reloadTimer;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -113,10 +153,16 @@ public final class RegistryManager {
 		this.initOrder.add(reg);
 	}
 
-	protected void configRegistries(@Nonnull final ModConfigurationFile cfg, @Nonnull final String txt) {
+	protected void addDataFile(@Nullable final ModConfigurationFile cfg, @Nonnull final String txt) {
+		if (cfg != null)
+			this.dataFiles.add(new DataFile(cfg, txt));
+	}
+
+	protected void configRegistries(@Nonnull final List<Registry> regs, @Nonnull final ModConfigurationFile cfg,
+			@Nonnull final String txt) {
 		if (cfg != null) {
 			DSurround.log().info("Loading %s", txt);
-			this.initOrder.forEach(reg -> {
+			regs.forEach(reg -> {
 				try {
 					reg.configure(cfg);
 				} catch (@Nonnull final Throwable t) {
@@ -132,8 +178,7 @@ public final class RegistryManager {
 		try (final InputStream stream = p.getInputStream(rl)) {
 			if (stream != null) {
 				try (final InputStreamReader reader = new InputStreamReader(stream)) {
-					final ModConfigurationFile cfg = DataScripts.loadFromStream(reader);
-					configRegistries(cfg, txt);
+					addDataFile(DataScripts.loadFromStream(reader), txt);
 				}
 			}
 		} catch (@Nonnull final Throwable t) {
@@ -142,7 +187,50 @@ public final class RegistryManager {
 		}
 	}
 
+	/**
+	 * Reinitializes the registries that depend on the changed option categories.
+	 * If the categories are not known, or the change affects where the data comes
+	 * from, all registries are rebuilt from freshly read data files. Otherwise
+	 * the data files parsed during the last full reload are reused.
+	 *
+	 * @param categories
+	 *            The option categories that changed, or null if unknown
+	 */
+	public void reload(@Nullable final Set<String> categories) {
+		final long start = System.nanoTime();
+		reload0(categories);
+		this.reloadTimer.update(System.nanoTime() - start);
+	}
+
+	private void reload0(@Nullable final Set<String> categories) {
+		if (categories == null || this.dataFiles.isEmpty()
+				|| DATA_SOURCES.stream().anyMatch(c -> ReloadEvent.Configuration.affects(categories, c))) {
+			reload0();
+			return;
+		}
+
+		final List<Registry> affected = this.initOrder.stream()
+				.filter(reg -> reg.getConfigDependencies().stream()
+						.anyMatch(c -> ReloadEvent.Configuration.affects(categories, c)))
+				.collect(Collectors.toList());
+
+		if (affected.isEmpty()) {
+			DSurround.log().debug("Configuration change %s does not affect registries", categories);
+			return;
+		}
+
+		DSurround.log().info("Reinitializing %s",
+				affected.stream().map(reg -> reg.getClass().getSimpleName()).collect(Collectors.joining(", ")));
+		configure(affected);
+	}
+
 	public void reload() {
+		final long start = System.nanoTime();
+		reload0();
+		this.reloadTimer.update(System.nanoTime() - start);
+	}
+
+	private void reload0() {
 
 		// Collect the locations where DS data is configured
 		final List<Pack> packs = ResourcePacks.findResourcePacks();
@@ -151,8 +239,7 @@ public final class RegistryManager {
 		DSurround.log().info("Identified the following resource pack locations");
 		packs.stream().map(Pack::toString).forEach(DSurround.log()::info);
 
-		// Do the preinit
-		this.initOrder.forEach(Registry::init);
+		this.dataFiles.clear();
 
 		// Process the mod config from each of our packs
 		activeMods.stream().map(mod -> {
@@ -174,7 +261,7 @@ public final class RegistryManager {
 			try (final InputStreamReader reader = new InputStreamReader(script.stream)) {
 				final ModConfigurationFile cfg = DataScripts.loadFromStream(reader);
 				final String loadingText = "[" + DSurround.MOD_ID + "] <- [" + script.packName + "]";
-				configRegistries(cfg, loadingText);
+				addDataFile(cfg, loadingText);
 			} catch (@Nonnull final Throwable ex) {
 				final String temp = String.format("Unable to load profile [%s]", script.packName);
 				DSurround.log().error(temp, ex);
@@ -183,10 +270,20 @@ public final class RegistryManager {
 
 		// Load scripts specified in the configuration
 		Arrays.stream(ModOptions.general.externalScriptFiles)
-				.forEach(cfg -> configRegistries(DataScripts.loadFromDirectory(cfg), "[" + cfg + "]"));
+				.forEach(cfg -> addDataFile(DataScripts.loadFromDirectory(cfg), "[" + cfg + "]"));
+
+		configure(this.initOrder);
+	}
+
+	protected void configure(@Nonnull final List<Registry> regs) {
+		// Do the preinit
+		regs.forEach(Registry::init);
+
+		// Feed the data files, in the order they were loaded
+		this.dataFiles.forEach(df -> configRegistries(regs, df.cfg, df.txt));
 
 		// Have the registries finalize their settings
-		this.initOrder.forEach(Registry::initComplete);
+		regs.forEach(Registry::initComplete);
 
 		// Let everyone know a reload happened
 		MinecraftForge.EVENT_BUS.post(new ReloadEvent.Registry(this.side));
@@ -25,6 +25,7 @@ package org.blockartistry.DynSurround.registry;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -38,6 +39,8 @@ import org.blockartistry.DynSurround.data.xface.ModConfigurationFile;
 import org.blockartistry.lib.MyUtils;
 import org.blockartistry.lib.math.MathStuff;
 
+import com.google.common.collect.ImmutableSet;
+
 import gnu.trove.impl.Constants;
 import gnu.trove.map.hash.TObjectFloatHashMap;
 import net.minecraft.client.audio.ISound;
@@ -64,6 +67,12 @@ public final class SoundRegistry extends Registry {
 
 	}
 
+	@Override
+	@Nonnull
+	public Set<String> getConfigDependencies() {
+		return ImmutableSet.of(ModOptions.CATEGORY_SOUND);
+	}
+
 	@Override
 	public void init() {
 		this.cullSoundNames.clear();
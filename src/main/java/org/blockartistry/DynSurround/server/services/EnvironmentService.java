@@ -24,51 +24,111 @@
 
 package org.blockartistry.DynSurround.server.services;
 
-import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import javax.annotation.Nonnull;
 
 import org.blockartistry.DynSurround.network.Network;
 import org.blockartistry.DynSurround.network.PacketEnvironment;
 
+import com.google.common.collect.Maps;
+
+import gnu.trove.map.hash.TIntObjectHashMap;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.village.Village;
-import net.minecraft.village.VillageCollection;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedOutEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
 import net.minecraftforge.fml.relauncher.Side;
 
 public final class EnvironmentService extends Service {
 
+	// Ticks between packets when nothing has changed so a client that missed
+	// one catches up
+	private static final int RESEND_TICKS = 100;
+
+	/**
+	 * Last result for a player. Only re-evaluated when the player moves to
+	 * another block, changes dimension, or the village index is rebuilt.
+	 */
+	private static final class PlayerState {
+		int dimension;
+		long position;
+		int version = -1;
+		boolean inVillage;
+		int lastSent = Integer.MIN_VALUE;
+	}
+
+	private final TIntObjectHashMap<VillageIndex> indexes = new TIntObjectHashMap<>();
+	private final Map<UUID, PlayerState> players = Maps.newHashMap();
+
 	EnvironmentService() {
 		super("EnvironmentService");
 	}
 
+	@Override
+	public void fini() {
+		this.indexes.clear();
+		this.players.clear();
+	}
+
+	@Nonnull
+	private VillageIndex getIndex(@Nonnull final World world, final int tick) {
+		final int dim = world.provider.getDimension();
+		VillageIndex index = this.indexes.get(dim);
+		if (index == null)
+			this.indexes.put(dim, index = new VillageIndex());
+		index.update(world.getVillageCollection(), tick);
+		return index;
+	}
+
 	@SubscribeEvent
 	public void tickEvent(@Nonnull final TickEvent.PlayerTickEvent event) {
 		if (event.phase == Phase.END && event.side == Side.SERVER) {
 			final EntityPlayer player = event.player;
-			final VillageCollection villageCollection = player.getEntityWorld().getVillageCollection();
-			boolean inVillage = false;
-
-			if (villageCollection != null) {
-				final List<Village> villages = villageCollection.getVillageList();
-				if (villages != null && villages.size() > 0) {
-					final BlockPos pos = player.getPosition();
-					for (final Village v : villages)
-						if (v.isBlockPosWithinSqVillageRadius(pos)) {
-							inVillage = true;
-							break;
-						}
-				}
+			final World world = player.getEntityWorld();
+			final int tick = (int) world.getTotalWorldTime();
+			final VillageIndex index = getIndex(world, tick);
+
+			PlayerState state = this.players.get(player.getPersistentID());
+			if (state == null)
+				this.players.put(player.getPersistentID(), state = new PlayerState());
+
+			final BlockPos pos = player.getPosition();
+			final int dim = world.provider.getDimension();
+			final long packed = pos.toLong();
+			boolean changed = false;
+			if (state.version != index.getVersion() || state.position != packed || state.dimension != dim) {
+				final boolean inVillage = index.isInVillage(pos);
+				changed = inVillage != state.inVillage || state.dimension != dim;
+				state.inVillage = inVillage;
+				state.position = packed;
+				state.dimension = dim;
+				state.version = index.getVersion();
 			}
 
-			final PacketEnvironment packet = new PacketEnvironment(inVillage);
-			Network.sendToPlayer((EntityPlayerMP) player, packet);
+			if (changed || tick - state.lastSent >= RESEND_TICKS || tick - state.lastSent < 0) {
+				state.lastSent = tick;
+				final PacketEnvironment packet = new PacketEnvironment(state.inVillage);
+				Network.sendToPlayer((EntityPlayerMP) player, packet);
+			}
 		}
 	}
 
+	@SubscribeEvent
+	public void onLoggedOut(@Nonnull final PlayerLoggedOutEvent event) {
+		this.players.remove(event.player.getPersistentID());
+	}
+
+	@SubscribeEvent
+	public void onWorldUnload(@Nonnull final WorldEvent.Unload event) {
+		if (!event.getWorld().isRemote)
+			this.indexes.remove(event.getWorld().provider.getDimension());
+	}
+
 }
@@ -25,15 +25,25 @@
 package org.blockartistry.DynSurround.server.services;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 import javax.annotation.Nonnull;
 
+import org.blockartistry.DynSurround.DSurround;
 import org.blockartistry.DynSurround.ModOptions;
+import org.blockartistry.DynSurround.event.ServerDataSubscriptionEvent;
 import org.blockartistry.DynSurround.network.Network;
 import org.blockartistry.DynSurround.network.PacketServerData;
 
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
 import gnu.trove.map.hash.TIntDoubleHashMap;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.MinecraftServer;
 import net.minecraftforge.common.DimensionManager;
 import net.minecraftforge.common.MinecraftForge;
@@ -42,7 +52,10 @@ import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedOutEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.server.permission.DefaultPermissionLevel;
+import net.minecraftforge.server.permission.PermissionAPI;
 
 public final class ServiceManager extends Service {
 
@@ -77,6 +90,8 @@ public final class ServiceManager extends Service {
 	}
 
 	public static void initialize() {
+		PermissionAPI.registerNode(PERMISSION_SERVER_STATS, DefaultPermissionLevel.OP,
+				"Receive server tick and memory statistics in the F3 overlay");
 		INSTANCE.addService(INSTANCE);
 		INSTANCE.addService(new AtmosphereService());
 		INSTANCE.addService(new EntityEmojiService());
@@ -85,6 +100,12 @@ public final class ServiceManager extends Service {
 		INSTANCE.init0();
 	}
 
+	@Override
+	public void fini() {
+		this.subscribers.clear();
+		this.lastRequest.clear();
+	}
+
 	public static void deinitialize() {
 		INSTANCE.fini0();
 		INSTANCE.clearServices();
@@ -97,8 +118,53 @@ public final class ServiceManager extends Service {
 		ServerRegistry.DIMENSION.loading(e.getWorld());
 	}
 
+	private static final String PERMISSION_SERVER_STATS = DSurround.MOD_ID + ".serverstats";
+	// Minimum ticks between subscribe requests from a player
+	private static final int SUBSCRIBE_INTERVAL = 20;
+
 	private static long tpsCount = 0;
 
+	// Players that want server data, and the tick of their last subscribe
+	// request
+	private final Set<UUID> subscribers = Sets.newHashSet();
+	private final Map<UUID, Long> lastRequest = Maps.newHashMap();
+
+	private static boolean canSubscribe(@Nonnull final EntityPlayerMP player) {
+		// The host of an integrated server can always see its own numbers
+		return !player.mcServer.isDedicatedServer() || PermissionAPI.hasPermission(player, PERMISSION_SERVER_STATS);
+	}
+
+	/**
+	 * Players subscribe when they open the debug overlay and unsubscribe when
+	 * they close it. Unsubscribes are always honored; subscribes are checked
+	 * against the permission node and limited to one per second per player.
+	 */
+	@SubscribeEvent
+	public void onSubscription(@Nonnull final ServerDataSubscriptionEvent event) {
+		final UUID id = event.player.getPersistentID();
+		if (!event.subscribe) {
+			this.subscribers.remove(id);
+			return;
+		}
+
+		final Long last = this.lastRequest.get(id);
+		if (last != null && tpsCount - last.longValue() < SUBSCRIBE_INTERVAL)
+			return;
+		this.lastRequest.put(id, tpsCount);
+
+		if (canSubscribe(event.player))
+			this.subscribers.add(id);
+		else
+			DSurround.log().debug("Player %s is not permitted to receive server stats", event.player.getName());
+	}
+
+	@SubscribeEvent
+	public void onLoggedOut(@Nonnull final PlayerLoggedOutEvent event) {
+		final UUID id = event.player.getPersistentID();
+		this.subscribers.remove(id);
+		this.lastRequest.remove(id);
+	}
+
 	private static long mean(@Nonnull final long[] values) {
 		long sum = 0L;
 		for (final long v : values)
@@ -107,22 +173,34 @@ public final class ServiceManager extends Service {
 	}
 
 	/**
-	 * Collect tick performance data for the loaded dimensions and broadcast to
-	 * attached players.
+	 * Collect tick performance data for the loaded dimensions and send to
+	 * subscribed players.
 	 *
 	 * @param event
 	 */
 	@SubscribeEvent
 	public void tickEvent(@Nonnull final TickEvent.ServerTickEvent event) {
-		if (!ModOptions.logging.reportServerStats || event.phase != Phase.END)
+		if (event.phase != Phase.END)
 			return;
 
 		// Spam once a second
-		if ((++tpsCount % 20) != 0)
+		if ((++tpsCount % 20) != 0 || !ModOptions.logging.reportServerStats || this.subscribers.isEmpty())
 			return;
 
 		final MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
 
+		final List<EntityPlayerMP> players = new ArrayList<>(this.subscribers.size());
+		final Iterator<UUID> itr = this.subscribers.iterator();
+		while (itr.hasNext()) {
+			final EntityPlayerMP player = server.getPlayerList().getPlayerByUUID(itr.next());
+			if (player != null)
+				players.add(player);
+			else
+				itr.remove();
+		}
+		if (players.isEmpty())
+			return;
+
 		final TIntDoubleHashMap map = new TIntDoubleHashMap();
 		for (final Integer dim : DimensionManager.getIDs()) {
 			map.put(dim.intValue(), mean(server.worldTickTimes.get(dim)) / 1000000D);
@@ -134,6 +212,7 @@ public final class ServiceManager extends Service {
 		final int free = (int) (Runtime.getRuntime().freeMemory() / 1024L / 1024L);
 
 		final PacketServerData packet = new PacketServerData(map, meanTickTime, free, total, max);
-		Network.sendToAll(packet);
+		for (final EntityPlayerMP player : players)
+			Network.sendToPlayer(player, packet);
 	}
 }
@@ -0,0 +1,132 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.blockartistry.DynSurround.server.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.village.Village;
+import net.minecraft.village.VillageCollection;
+
+/**
+ * Spatial index over the villages of a dimension. Villages are bucketed into
+ * a coarse grid by the square their radius covers, so a lookup only tests
+ * the handful of villages near the position rather than the whole list.
+ *
+ * The index is rebuilt when the village collection changes. Village centers
+ * and radii move as doors are added and removed, so change is detected with a
+ * signature over the centers and radii taken every few ticks.
+ */
+final class VillageIndex {
+
+	private static final int CELL_SHIFT = 6; // 64 blocks
+	private static final int REFRESH_TICKS = 20;
+
+	private final TLongObjectHashMap<List<Village>> cells = new TLongObjectHashMap<>();
+	private long signature = Long.MIN_VALUE;
+	private int nextCheck;
+	private int version;
+
+	/**
+	 * Incremented whenever the index is rebuilt so cached lookups can tell
+	 * when they are stale.
+	 */
+	public int getVersion() {
+		return this.version;
+	}
+
+	private static long key(final int cellX, final int cellZ) {
+		return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+	}
+
+	private static long signature(@Nonnull final List<Village> villages) {
+		long sig = villages.size();
+		for (final Village v : villages) {
+			sig = sig * 31 + v.getCenter().toLong();
+			sig = sig * 31 + v.getVillageRadius();
+		}
+		return sig;
+	}
+
+	/**
+	 * Checks the collection for changes and rebuilds if needed.
+	 *
+	 * @param collection
+	 *            The world's village collection; may be null
+	 * @param tick
+	 *            Current server tick
+	 */
+	public void update(@Nullable final VillageCollection collection, final int tick) {
+		if (tick - this.nextCheck < 0)
+			return;
+		this.nextCheck = tick + REFRESH_TICKS;
+
+		final List<Village> villages = collection != null ? collection.getVillageList() : null;
+		final long sig = villages != null ? signature(villages) : 0;
+		if (sig == this.signature)
+			return;
+
+		this.signature = sig;
+		this.version++;
+		this.cells.clear();
+
+		if (villages == null)
+			return;
+
+		for (final Village v : villages) {
+			final BlockPos center = v.getCenter();
+			final int radius = v.getVillageRadius();
+			final int x0 = (center.getX() - radius) >> CELL_SHIFT;
+			final int x1 = (center.getX() + radius) >> CELL_SHIFT;
+			final int z0 = (center.getZ() - radius) >> CELL_SHIFT;
+			final int z1 = (center.getZ() + radius) >> CELL_SHIFT;
+			for (int x = x0; x <= x1; x++)
+				for (int z = z0; z <= z1; z++) {
+					final long k = key(x, z);
+					List<Village> list = this.cells.get(k);
+					if (list == null)
+						this.cells.put(k, list = new ArrayList<>(2));
+					list.add(v);
+				}
+		}
+	}
+
+	/**
+	 * Whether the position is within the radius of any village.
+	 */
+	public boolean isInVillage(@Nonnull final BlockPos pos) {
+		final List<Village> list = this.cells.get(key(pos.getX() >> CELL_SHIFT, pos.getZ() >> CELL_SHIFT));
+		if (list != null)
+			for (int i = 0; i < list.size(); i++)
+				if (list.get(i).isBlockPosWithinSqVillageRadius(pos))
+					return true;
+		return false;
+	}
+}
@@ -161,6 +161,13 @@ public final class PresetData {
 		return this.data.containsKey(id);
 	}
 
+	/*
+	 * Whether the other data holds exactly the same settings.
+	 */
+	public boolean sameAs(@Nonnull final PresetData other) {
+		return this.data.equals(other.data);
+	}
+
 	@Nonnull
 	public Set<Entry<String, String>> getEntries() {
 		return ImmutableSet.copyOf(this.data.entrySet());
@@ -31,12 +31,17 @@ import java.io.FilenameFilter;
 import java.io.Reader;
 import java.io.Writer;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import org.apache.commons.lang3.StringUtils;
 import org.blockartistry.Presets.Presets;
+import org.blockartistry.Presets.api.PresetData;
 import org.blockartistry.Presets.api.events.PresetEvent;
 
 import com.google.common.base.Optional;
@@ -45,16 +50,41 @@ import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
 
 import net.minecraftforge.common.MinecraftForge;
 
 public class PresetConfig {
 
 	protected static final String PRESET_EXT = ".presets";
+	protected static final String CATALOGUE_FILE = "catalogue.json";
 	protected static final FilenameFilter FILTER = (dir, name) -> name.endsWith(PRESET_EXT);
 
+	protected static final Gson GSON = new GsonBuilder().create();
+	protected static final Gson GSON_PRETTY = new GsonBuilder().setPrettyPrinting().create();
+
+	/*
+	 * What the catalogue remembers about a preset file. The size and modified
+	 * time are used to tell if the file has changed since it was last read.
+	 */
+	protected static class CatalogueEntry {
+		@SerializedName("title")
+		public String title = StringUtils.EMPTY;
+		@SerializedName("description")
+		public String description = StringUtils.EMPTY;
+		@SerializedName("restartRequired")
+		public boolean restartRequired = false;
+		@SerializedName("size")
+		public long size;
+		@SerializedName("modified")
+		public long modified;
+	}
+
 	protected final File dir;
 	protected final List<PresetInfo> presets = Lists.newArrayList();
+	protected Map<String, CatalogueEntry> catalogue;
 	protected boolean hasScanned = false;
 
 	public PresetConfig(@Nonnull final File directory) {
@@ -74,25 +104,80 @@ public class PresetConfig {
 
 	/*
 	 * Forces a scan of the Presets! directory to find presets. The internal list of
-	 * presets will be updated with the changes.
+	 * presets will be updated with the changes. Only the title and description of
+	 * each preset is gathered; the settings are read when a preset is used. Files
+	 * that have not changed since the last scan are taken from the catalogue
+	 * without being opened.
 	 */
 	public void scan() {
+		if (this.catalogue == null)
+			this.catalogue = loadCatalogue();
+
+		final Map<String, CatalogueEntry> current = new HashMap<>();
+		boolean dirty = false;
+
 		this.presets.clear();
 		for (final File f : this.dir.listFiles(FILTER)) {
-			final PresetInfo info = load0(f);
-			if (info != null)
-				this.presets.add(info);
+			CatalogueEntry entry = this.catalogue.get(f.getName());
+			if (entry == null || entry.size != f.length() || entry.modified != f.lastModified()) {
+				entry = readHeader(f);
+				if (entry == null)
+					continue;
+				dirty = true;
+			}
+			current.put(f.getName(), entry);
+			this.presets.add(new PresetInfo(f.getName()).setHeader(entry.title, entry.description,
+					entry.restartRequired));
 		}
 		Collections.sort(this.presets);
 		this.hasScanned = true;
+
+		if (dirty || current.size() != this.catalogue.size()) {
+			this.catalogue = current;
+			saveCatalogue();
+		}
+	}
+
+	/*
+	 * Makes sure the settings for the preset have been read from disk.
+	 */
+	@Nonnull
+	public PresetInfo load(@Nonnull final PresetInfo info) {
+		if (!info.isLoaded()) {
+			final File dataFile = new File(this.dir, info.getFilename());
+			final PresetDataFile dataOnDisk = dataFile.exists() ? load0(dataFile) : null;
+			if (dataOnDisk != null)
+				info.set0(dataOnDisk.data);
+			else
+				info.set0(new HashMap<>());
+		}
+		return info;
 	}
 
 	/*
 	 * Takes the given preset and fires an event for mods to load the contained data
-	 * into their configurations.
+	 * into their configurations. Only mods whose settings differ from what is
+	 * currently in effect are included so configurations that would not change are
+	 * not rewritten and reloaded.
 	 */
 	public void applyPreset(@Nonnull final PresetInfo info) {
-		final PresetEvent.Load event = new PresetEvent.Load(info.getData());
+		final PresetEvent.Save current = new PresetEvent.Save();
+		MinecraftForge.EVENT_BUS.post(current);
+		final Map<String, PresetData> now = current.getData();
+
+		final Map<String, PresetData> changed = new HashMap<>();
+		for (final Entry<String, PresetData> e : load(info).getData().entrySet()) {
+			final PresetData data = now.get(e.getKey());
+			if (data == null || !data.sameAs(e.getValue()))
+				changed.put(e.getKey(), e.getValue());
+		}
+
+		if (changed.isEmpty()) {
+			Presets.log().info("Preset %s matches the current settings", info.getFilename());
+			return;
+		}
+
+		final PresetEvent.Load event = new PresetEvent.Load(changed);
 		MinecraftForge.EVENT_BUS.post(event);
 	}
 
@@ -114,7 +199,7 @@ public class PresetConfig {
 		if (!info.getFilename().endsWith(PRESET_EXT))
 			info.setFilename(info.getFilename() + PRESET_EXT);
 
-		save0(info);
+		save0(load(info));
 
 		final Optional<PresetInfo> existing = Iterators.tryFind(this.presets.iterator(),
 				(@Nonnull final PresetInfo input) -> input.getFilename().equals(info.getFilename()));
@@ -135,12 +220,44 @@ public class PresetConfig {
 			file.delete();
 	}
 
+	/*
+	 * Reads the title and description from a preset file, skipping over the
+	 * settings.
+	 */
 	@Nullable
-	protected PresetInfo load0(@Nonnull final File dataFile) {
+	protected CatalogueEntry readHeader(@Nonnull final File dataFile) {
+		try (final JsonReader in = new JsonReader(new FileReader(dataFile))) {
+			final CatalogueEntry entry = new CatalogueEntry();
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "title":
+					entry.title = in.nextString();
+					break;
+				case "description":
+					entry.description = in.nextString();
+					break;
+				case "restartRequired":
+					entry.restartRequired = in.nextBoolean();
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			entry.size = dataFile.length();
+			entry.modified = dataFile.lastModified();
+			return entry;
+		} catch (final Throwable t) {
+			Presets.log().error("Unable to load data " + dataFile.getName(), t);
+		}
+		return null;
+	}
+
+	@Nullable
+	protected PresetDataFile load0(@Nonnull final File dataFile) {
 		try (final Reader in = new FileReader(dataFile)) {
-			final Gson gson = new GsonBuilder().create();
-			final PresetDataFile dataOnDisk = gson.fromJson(in, PresetDataFile.class);
-			return new PresetInfo(dataFile.getName()).set(dataOnDisk);
+			return GSON.fromJson(in, PresetDataFile.class);
 		} catch (final Throwable t) {
 			Presets.log().error("Unable to load data " + dataFile.getName(), t);
 		}
@@ -153,8 +270,7 @@ public class PresetConfig {
 
 			final File dataFile = new File(this.dir, info.getFilename());
 			try (final Writer out = new FileWriter(dataFile)) {
-				final Gson gson = new GsonBuilder().setPrettyPrinting().create();
-				gson.toJson(new PresetDataFile(info), out);
+				GSON_PRETTY.toJson(new PresetDataFile(info), out);
 			}
 
 		} catch (final Throwable t) {
@@ -164,4 +280,29 @@ public class PresetConfig {
 		return info;
 	}
 
+	@Nonnull
+	protected Map<String, CatalogueEntry> loadCatalogue() {
+		final File file = new File(this.dir, CATALOGUE_FILE);
+		if (file.exists()) {
+			try (final Reader in = new FileReader(file)) {
+				final Map<String, CatalogueEntry> result = GSON.fromJson(in,
+						new TypeToken<HashMap<String, CatalogueEntry>>() {
+						}.getType());
+				if (result != null)
+					return result;
+			} catch (final Throwable t) {
+				Presets.log().warn("Unable to read preset catalogue; it will be rebuilt");
+			}
+		}
+		return new HashMap<>();
+	}
+
+	protected void saveCatalogue() {
+		try (final Writer out = new FileWriter(new File(this.dir, CATALOGUE_FILE))) {
+			GSON.toJson(this.catalogue, out);
+		} catch (final Throwable t) {
+			Presets.log().error("Unable to save preset catalogue", t);
+		}
+	}
+
 }
@@ -118,6 +118,22 @@ public class PresetInfo implements Comparable<PresetInfo> {
 		return this;
 	}
 
+	/*
+	 * Title and description only; the settings are read from disk when needed.
+	 */
+	PresetInfo setHeader(@Nonnull final String title, @Nonnull final String description,
+			final boolean restartRequired) {
+		setTitle(title);
+		setDescription(description);
+		setRestartRequired(restartRequired);
+		this.data = null;
+		return this;
+	}
+
+	boolean isLoaded() {
+		return this.data != null;
+	}
+
 	PresetInfo set(@Nonnull final PresetDataFile data) {
 		setTitle(data.title);
 		setDescription(data.description);
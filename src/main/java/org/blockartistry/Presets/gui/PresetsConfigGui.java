@@ -322,6 +322,8 @@ public class PresetsConfigGui extends GuiScreen implements GuiYesNoCallback, ITo
 		}
 			break;
 		case ID_EDIT: {
+			// Settings have to be in hand before the file name can change
+			this.config.load(pi);
 			final PresetInfoModifyGui gui = new PresetInfoModifyGui(this, pi, true, ID_EDIT);
 			this.mc.displayGuiScreen(gui);
 		}
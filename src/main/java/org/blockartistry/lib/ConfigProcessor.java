@@ -29,7 +29,14 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -103,6 +110,76 @@ public final class ConfigProcessor {
 
 	}
 
+	/**
+	 * Point in time copy of the option values of a configuration class. Two
+	 * snapshots of the same class can be compared to find out which categories
+	 * had options change, so callers can limit what they reinitialize.
+	 */
+	public static final class Snapshot {
+
+		private final Map<String, Object[]> categories = new HashMap<>();
+
+		private Snapshot() {
+
+		}
+
+		@Nonnull
+		public static Snapshot take(@Nonnull final Class<?> clazz) {
+			final Snapshot result = new Snapshot();
+			result.capture(StringUtils.EMPTY, clazz);
+			return result;
+		}
+
+		private void capture(@Nonnull final String category, @Nonnull final Class<?> clazz) {
+			final List<Object> values = new ArrayList<>();
+			for (final Field field : clazz.getFields()) {
+				if (field.getAnnotation(Option.class) != null) {
+					try {
+						final Object value = field.get(null);
+						values.add(value instanceof String[] ? ((String[]) value).clone() : value);
+					} catch (final Throwable t) {
+						LibLog.log().error("Unable to read configuration option", t);
+					}
+				}
+			}
+			if (!values.isEmpty())
+				this.categories.put(category, values.toArray());
+
+			for (final Class<?> c : clazz.getDeclaredClasses()) {
+				final Category annotation = c.getAnnotation(Category.class);
+				if (annotation != null) {
+					final String s = StringUtils.isEmpty(category) ? annotation.value()
+							: category + "." + annotation.value();
+					capture(s, c);
+				}
+			}
+		}
+
+		/**
+		 * The qualified names of all categories captured by the snapshot.
+		 */
+		@Nonnull
+		public Set<String> getCategories() {
+			return new HashSet<>(this.categories.keySet());
+		}
+
+		/**
+		 * Determines the qualified names of the categories that have at least one
+		 * option with a different value in the other snapshot.
+		 */
+		@Nonnull
+		public Set<String> diff(@Nonnull final Snapshot other) {
+			final Set<String> result = new HashSet<>();
+			for (final Entry<String, Object[]> e : this.categories.entrySet())
+				if (!Arrays.deepEquals(e.getValue(), other.categories.get(e.getKey())))
+					result.add(e.getKey());
+			for (final String c : other.categories.keySet())
+				if (!this.categories.containsKey(c))
+					result.add(c);
+			return result;
+		}
+	}
+
 	public static void process(@Nonnull final Configuration config, @Nonnull final Class<?> clazz) {
 		process(config, clazz, null);
 	}
@@ -21,13 +21,16 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-
 package org.blockartistry.lib.asm;
 
 import static org.objectweb.asm.Opcodes.ASM5;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
 
 import org.apache.logging.log4j.Logger;
 import org.objectweb.asm.ClassReader;
@@ -40,7 +43,12 @@ public abstract class MyTransformer implements IClassTransformer {
 
 	protected final Logger logger;
 
-	private final List<Transmorgrifier> morgers = new ArrayList<>();
+	// Keyed by target class name so that the vast majority of classes, which no
+	// Transmorgrifier cares about, cost a single lookup.
+	private final Map<String, List<Transmorgrifier>> morgers = new HashMap<>();
+
+	private boolean cacheResolved;
+	private TransformCache cache;
 
 	public MyTransformer(final Logger logger) {
 		this.logger = logger;
@@ -50,37 +58,88 @@ public abstract class MyTransformer implements IClassTransformer {
 	protected abstract void initTransmorgrifiers();
 
 	public void addTransmorgrifier(final Transmorgrifier t) {
-		this.morgers.add(t);
+		this.morgers.computeIfAbsent(t.getClassName(), k -> new ArrayList<>(2)).add(t);
+	}
+
+	/**
+	 * Override to supply an on-disk cache for transformed classes. Called once,
+	 * the first time a class needs transforming, so configuration is available.
+	 *
+	 * @return The cache to use, or null if caching is not desired
+	 */
+	@Nullable
+	protected TransformCache createCache() {
+		return null;
+	}
+
+	@Nullable
+	private TransformCache getCache() {
+		if (!this.cacheResolved) {
+			this.cacheResolved = true;
+			this.cache = createCache();
+		}
+		return this.cache;
 	}
 
 	@Override
 	public byte[] transform(final String name, final String transformedName, byte[] classBytes) {
 
-		for (final Transmorgrifier t : this.morgers)
-			if (t.matches(transformedName) && t.isEnabled()) {
-
-				try {
-					final ClassReader cr = new ClassReader(classBytes);
-					final ClassNode cn = new ClassNode(ASM5);
-					cr.accept(cn, 0);
+		if (classBytes == null)
+			return null;
 
-					this.logger.info(String.format("Transmorgrifying [%s]: %s", transformedName, t.name()));
-					final boolean modified = t.transmorgrify(cn);
+		final List<Transmorgrifier> candidates = this.morgers.get(transformedName);
+		if (candidates == null)
+			return classBytes;
 
-					final ClassWriter cw = new ClassWriter(t.classWriterFlags());
-					cn.accept(cw);
-					classBytes = cw.toByteArray();
+		final List<Transmorgrifier> active = new ArrayList<>(candidates.size());
+		int flags = 0;
+		for (final Transmorgrifier t : candidates)
+			if (t.matches(transformedName) && t.isEnabled()) {
+				active.add(t);
+				flags |= t.classWriterFlags();
+			}
 
-					if (modified) {
-						this.logger.info(String.format("Transmorgrified [%s]: %s", transformedName, t.name()));
-					}
+		if (active.isEmpty())
+			return classBytes;
 
-				} catch (final Throwable ex) {
-					ex.printStackTrace();
-					throw ex;
+		final TransformCache cache = getCache();
+		final String key = cache != null ? cache.key(classBytes, active) : null;
+		if (cache != null) {
+			final byte[] cached = cache.get(transformedName, key);
+			if (cached != null) {
+				this.logger.info(String.format("Transmorgrified [%s] from cache", transformedName));
+				return cached;
+			}
+		}
+
+		try {
+			final ClassReader cr = new ClassReader(classBytes);
+			final ClassNode cn = new ClassNode(ASM5);
+			cr.accept(cn, 0);
+
+			boolean modified = false;
+			for (final Transmorgrifier t : active) {
+				this.logger.info(String.format("Transmorgrifying [%s]: %s", transformedName, t.name()));
+				if (t.transmorgrify(cn)) {
+					modified = true;
+					this.logger.info(String.format("Transmorgrified [%s]: %s", transformedName, t.name()));
 				}
 			}
 
+			if (modified) {
+				final ClassWriter cw = new ClassWriter(flags);
+				cn.accept(cw);
+				classBytes = cw.toByteArray();
+			}
+
+		} catch (final Throwable ex) {
+			ex.printStackTrace();
+			throw ex;
+		}
+
+		if (cache != null)
+			cache.put(transformedName, key, classBytes);
+
 		return classBytes;
 	}
 
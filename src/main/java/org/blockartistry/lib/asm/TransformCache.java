@@ -0,0 +1,111 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.asm;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.logging.log4j.Logger;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * On-disk store of transformed class bytes. Each entry is keyed by a hash of
+ * the incoming class bytes, the set of Transmorgrifiers that are enabled for
+ * the class, and a salt supplied by the owning transformer (typically the mod
+ * version). Any change to those inputs yields a different key and the entry is
+ * rebuilt on the next load.
+ */
+public class TransformCache {
+
+	private static final int FORMAT = 1;
+
+	private final Logger logger;
+	private final File dir;
+	private final String salt;
+
+	public TransformCache(@Nonnull final Logger logger, @Nonnull final File dir, @Nonnull final String salt) {
+		this.logger = logger;
+		this.dir = dir;
+		this.salt = salt;
+		this.dir.mkdirs();
+	}
+
+	@Nonnull
+	public String key(@Nonnull final byte[] classBytes, @Nonnull final List<Transmorgrifier> active) {
+		final Hasher h = Hashing.sha1().newHasher();
+		h.putInt(FORMAT).putString(this.salt, StandardCharsets.UTF_8).putBytes(classBytes);
+		for (final Transmorgrifier t : active)
+			h.putString(t.name(), StandardCharsets.UTF_8);
+		return h.hash().toString();
+	}
+
+	@Nonnull
+	private File fileFor(@Nonnull final String className) {
+		return new File(this.dir, className + ".bin");
+	}
+
+	/**
+	 * Returns the cached bytes for the class if they were produced from the same
+	 * key, null otherwise.
+	 */
+	@Nullable
+	public byte[] get(@Nonnull final String className, @Nonnull final String key) {
+		final File file = fileFor(className);
+		if (!file.isFile())
+			return null;
+		try (final DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+			if (!key.equals(in.readUTF()))
+				return null;
+			final byte[] result = new byte[in.readInt()];
+			in.readFully(result);
+			return result;
+		} catch (@Nonnull final IOException ex) {
+			this.logger.warn(String.format("Unable to read transform cache for [%s]", className), ex);
+			return null;
+		}
+	}
+
+	public void put(@Nonnull final String className, @Nonnull final String key, @Nonnull final byte[] classBytes) {
+		final File file = fileFor(className);
+		try (final DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+			out.writeUTF(key);
+			out.writeInt(classBytes.length);
+			out.write(classBytes);
+		} catch (@Nonnull final IOException ex) {
+			this.logger.warn(String.format("Unable to write transform cache for [%s]", className), ex);
+			file.delete();
+		}
+	}
+}
@@ -35,6 +35,8 @@ import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldType;
 import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 
 /**
  * Chunk cache implementation that performs no caching and passes the call directly
@@ -149,4 +151,15 @@ public class DirectChunkCache implements IChunkCache, IBlockAccessEx {
 	public BlockPos getPrecipitationHeight(@Nonnull final BlockPos pos) {
 		return this.world == null ? pos : this.world.getPrecipitationHeight(pos);
 	}
+
+	@Override
+	public boolean isSectionEmpty(final int x, final int y, final int z) {
+		if (this.world == null || y < 0 || y > 255)
+			return true;
+		final Chunk chunk = this.world.getChunkProvider().getLoadedChunk(x >> 4, z >> 4);
+		if (chunk == null)
+			return true;
+		final ExtendedBlockStorage section = chunk.getBlockStorageArray()[y >> 4];
+		return section == Chunk.NULL_BLOCK_STORAGE || section.isEmpty();
+	}
 }
@@ -134,4 +134,21 @@ public interface IBlockAccessEx extends IBlockAccess {
 	@Nonnull
 	BlockPos getPrecipitationHeight(@Nonnull final BlockPos pos);
 
+	/**
+	 * Indicates if the 16x16x16 chunk section containing the coordinates is known
+	 * to hold nothing but air. Lets callers that walk whole chunks skip sections
+	 * outright. Implementations that cannot tell return false.
+	 * 
+	 * @param x
+	 *            Block X coordinate within the section
+	 * @param y
+	 *            Block Y coordinate within the section
+	 * @param z
+	 *            Block Z coordinate within the section
+	 * @return true if the section is empty or does not exist; false otherwise
+	 */
+	default boolean isSectionEmpty(final int x, final int y, final int z) {
+		return false;
+	}
+
 }
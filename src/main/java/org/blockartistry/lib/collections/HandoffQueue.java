@@ -0,0 +1,94 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.collections;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Bounded hand-off from any number of producer threads to a single consumer.
+ * Producers never block; if the queue is at capacity the item is refused. The
+ * consumer empties the queue in one go from its own thread, so whatever it
+ * feeds the items into does not need to be thread safe.
+ */
+public final class HandoffQueue<T> {
+
+	private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger count = new AtomicInteger();
+	private final int capacity;
+
+	public HandoffQueue(final int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Queues the item for the consumer. Safe to call from any thread.
+	 *
+	 * @return true if queued, false if the queue is full
+	 */
+	public boolean offer(@Nonnull final T item) {
+		if (this.count.incrementAndGet() > this.capacity) {
+			this.count.decrementAndGet();
+			return false;
+		}
+		this.queue.offer(item);
+		return true;
+	}
+
+	/**
+	 * Hands every queued item to the consumer. Items offered while the drain is
+	 * in progress may or may not be included. Only one thread may drain.
+	 *
+	 * @return Number of items drained
+	 */
+	public int drain(@Nonnull final Consumer<? super T> consumer) {
+		int drained = 0;
+		T item;
+		while ((item = this.queue.poll()) != null) {
+			this.count.decrementAndGet();
+			consumer.accept(item);
+			drained++;
+		}
+		return drained;
+	}
+
+	/**
+	 * Discards all queued items. Only the consuming thread may clear.
+	 */
+	public void clear() {
+		while (this.queue.poll() != null)
+			this.count.decrementAndGet();
+	}
+
+	public int size() {
+		return this.count.get();
+	}
+
+	public boolean isEmpty() {
+		return this.count.get() == 0;
+	}
+}
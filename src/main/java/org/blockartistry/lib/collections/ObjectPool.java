@@ -0,0 +1,112 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.collections;
+
+import java.util.ArrayDeque;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Bounded free list of objects that can be reinitialized and used again
+ * instead of being left for the garbage collector. Objects are handed back
+ * with release() once nothing else refers to them; acquire() hands out the
+ * most recently released one. Once the pool is full additional releases are
+ * simply dropped.
+ *
+ * Not thread safe. Each pool is meant to be used from a single thread.
+ */
+public final class ObjectPool<T extends ObjectPool.IPoolable> {
+
+	/**
+	 * Lifecycle hooks for pooled objects. An object is reinitialized by its own
+	 * reset method when it is acquired; onRelease() is where it lets go of any
+	 * references it holds so a pooled object does not keep a world, sound or
+	 * other resource alive.
+	 */
+	public static interface IPoolable {
+		void onRelease();
+	}
+
+	private final String name;
+	private final int capacity;
+	private final ArrayDeque<T> free;
+
+	private long acquired;
+	private long reused;
+	private long dropped;
+
+	public ObjectPool(@Nonnull final String name, final int capacity) {
+		this.name = name;
+		this.capacity = capacity;
+		this.free = new ArrayDeque<>(Math.min(capacity, 256));
+	}
+
+	@Nonnull
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Takes an object from the pool. The caller is expected to reset it before
+	 * use.
+	 *
+	 * @return A pooled object, or null if the pool is empty
+	 */
+	@Nullable
+	public T acquire() {
+		this.acquired++;
+		final T obj = this.free.pollLast();
+		if (obj != null)
+			this.reused++;
+		return obj;
+	}
+
+	/**
+	 * Returns an object to the pool. The caller must not use it afterwards.
+	 */
+	public void release(@Nonnull final T obj) {
+		obj.onRelease();
+		if (this.free.size() < this.capacity)
+			this.free.addLast(obj);
+		else
+			this.dropped++;
+	}
+
+	public int size() {
+		return this.free.size();
+	}
+
+	public void clear() {
+		this.free.clear();
+	}
+
+	@Override
+	@Nonnull
+	public String toString() {
+		final double rate = this.acquired == 0 ? 0 : this.reused * 100D / this.acquired;
+		return String.format("%s: %d pooled, %d acquired, %.1f%% reused, %d dropped", this.name, this.free.size(),
+				this.acquired, rate, this.dropped);
+	}
+}
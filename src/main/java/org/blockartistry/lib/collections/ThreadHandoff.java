@@ -0,0 +1,94 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.collections;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Routes items submitted from foreign threads through a HandoffQueue so that
+ * they reach the owner of a single threaded structure on the owner's own
+ * thread. Submissions made on the owning thread are left for the caller to
+ * handle directly. Items refused because the queue is full are counted.
+ */
+public final class ThreadHandoff<T> {
+
+	private final HandoffQueue<T> pending;
+	private final BooleanSupplier isOwnerThread;
+	private final AtomicLong refused = new AtomicLong();
+
+	/**
+	 * @param capacity
+	 *            Most items that can be waiting for the owner
+	 * @param isOwnerThread
+	 *            Tells whether the calling thread is the owner
+	 */
+	public ThreadHandoff(final int capacity, @Nonnull final BooleanSupplier isOwnerThread) {
+		this.pending = new HandoffQueue<>(capacity);
+		this.isOwnerThread = isOwnerThread;
+	}
+
+	/**
+	 * Queues the item if called from a foreign thread.
+	 *
+	 * @return true if the item was taken, either queued or refused; false if the
+	 *         caller is the owner and should handle the item itself
+	 */
+	public boolean submit(@Nonnull final T item) {
+		if (this.isOwnerThread.getAsBoolean())
+			return false;
+		if (!this.pending.offer(item))
+			this.refused.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Hands everything queued to the consumer. Only the owner may drain.
+	 */
+	public void drain(@Nonnull final Consumer<? super T> consumer) {
+		if (!this.pending.isEmpty())
+			this.pending.drain(consumer);
+	}
+
+	/**
+	 * Discards everything queued. Only the owner may clear.
+	 */
+	public void clear() {
+		this.pending.clear();
+	}
+
+	public int getPendingCount() {
+		return this.pending.size();
+	}
+
+	/**
+	 * Number of items refused because the queue was full.
+	 */
+	public long getRefusedCount() {
+		return this.refused.get();
+	}
+}
@@ -83,6 +83,23 @@ public abstract class EntityEffect {
 	 */
 	public abstract void update(@Nonnull final Entity subject);
 
+	/**
+	 * Indicates how often, in ticks, the EntityEffect should be updated when the
+	 * subject is within the given distance band of the player. A value of 1 means
+	 * every tick, and 0 means the effect is suspended while in that band. The
+	 * EntityEffectHandler staggers the updates across ticks using the entity ID so
+	 * a crowd of entities does not land on the same tick.
+	 *
+	 * The default is to update every tick regardless of distance.
+	 *
+	 * @param band
+	 *            The distance band the subject is in
+	 * @return Number of ticks between updates, or 0 to suspend
+	 */
+	public int getUpdateInterval(@Nonnull final RangeBand band) {
+		return 1;
+	}
+
 	/**
 	 * Indicates to the EntityEffectHandler that the EntityEffect wants to be called
 	 * one last time after the Entity dies.
@@ -103,12 +103,32 @@ public class EntityEffectHandler extends EntityEffectStateBase implements IEntit
 			final EntityPlayer player = Minecraft.getMinecraft().player;
 			this.rangeToPlayer = entity.getDistanceSq(player);
 
-			for (final EntityEffect e : this.activeEffects)
-				if (this.isAlive || e.receiveLastCall())
+			final RangeBand band = RangeBand.of(this.rangeToPlayer);
+			final long tick = entity.getEntityWorld().getTotalWorldTime() + entity.getEntityId();
+
+			for (int i = 0; i < this.activeEffects.size(); i++) {
+				final EntityEffect e = this.activeEffects.get(i);
+				if (this.isAlive) {
+					if (isDue(e.getUpdateInterval(band), tick))
+						e.update(entity);
+				} else if (e.receiveLastCall()) {
 					e.update(entity);
+				}
+			}
 		}
 	}
 
+	/**
+	 * Determines if an effect with the specified update interval should run on
+	 * the given tick. The tick passed in is expected to already be offset by the
+	 * entity ID so that updates are spread out.
+	 */
+	protected static boolean isDue(final int interval, final long tick) {
+		if (interval == 1)
+			return true;
+		return interval > 1 && tick % interval == 0;
+	}
+
 	/**
 	 * Instructs the EntityEffectHandler that it should cleanup state because it is
 	 * about to die.
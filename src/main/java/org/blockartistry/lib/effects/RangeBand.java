@@ -0,0 +1,86 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.effects;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Distance bands used to schedule EntityEffect updates. Effects attached to
+ * entities close to the player are updated every tick; effects further away
+ * can declare a slower rate, or be suspended entirely. See
+ * EntityEffect.getUpdateInterval().
+ */
+@SideOnly(Side.CLIENT)
+public enum RangeBand {
+
+	NEAR(16),
+	MID(32),
+	FAR(Integer.MAX_VALUE);
+
+	private final double maxRangeSq;
+
+	private RangeBand(final int maxRange) {
+		this.maxRangeSq = maxRange == Integer.MAX_VALUE ? Double.MAX_VALUE : (double) maxRange * maxRange;
+	}
+
+	/**
+	 * Determines the band for the given distance, squared, to the player.
+	 *
+	 * @param rangeSq
+	 *            Distance to the player, squared
+	 * @return The band that the distance falls into
+	 */
+	public static RangeBand of(final double rangeSq) {
+		if (rangeSq <= NEAR.maxRangeSq)
+			return NEAR;
+		if (rangeSq <= MID.maxRangeSq)
+			return MID;
+		return FAR;
+	}
+
+	/**
+	 * Picks the value that corresponds to this band. Used by EntityEffects to
+	 * declare their per band update interval without repeating a switch.
+	 *
+	 * @param near
+	 *            Value to use when in the NEAR band
+	 * @param mid
+	 *            Value to use when in the MID band
+	 * @param far
+	 *            Value to use when in the FAR band
+	 * @return The value for this band
+	 */
+	public int select(final int near, final int mid, final int far) {
+		switch (this) {
+		case NEAR:
+			return near;
+		case MID:
+			return mid;
+		default:
+			return far;
+		}
+	}
+
+}
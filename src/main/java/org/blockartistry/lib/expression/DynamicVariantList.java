@@ -39,9 +39,10 @@ public class DynamicVariantList {
 
 	/**
 	 * Called to update the state of the dynamic variants contain within the list.
-	 * Restricted to package scope.
+	 * Override to skip the update when the underlying state is known not to have
+	 * changed.
 	 */
-	void update() {
+	protected void update() {
 		this.variants.forEach(IDynamicVariant::update);
 	}
 
@@ -0,0 +1,143 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.math;
+
+import java.util.Arrays;
+
+/**
+ * Fixed bucket histogram of durations in nanoseconds. Buckets are laid out on
+ * a log2 scale with each power of two split into four linear sub-buckets, so
+ * the error of a reported value is at most 25%. Everything is preallocated;
+ * recording a sample is a couple of shifts and an array increment.
+ *
+ * Samples are collected into a window. When the window fills it becomes the
+ * previous window and a new one is started, so reported figures cover between
+ * one and two windows worth of the most recent samples.
+ */
+public class TimerHistogram {
+
+	// Anything under 2^MIN_EXP nanoseconds (~1 microsecond) lands in the first
+	// bucket. The last bucket catches everything over 2^MAX_EXP (~18 minutes).
+	private static final int MIN_EXP = 10;
+	private static final int MAX_EXP = 40;
+	private static final int SUB_BITS = 2;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int BUCKETS = (MAX_EXP - MIN_EXP + 2) * SUB_BUCKETS;
+
+	public static final int DEFAULT_WINDOW = 200;
+
+	private final int window;
+	private long[] current = new long[BUCKETS];
+	private long[] previous = new long[BUCKETS];
+	private int currentCount;
+	private int previousCount;
+	private long currentMax;
+	private long previousMax;
+
+	public TimerHistogram() {
+		this(DEFAULT_WINDOW);
+	}
+
+	public TimerHistogram(final int window) {
+		this.window = window;
+	}
+
+	protected static int bucket(final long nanos) {
+		if (nanos < (1L << MIN_EXP))
+			return 0;
+		final int exp = Math.min(63 - Long.numberOfLeadingZeros(nanos), MAX_EXP);
+		final int sub = (int) (nanos >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return ((exp - MIN_EXP + 1) << SUB_BITS) | sub;
+	}
+
+	protected static long upperBound(final int bucket) {
+		if (bucket < SUB_BUCKETS)
+			return 1L << MIN_EXP;
+		final int exp = (bucket >> SUB_BITS) + MIN_EXP - 1;
+		final int sub = bucket & (SUB_BUCKETS - 1);
+		return (long) (SUB_BUCKETS + sub + 1) << (exp - SUB_BITS);
+	}
+
+	public void update(final long nanos) {
+		if (this.currentCount == this.window) {
+			final long[] t = this.previous;
+			this.previous = this.current;
+			this.current = t;
+			Arrays.fill(this.current, 0);
+			this.previousCount = this.currentCount;
+			this.previousMax = this.currentMax;
+			this.currentCount = 0;
+			this.currentMax = 0;
+		}
+
+		this.current[bucket(nanos)]++;
+		this.currentCount++;
+		if (nanos > this.currentMax)
+			this.currentMax = nanos;
+	}
+
+	/**
+	 * Number of samples the reported figures are based on.
+	 */
+	public int getCount() {
+		return this.currentCount + this.previousCount;
+	}
+
+	public long getMax() {
+		return Math.max(this.currentMax, this.previousMax);
+	}
+
+	/**
+	 * Estimates the duration below which the given fraction of the samples fall.
+	 * The value reported is the upper bound of the bucket containing the
+	 * percentile, capped at the observed maximum.
+	 *
+	 * @param p
+	 *            Percentile expressed as a fraction, e.g. 0.99
+	 * @return Duration in nanoseconds
+	 */
+	public long getPercentile(final double p) {
+		final int total = getCount();
+		if (total == 0)
+			return 0;
+
+		final long target = Math.max(1, (long) Math.ceil(p * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += this.current[i] + this.previous[i];
+			if (seen >= target)
+				return Math.min(upperBound(i), getMax());
+		}
+		return getMax();
+	}
+
+	public void reset() {
+		Arrays.fill(this.current, 0);
+		Arrays.fill(this.previous, 0);
+		this.currentCount = 0;
+		this.previousCount = 0;
+		this.currentMax = 0;
+		this.previousMax = 0;
+	}
+}
@@ -21,42 +21,27 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package org.blockartistry.DynSurround.asm;
+package org.blockartistry.lib.profiler;
 
-import org.blockartistry.DynSurround.ModOptions;
-import org.blockartistry.lib.asm.Transmorgrifier;
-import org.objectweb.asm.Opcodes;
-import org.objectweb.asm.tree.ClassNode;
-import org.objectweb.asm.tree.MethodNode;
+import javax.annotation.Nonnull;
 
-public class PatchSoundManagerSync extends Transmorgrifier {
+import org.blockartistry.lib.math.EMA;
 
-	public PatchSoundManagerSync() {
-		super("net.minecraft.client.audio.SoundManager");
-	}
+/**
+ * EMA of bytes allocated per sample, typically per tick.
+ */
+public class AllocationEMA extends EMA {
 
-	@Override
-	public String name() {
-		return "SoundManager synchronization";
+	public AllocationEMA(@Nonnull final String name) {
+		super(name);
 	}
 
-	@Override
-	public boolean isEnabled() {
-		return ModOptions.asm.enableSoundManagerSync;
+	public double getKBytes() {
+		return super.get() / 1024D;
 	}
 
 	@Override
-	public boolean transmorgrify(final ClassNode cn) {
-		// Loop through the method nodes setting the synchronized bit
-		for (final MethodNode m : cn.methods) {
-			if (!m.name.startsWith("<") && (m.access & Opcodes.ACC_PUBLIC) != 0
-					&& (m.access & Opcodes.ACC_SYNCHRONIZED) == 0) {
-				logMethod(Transformer.log(), m, "Synchronized!");
-				m.access |= Opcodes.ACC_SYNCHRONIZED;
-			}
-		}
-
-		return true;
+	public String toString() {
+		return String.format("%s:%9.1fKB/t", name(), Double.isNaN(get()) ? 0D : getKBytes());
 	}
-
 }
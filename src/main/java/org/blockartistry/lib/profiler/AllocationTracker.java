@@ -0,0 +1,79 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.profiler;
+
+import java.lang.management.ManagementFactory;
+
+import org.blockartistry.lib.LibLog;
+
+/**
+ * Access to the per thread allocation counter exposed by HotSpot based JVMs
+ * through com.sun.management.ThreadMXBean. On JVMs that do not provide it, or
+ * where it is disabled, the counter reads as -1 and callers should skip their
+ * accounting.
+ */
+public final class AllocationTracker {
+
+	private static final com.sun.management.ThreadMXBean bean;
+
+	static {
+		com.sun.management.ThreadMXBean b = null;
+		try {
+			final java.lang.management.ThreadMXBean tmx = ManagementFactory.getThreadMXBean();
+			if (tmx instanceof com.sun.management.ThreadMXBean) {
+				b = (com.sun.management.ThreadMXBean) tmx;
+				if (!b.isThreadAllocatedMemorySupported())
+					b = null;
+				else if (!b.isThreadAllocatedMemoryEnabled())
+					b.setThreadAllocatedMemoryEnabled(true);
+			}
+		} catch (final Throwable t) {
+			LibLog.log().warn("Thread allocation tracking is not available: %s", t.getMessage());
+			b = null;
+		}
+		bean = b;
+	}
+
+	private AllocationTracker() {
+
+	}
+
+	public static boolean isSupported() {
+		return bean != null;
+	}
+
+	/**
+	 * Number of bytes allocated by the current thread over its lifetime, or -1
+	 * if not supported.
+	 */
+	public static long getAllocatedBytes() {
+		if (bean == null)
+			return -1;
+		try {
+			return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+		} catch (final Throwable t) {
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.profiler;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.lib.math.TimerEMA;
+import org.blockartistry.lib.math.TimerHistogram;
+
+/**
+ * TimerEMA that also keeps a histogram of the samples and feeds each one to
+ * the TraceRecorder. The average hides the occasional long tick, which is what
+ * players notice, so the display includes p50, p99 and max as well.
+ *
+ * Normally the sample is assumed to have just completed when update() is
+ * called and is traced as a span. Timers that sum the time of several calls
+ * over a tick have no single start time, so they are traced as a counter
+ * instead.
+ */
+public class ProfileTimer extends TimerEMA {
+
+	private final TimerHistogram histogram = new TimerHistogram();
+	private final int traceId;
+	private final boolean accumulated;
+
+	public ProfileTimer(@Nonnull final String name) {
+		this(name, false);
+	}
+
+	private ProfileTimer(@Nonnull final String name, final boolean accumulated) {
+		super(name);
+		this.traceId = TraceRecorder.register(name);
+		this.accumulated = accumulated;
+	}
+
+	/**
+	 * Creates a timer whose samples are the sum of several timed calls rather
+	 * than one contiguous span.
+	 */
+	@Nonnull
+	public static ProfileTimer accumulated(@Nonnull final String name) {
+		return new ProfileTimer(name, true);
+	}
+
+	@Override
+	public double update(final double newValue) {
+		final long nanos = (long) newValue;
+		this.histogram.update(nanos);
+		if (this.accumulated)
+			TraceRecorder.counter(this.traceId, nanos);
+		else
+			TraceRecorder.record(this.traceId, System.nanoTime() - nanos, nanos);
+		return super.update(newValue);
+	}
+
+	@Nonnull
+	public TimerHistogram getHistogram() {
+		return this.histogram;
+	}
+
+	@Override
+	public String toString() {
+		final TimerHistogram h = this.histogram;
+		return String.format("%s:%7.3fms p50 %.3f p99 %.3f max %.3f", name(), getMSecs(),
+				h.getPercentile(0.50D) / 1000000D, h.getPercentile(0.99D) / 1000000D, h.getMax() / 1000000D);
+	}
+}
@@ -0,0 +1,227 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.profiler;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.annotation.Nonnull;
+
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Always on ring buffer of timed events. When something stutters the last few
+ * seconds can be written out in the Chrome trace event format and loaded into
+ * chrome://tracing (or any compatible viewer) to see what was running.
+ *
+ * Recording does not lock. A writer claims a slot by bumping the head, fills
+ * it in, and then publishes the slot's sequence number. Nothing is allocated
+ * once the buffer exists. A dump copies the published slots out and does its
+ * I/O on the copy; a slot overwritten while it is being copied is dropped
+ * from the dump.
+ */
+public final class TraceRecorder {
+
+	private static final int CAPACITY = 1 << 16;
+	private static final int MASK = CAPACITY - 1;
+
+	// Chrome trace phases
+	private static final byte SPAN = 0;
+	private static final byte COUNTER = 1;
+
+	private static final List<String> names = new CopyOnWriteArrayList<>();
+	private static final AtomicLong head = new AtomicLong();
+	// Sequence number of the event in each slot, -1 while it is being written
+	private static final AtomicLongArray sequence = new AtomicLongArray(CAPACITY);
+	private static final byte[] phases = new byte[CAPACITY];
+	private static final int[] events = new int[CAPACITY];
+	private static final long[] starts = new long[CAPACITY];
+	private static final long[] values = new long[CAPACITY];
+	private static final long[] threads = new long[CAPACITY];
+	private static volatile long clearMark;
+
+	static {
+		for (int i = 0; i < CAPACITY; i++)
+			sequence.set(i, -1);
+	}
+
+	private TraceRecorder() {
+
+	}
+
+	/**
+	 * Registers an event name, returning the ID to use when recording.
+	 */
+	public static synchronized int register(@Nonnull final String name) {
+		names.add(name);
+		return names.size() - 1;
+	}
+
+	/**
+	 * Records an event that has completed.
+	 *
+	 * @param id
+	 *            ID of the event as returned from register()
+	 * @param start
+	 *            System.nanoTime() when the event started
+	 * @param duration
+	 *            Duration of the event in nanoseconds
+	 */
+	public static void record(final int id, final long start, final long duration) {
+		put(SPAN, id, start, duration);
+	}
+
+	/**
+	 * Records the value of a counter as of now. Used for times that are summed
+	 * over several calls, which have no single start time to report.
+	 *
+	 * @param id
+	 *            ID of the counter as returned from register()
+	 * @param value
+	 *            Value of the counter
+	 */
+	public static void counter(final int id, final long value) {
+		put(COUNTER, id, System.nanoTime(), value);
+	}
+
+	private static void put(final byte phase, final int id, final long start, final long value) {
+		final long seq = head.getAndIncrement();
+		final int idx = (int) (seq & MASK);
+		sequence.set(idx, -1);
+		phases[idx] = phase;
+		events[idx] = id;
+		starts[idx] = start;
+		values[idx] = value;
+		threads[idx] = Thread.currentThread().getId();
+		sequence.set(idx, seq);
+	}
+
+	/**
+	 * Writes the events that started within the last number of seconds to the
+	 * specified file.
+	 */
+	public static void dump(@Nonnull final File file, final int seconds) throws IOException {
+		try (final Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+			write(writer, TimeUnit.SECONDS.toNanos(seconds));
+		}
+	}
+
+	public static void write(@Nonnull final Writer out, final long windowNanos) throws IOException {
+		final Copy copy = copy(System.nanoTime() - windowNanos);
+
+		final Map<Long, String> threadNames = new HashMap<>();
+		for (final Thread t : Thread.getAllStackTraces().keySet())
+			threadNames.put(t.getId(), t.getName());
+
+		final JsonWriter json = new JsonWriter(out);
+		json.beginObject();
+		json.name("displayTimeUnit").value("ms");
+		json.name("traceEvents").beginArray();
+
+		final Map<Long, Boolean> seenThreads = new HashMap<>();
+		for (int i = 0; i < copy.count; i++) {
+			final long tid = copy.threads[i];
+			if (seenThreads.put(tid, Boolean.TRUE) == null) {
+				final String threadName = threadNames.get(tid);
+				json.beginObject();
+				json.name("name").value("thread_name");
+				json.name("ph").value("M");
+				json.name("pid").value(0);
+				json.name("tid").value(tid);
+				json.name("args").beginObject().name("name").value(threadName != null ? threadName : "Thread " + tid)
+						.endObject();
+				json.endObject();
+			}
+
+			final String name = names.get(copy.events[i]);
+			json.beginObject();
+			json.name("name").value(name);
+			json.name("cat").value("dsurround");
+			json.name("ts").value(copy.starts[i] / 1000D);
+			if (copy.phases[i] == COUNTER) {
+				json.name("ph").value("C");
+				json.name("args").beginObject().name("ms").value(copy.values[i] / 1000000D).endObject();
+			} else {
+				json.name("ph").value("X");
+				json.name("dur").value(copy.values[i] / 1000D);
+			}
+			json.name("pid").value(0);
+			json.name("tid").value(tid);
+			json.endObject();
+		}
+
+		json.endArray();
+		json.endObject();
+		json.flush();
+	}
+
+	/**
+	 * Events copied out of the ring for writing.
+	 */
+	private static final class Copy {
+		final byte[] phases = new byte[CAPACITY];
+		final int[] events = new int[CAPACITY];
+		final long[] starts = new long[CAPACITY];
+		final long[] values = new long[CAPACITY];
+		final long[] threads = new long[CAPACITY];
+		int count;
+	}
+
+	// Serializes dumps with each other; writers never take it
+	private static synchronized Copy copy(final long since) {
+		final Copy copy = new Copy();
+		final long last = head.get();
+		final long first = Math.max(clearMark, last - CAPACITY);
+		for (long seq = first; seq < last; seq++) {
+			final int idx = (int) (seq & MASK);
+			if (sequence.get(idx) != seq)
+				continue;
+			final int i = copy.count;
+			copy.phases[i] = phases[idx];
+			copy.events[i] = events[idx];
+			copy.starts[i] = starts[idx];
+			copy.values[i] = values[idx];
+			copy.threads[i] = threads[idx];
+			// Keep it only if no writer reclaimed the slot while it was copied
+			if (sequence.get(idx) == seq && copy.starts[i] >= since)
+				copy.count++;
+		}
+		return copy;
+	}
+
+	public static void clear() {
+		clearMark = head.get();
+	}
+}
@@ -96,6 +96,10 @@ public abstract class CuboidScanner extends Scanner {
 	@Override
 	public void update() {
 
+		// Only budgeted passes count toward the scan time; delta updates and
+		// idle ticks leave this at zero.
+		this.lastScanCount = 0;
+
 		// If there is no player position or it's bogus just return
 		final BlockPos playerPos = this.locus.getCenter();
 		if (playerPos == null || playerPos.getY() < 0) {
@@ -220,7 +224,7 @@ public abstract class CuboidScanner extends Scanner {
 
 			// Advance our check counter and loop back
 			// to examine the next point.
-			if (++checked >= this.blocksPerTick)
+			if (++checked >= getBlocksPerTick())
 				return null;
 		}
 
@@ -0,0 +1,197 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.scanner;
+
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.lib.math.EMA;
+
+/**
+ * Adjusts the number of blocks a scanner examines per tick so that the time it
+ * spends stays near a target. The controller tracks the average cost of a
+ * single block and from that works out how many blocks fit in the target.
+ *
+ * To keep the budget from chasing noise there is a dead band around the
+ * target in which nothing changes, the projected time has to be outside the
+ * band for several ticks in a row before the budget moves, and after any
+ * change the controller holds for a number of ticks so the cost average can
+ * settle. Reductions take effect
+ * right away (up to halving the budget) while increases are limited to a
+ * quarter per step, so a hitch is corrected quickly and spare time is taken up
+ * gradually.
+ *
+ * Time is read from the supplied clock so the controller can be driven with a
+ * fake clock; callers that already time the scan can use record() directly.
+ */
+public final class ScanBudget {
+
+	public static final LongSupplier SYSTEM_CLOCK = System::nanoTime;
+
+	// Fraction of the target either side where the budget is left alone
+	private static final double DEAD_BAND = 0.20D;
+	// Consecutive ticks outside the band needed before changing
+	private static final int CONFIRM_TICKS = 5;
+	// Ticks to wait after a change before considering another
+	private static final int HOLD_TICKS = 10;
+	// Largest single step, as a fraction of the current budget
+	private static final double MAX_DECREASE = 0.50D;
+	private static final double MAX_INCREASE = 0.25D;
+	// Periods for the per block cost average
+	private static final int COST_PERIODS = 40;
+
+	private final LongSupplier clock;
+	private final EMA blockCost = new EMA("Block Cost", COST_PERIODS);
+
+	private int floor;
+	private int ceiling;
+	private double targetNanos;
+
+	private int budget;
+	private int hold;
+	private int pressure;
+	private long mark;
+
+	public ScanBudget(final int initial, final int floor, final int ceiling, final double targetMSecs) {
+		this(initial, floor, ceiling, targetMSecs, SYSTEM_CLOCK);
+	}
+
+	public ScanBudget(final int initial, final int floor, final int ceiling, final double targetMSecs,
+			@Nonnull final LongSupplier clock) {
+		this.clock = clock;
+		setLimits(floor, ceiling, targetMSecs);
+		this.budget = clamp(initial);
+	}
+
+	/**
+	 * Changes the limits the controller works within. The current budget is
+	 * pulled inside the new limits immediately.
+	 */
+	public void setLimits(final int floor, final int ceiling, final double targetMSecs) {
+		this.floor = Math.max(1, floor);
+		this.ceiling = Math.max(this.floor, ceiling);
+		this.targetNanos = targetMSecs * 1000000D;
+		this.budget = clamp(this.budget);
+	}
+
+	/**
+	 * Number of blocks the scanner should examine this tick.
+	 */
+	public int get() {
+		return this.budget;
+	}
+
+	public int getFloor() {
+		return this.floor;
+	}
+
+	public int getCeiling() {
+		return this.ceiling;
+	}
+
+	public double getTargetMSecs() {
+		return this.targetNanos / 1000000D;
+	}
+
+	/**
+	 * Average cost of examining one block, in nanoseconds. NaN until the first
+	 * sample has been recorded.
+	 */
+	public double getBlockCost() {
+		return this.blockCost.get();
+	}
+
+	/**
+	 * Marks the start of a timed scan.
+	 */
+	public void begin() {
+		this.mark = this.clock.getAsLong();
+	}
+
+	/**
+	 * Marks the end of a scan started with begin() and records the result.
+	 *
+	 * @return Elapsed nanoseconds of the scan
+	 */
+	public long end(final int processed) {
+		final long elapsed = this.clock.getAsLong() - this.mark;
+		record(elapsed, processed);
+		return elapsed;
+	}
+
+	/**
+	 * Records the time taken to examine the given number of blocks and adjusts
+	 * the budget if needed. A tick where nothing was examined carries no
+	 * information about cost and is ignored.
+	 */
+	public void record(final long elapsedNanos, final int processed) {
+		if (processed <= 0 || elapsedNanos < 0)
+			return;
+
+		final double cost = this.blockCost.update((double) elapsedNanos / processed);
+
+		if (this.hold > 0) {
+			this.hold--;
+			return;
+		}
+
+		// Pressure counts consecutive ticks over (positive) or under
+		// (negative) the band and resets when the projection is back inside.
+		final double projected = cost * this.budget;
+		if (projected > this.targetNanos * (1D + DEAD_BAND))
+			this.pressure = Math.max(this.pressure, 0) + 1;
+		else if (projected < this.targetNanos * (1D - DEAD_BAND))
+			this.pressure = Math.min(this.pressure, 0) - 1;
+		else
+			this.pressure = 0;
+
+		final int desired;
+		if (this.pressure >= CONFIRM_TICKS) {
+			desired = Math.max((int) (this.targetNanos / cost), (int) (this.budget * (1D - MAX_DECREASE)));
+		} else if (this.pressure <= -CONFIRM_TICKS) {
+			desired = Math.min((int) Math.min(this.targetNanos / cost, Integer.MAX_VALUE),
+					(int) Math.ceil(this.budget * (1D + MAX_INCREASE)));
+		} else {
+			return;
+		}
+
+		this.pressure = 0;
+		final int next = clamp(desired);
+		if (next != this.budget) {
+			this.budget = next;
+			this.hold = HOLD_TICKS;
+		}
+	}
+
+	private int clamp(final int value) {
+		return Math.max(this.floor, Math.min(this.ceiling, value));
+	}
+
+	@Override
+	public String toString() {
+		return String.format("budget %d [%d-%d] target %.3fms cost %.1fns", this.budget, this.floor, this.ceiling,
+				getTargetMSecs(), getBlockCost());
+	}
+}
@@ -61,6 +61,9 @@ public abstract class Scanner implements ITickable, Callable<Void> {
 
 	protected ModLog log;
 
+	protected ScanBudget budget;
+	protected int lastScanCount;
+
 	public Scanner(@Nonnull final ScanLocus locus, @Nonnull final String name, final int range) {
 		this(locus, name, range, 0);
 	}
@@ -99,6 +102,43 @@ public abstract class Scanner implements ITickable, Callable<Void> {
 		this.log = log;
 	}
 
+	/**
+	 * Attaches an adaptive budget that governs the number of blocks examined
+	 * per tick in place of the fixed count. Passing null reverts to the fixed
+	 * count.
+	 */
+	public void setBudget(@Nullable final ScanBudget budget) {
+		this.budget = budget;
+	}
+
+	@Nullable
+	public ScanBudget getBudget() {
+		return this.budget;
+	}
+
+	/**
+	 * Number of blocks to examine this tick.
+	 */
+	public int getBlocksPerTick() {
+		return this.budget != null ? this.budget.get() : this.blocksPerTick;
+	}
+
+	/**
+	 * Number of blocks examined during the last update.
+	 */
+	public int getLastScanCount() {
+		return this.lastScanCount;
+	}
+
+	/**
+	 * Feeds the time taken by the last update to the budget, if there is one.
+	 * The caller times the update so the existing profile timers can be reused.
+	 */
+	public void recordScanTime(final long elapsedNanos) {
+		if (this.budget != null)
+			this.budget.record(elapsedNanos, this.lastScanCount);
+	}
+
 	/**
 	 * The volume of the scan area
 	 */
@@ -142,7 +182,9 @@ public abstract class Scanner implements ITickable, Callable<Void> {
 		preScan();
 
 		final IBlockAccessEx provider = this.locus.getWorld();
-		for (int count = 0; count < this.blocksPerTick; count++) {
+		final int limit = getBlocksPerTick();
+		int count = 0;
+		for (; count < limit; count++) {
 			final BlockPos pos = nextPos(this.workingPos, this.random);
 			if (pos == null)
 				break;
@@ -151,6 +193,7 @@ public abstract class Scanner implements ITickable, Callable<Void> {
 				blockScan(state, pos, this.random);
 			}
 		}
+		this.lastScanCount = count;
 
 		postScan();
 
@@ -0,0 +1,204 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.task;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+
+import org.blockartistry.lib.LibLog;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import net.minecraftforge.fml.relauncher.Side;
+
+/**
+ * Small pool of named daemon threads for work that should not hold up the
+ * client or server thread, such as preloading, parsing and writing reports.
+ * The work queue is bounded. If it fills, further tasks are set aside and fed
+ * back into the queue as the workers free up, so a burst never runs on the
+ * submitting thread. The number set aside is bounded as well; past that limit
+ * a task is refused and its Future is cancelled.
+ *
+ * The pool is created on first use and shut down when the world goes away.
+ * Shutting down does not wait: tasks already accepted, including any that were
+ * set aside, still run on the daemon workers. A later submit starts a fresh
+ * pool.
+ */
+public final class BackgroundExecutor {
+
+	private static final int THREADS = 2;
+	private static final int QUEUE_SIZE = 256;
+	private static final int DEFER_LIMIT = 1024;
+
+	/**
+	 * Pool that defers work it has no room for instead of running it on the
+	 * caller. Work beyond the deferral limit, or offered after shutdown, is
+	 * cancelled.
+	 */
+	private static final class Pool extends ThreadPoolExecutor implements RejectedExecutionHandler {
+
+		private final ConcurrentLinkedDeque<Runnable> deferred = new ConcurrentLinkedDeque<>();
+		// Tasks set aside, including any momentarily out of the deque while being
+		// requeued
+		private final AtomicInteger deferredCount = new AtomicInteger();
+		// Only the first task dropped during a burst is reported
+		private volatile boolean dropReported;
+
+		Pool() {
+			super(THREADS, THREADS, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(QUEUE_SIZE),
+					new ThreadFactoryBuilder().setNameFormat("DSurround Worker %d").setDaemon(true).build());
+			setRejectedExecutionHandler(this);
+			allowCoreThreadTimeOut(true);
+		}
+
+		@Override
+		public void rejectedExecution(@Nonnull final Runnable task, @Nonnull final ThreadPoolExecutor executor) {
+			if (isShutdown()) {
+				refuse(task);
+				return;
+			}
+			if (this.deferredCount.incrementAndGet() > DEFER_LIMIT) {
+				this.deferredCount.decrementAndGet();
+				if (!this.dropReported) {
+					this.dropReported = true;
+					LibLog.log().warn("Background work queue is full; dropping tasks");
+				}
+				refuse(task);
+				return;
+			}
+			// The queue was full when the task was offered. Set it aside, then try
+			// again in case it emptied in the meantime; otherwise the next task to
+			// finish picks it up.
+			this.deferred.add(task);
+			requeue();
+		}
+
+		private static void refuse(@Nonnull final Runnable task) {
+			// Tasks come from submit() so the caller's Future reports the refusal
+			if (task instanceof Future)
+				((Future<?>) task).cancel(false);
+		}
+
+		@Override
+		protected void afterExecute(final Runnable task, final Throwable t) {
+			super.afterExecute(task, t);
+			requeue();
+		}
+
+		private void requeue() {
+			Runnable task;
+			while ((task = this.deferred.poll()) != null) {
+				if (!getQueue().offer(task)) {
+					this.deferred.offerFirst(task);
+					break;
+				}
+				this.deferredCount.decrementAndGet();
+			}
+			if (this.deferred.isEmpty())
+				this.dropReported = false;
+			// Covers workers that timed out while the queue was full
+			prestartCoreThread();
+		}
+	}
+
+	private static Pool executor;
+
+	private BackgroundExecutor() {
+
+	}
+
+	@Nonnull
+	private static synchronized Pool executor() {
+		if (executor == null)
+			executor = new Pool();
+		return executor;
+	}
+
+	/**
+	 * Runs the task on a background thread.
+	 */
+	@Nonnull
+	public static Future<?> submit(@Nonnull final Runnable task) {
+		return executor().submit(task);
+	}
+
+	/**
+	 * Runs the task on a background thread.
+	 */
+	@Nonnull
+	public static <T> Future<T> submit(@Nonnull final Callable<T> task) {
+		return executor().submit(task);
+	}
+
+	/**
+	 * Runs the task on a background thread and hands the result to the callback
+	 * on the thread of the specified side. Failures are logged and the callback
+	 * is not invoked.
+	 *
+	 * @param task
+	 *            The work to perform in the background
+	 * @param side
+	 *            The side whose thread the callback is to run on
+	 * @param onComplete
+	 *            Receives the result of the task
+	 */
+	@Nonnull
+	public static <T> Future<T> submit(@Nonnull final Callable<T> task, @Nonnull final Side side,
+			@Nonnull final Consumer<T> onComplete) {
+		return submit(() -> {
+			final T result;
+			try {
+				result = task.call();
+			} catch (@Nonnull final Exception ex) {
+				LibLog.log().error("Background task failed", ex);
+				throw ex;
+			}
+			Scheduler.schedule(side, () -> onComplete.accept(result));
+			return result;
+		});
+	}
+
+	/**
+	 * Stops accepting work without waiting. Tasks that have been accepted are
+	 * left to finish on the pool's daemon threads.
+	 */
+	public static void shutdown() {
+		final Pool pool;
+		synchronized (BackgroundExecutor.class) {
+			pool = executor;
+			executor = null;
+		}
+		if (pool != null)
+			pool.shutdown();
+	}
+}
@@ -73,12 +73,8 @@ public final class Scheduler {
 	 *            The task to execute
 	 */
 	public static void scheduleDeferred(@Nonnull final Side side, @Nonnull final Runnable task) {
-		try {
-			final Thread t = new Thread(() -> schedule(side, task));
-			t.start();
-			t.join();
-		} catch (@Nonnull final Throwable t) {
-
-		}
+		// Queuing from a thread other than the side's own keeps the task from
+		// running immediately
+		BackgroundExecutor.submit(() -> schedule(side, task));
 	}
 }
@@ -0,0 +1,219 @@
+/*
+ * This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.blockartistry.lib.task;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Hashed timing wheel keyed on a tick counter. Timers are bucketed by due tick
+ * modulo the wheel size so that advancing the wheel only touches the bucket
+ * for the current tick, rather than every registered timer. Timers that are
+ * more than one revolution out simply stay in their bucket until their tick
+ * comes around.
+ *
+ * Timers are intrusive list nodes so scheduling and cancelling are O(1) and do
+ * not allocate. Not thread safe; it is intended to be driven from a single game
+ * thread.
+ */
+public final class TimingWheel {
+
+	/**
+	 * Base for anything that can be scheduled on a TimingWheel. A Timer can be
+	 * on at most one wheel at a time; rescheduling moves it.
+	 */
+	public static abstract class Timer {
+
+		private TimingWheel wheel;
+		private Timer prev;
+		private Timer next;
+		private int due;
+
+		public final boolean isScheduled() {
+			return this.wheel != null;
+		}
+
+		public final int getDueTick() {
+			return this.due;
+		}
+
+		/**
+		 * Removes the timer from the wheel it is scheduled on. Has no effect if
+		 * the timer is not scheduled.
+		 */
+		public final void cancel() {
+			if (this.wheel != null)
+				this.wheel.unlink(this);
+		}
+
+		/**
+		 * Invoked when the timer comes due. The timer has already been removed
+		 * from the wheel so it is free to reschedule itself.
+		 *
+		 * @param tick
+		 *            The tick the wheel is processing
+		 */
+		protected abstract void expire(final int tick);
+
+		/**
+		 * Invoked when the wheel is reset while the timer is scheduled. Owners
+		 * that track their timers should forget this one. The timer is no longer
+		 * on the wheel.
+		 */
+		protected void dropped() {
+
+		}
+	}
+
+	private final Timer[] buckets;
+	private final int mask;
+	private int currentTick;
+	private int size;
+
+	/**
+	 * @param slots
+	 *            Number of buckets in the wheel; rounded up to a power of 2
+	 */
+	public TimingWheel(final int slots) {
+		int s = 1;
+		while (s < slots)
+			s <<= 1;
+		this.buckets = new Timer[s];
+		this.mask = s - 1;
+	}
+
+	/**
+	 * The last tick the wheel advanced to.
+	 */
+	public int getCurrentTick() {
+		return this.currentTick;
+	}
+
+	/**
+	 * Number of timers currently scheduled.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Schedules the timer to expire on the given tick. If the tick has already
+	 * been processed the timer will expire on the next advance.
+	 */
+	public void schedule(@Nonnull final Timer timer, final int dueTick) {
+		if (timer.wheel != null)
+			timer.wheel.unlink(timer);
+
+		final int tick = dueTick - this.currentTick <= 0 ? this.currentTick + 1 : dueTick;
+		final int slot = tick & this.mask;
+		timer.wheel = this;
+		timer.due = tick;
+		timer.prev = null;
+		timer.next = this.buckets[slot];
+		if (timer.next != null)
+			timer.next.prev = timer;
+		this.buckets[slot] = timer;
+		this.size++;
+	}
+
+	/**
+	 * Schedules the timer to expire the given number of ticks from now.
+	 */
+	public void scheduleIn(@Nonnull final Timer timer, final int ticks) {
+		schedule(timer, this.currentTick + ticks);
+	}
+
+	private void unlink(@Nonnull final Timer timer) {
+		if (timer.prev != null)
+			timer.prev.next = timer.next;
+		else
+			this.buckets[timer.due & this.mask] = timer.next;
+		if (timer.next != null)
+			timer.next.prev = timer.prev;
+		timer.wheel = null;
+		timer.prev = null;
+		timer.next = null;
+		this.size--;
+	}
+
+	/**
+	 * Advances the wheel up to and including the specified tick, expiring any
+	 * timers that come due along the way. Ticks are processed in order.
+	 */
+	public void advance(final int tick) {
+		while (this.currentTick - tick < 0) {
+			final int t = ++this.currentTick;
+			Timer timer;
+			while ((timer = firstDue(t)) != null) {
+				unlink(timer);
+				timer.expire(t);
+			}
+		}
+	}
+
+	/**
+	 * Finds the first timer in the tick's bucket that is due on it. The bucket
+	 * is searched from the head each time because an expiring timer is free to
+	 * cancel or schedule other timers, which can unlink any node that was next
+	 * in line. Anything scheduled during expire() is due on a later tick, so the
+	 * search always ends.
+	 */
+	private Timer firstDue(final int t) {
+		for (Timer timer = this.buckets[t & this.mask]; timer != null; timer = timer.next)
+			if (timer.due == t)
+				return timer;
+		return null;
+	}
+
+	/**
+	 * Resets the wheel to the given tick, dropping all scheduled timers. Each
+	 * dropped timer is told once the wheel has been reset, so it is free to
+	 * schedule itself again.
+	 */
+	public void reset(final int tick) {
+		// Chain the timers together through next so they can be told after the
+		// buckets are clear
+		Timer dropped = null;
+		for (int i = 0; i < this.buckets.length; i++) {
+			Timer timer = this.buckets[i];
+			while (timer != null) {
+				final Timer next = timer.next;
+				timer.wheel = null;
+				timer.prev = null;
+				timer.next = dropped;
+				dropped = timer;
+				timer = next;
+			}
+			this.buckets[i] = null;
+		}
+		this.size = 0;
+		this.currentTick = tick;
+
+		while (dropped != null) {
+			final Timer timer = dropped;
+			dropped = timer.next;
+			timer.next = null;
+			timer.dropped();
+		}
+	}
+}